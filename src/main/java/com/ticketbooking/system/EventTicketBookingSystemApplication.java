@@ -1,11 +1,15 @@
 package com.ticketbooking.system;
 
 import org.springframework.boot.SpringApplication;
+import com.ticketbooking.system.config.ClusterProperties;
+import com.ticketbooking.system.config.ShardingProperties;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@EnableConfigurationProperties({ShardingProperties.class, ClusterProperties.class})
 public class EventTicketBookingSystemApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,17 @@
+package com.ticketbooking.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties("ticketbooking.cluster")
+public record ClusterProperties(boolean enabled, String nodeId, List<Member> members, Integer virtualNodes) {
+
+    public ClusterProperties {
+        members = members == null ? List.of() : List.copyOf(members);
+        virtualNodes = virtualNodes == null ? 128 : virtualNodes;
+    }
+
+    public record Member(String id, String url) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.ticketbooking.system.config;
+
+import com.ticketbooking.system.service.InventoryRecovery;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until the seat inventory has been warmed, so the readiness group only turns
+ * {@code UP} once the node can serve holds from memory.
+ */
+@Component
+public class InventoryWarmupHealthIndicator implements HealthIndicator {
+
+    private final InventoryRecovery inventoryRecovery;
+
+    public InventoryWarmupHealthIndicator(InventoryRecovery inventoryRecovery) {
+        this.inventoryRecovery = inventoryRecovery;
+    }
+
+    @Override
+    public Health health() {
+        return inventoryRecovery.isReady()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "inventory warm-up in progress").build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ticketbooking.system.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a heartbeat row on the primary and reads it back from the replica. The replica is only used for
+ * read-only transactions while the observed lag stays within {@code max-staleness}; a zero tolerance disables
+ * the lag check and only requires the replica to be reachable.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxStaleness;
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxStaleness, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxStaleness = maxStaleness;
+
+        if (meterRegistry != null) {
+            Gauge.builder("ticketbooking.datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("ticketbooking.datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${ticketbooking.datasource.replica.heartbeat-interval-ms:1000}")
+    public void probe() {
+        boolean usable;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            primary.update("update replica_heartbeat set beat_at = ? where id = 1", Timestamp.valueOf(now));
+            Timestamp replicaBeat = replica.queryForObject(
+                    "select beat_at from replica_heartbeat where id = 1", Timestamp.class);
+            lagMillis = replicaBeat == null ? -1 : Math.max(0, Duration.between(replicaBeat.toLocalDateTime(), now).toMillis());
+            usable = replicaBeat != null && (maxStaleness.isZero() || lagMillis <= maxStaleness.toMillis());
+        } catch (DataAccessException ex) {
+            log.debug("Replica heartbeat probe failed: {}", ex.getMessage());
+            lagMillis = -1;
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            log.info("Read replica {} lagMs={} maxStaleness={}", usable ? "enabled" : "disabled", lagMillis, maxStaleness);
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ticketbooking.system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> dataSources;
+
+    public ShardDataSources(List<HikariDataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public List<HikariDataSource> all() {
+        return dataSources;
+    }
+
+    public HikariDataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ticketbooking.system.config;
+
+import com.ticketbooking.system.service.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "ticketbooking.sharding", name = "enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardingDataSourceConfig.class);
+    private static final List<String> EXTERNALLY_VISIBLE_ID_TABLES = List.of("events", "bookings");
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("ticketbooking.sharding.enabled=true requires at least one entry in ticketbooking.sharding.shards");
+        }
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < properties.shards().size(); i++) {
+            ShardingProperties.Shard shard = properties.shards().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setJdbcUrl(shard.url());
+            dataSource.setUsername(shard.username() == null ? "sa" : shard.username());
+            dataSource.setPassword(shard.password() == null ? "" : shard.password());
+            if (shard.maximumPoolSize() != null) {
+                dataSource.setMaximumPoolSize(shard.maximumPoolSize());
+            }
+            dataSources.add(dataSource);
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shards,
+                                 @Value("${spring.flyway.locations:classpath:db/migration}") String[] migrationLocations) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.all().size(); shard++) {
+            HikariDataSource dataSource = shards.get(shard);
+            Flyway.configure().dataSource(dataSource).locations(migrationLocations).load().migrate();
+            claimIdRange(dataSource, shard);
+            targets.put(shard, dataSource);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private void claimIdRange(DataSource dataSource, int shard) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        List<Integer> recorded = jdbc.queryForList("select shard_index from shard_metadata where id = 1", Integer.class);
+        if (!recorded.isEmpty()) {
+            if (recorded.get(0) != shard) {
+                throw new IllegalStateException("Shard " + shard + " is configured with the database of shard " + recorded.get(0));
+            }
+            return;
+        }
+
+        // Events and bookings expose their ids, so every shard allocates from its own range and the owning shard
+        // can be derived from the id alone.
+        long firstId = ShardRouter.firstIdForShard(shard);
+        if (shard > 0) {
+            for (String table : EXTERNALLY_VISIBLE_ID_TABLES) {
+                jdbc.execute("alter table " + table + " alter column id restart with " + firstId);
+            }
+        }
+        jdbc.update("insert into shard_metadata (id, shard_index, id_range_start) values (1, ?, ?)", shard, firstId);
+        log.info("Shard initialized shard={} idRangeStart={}", shard, firstId);
+    }
+}
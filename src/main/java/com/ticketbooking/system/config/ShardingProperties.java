@@ -0,0 +1,16 @@
+package com.ticketbooking.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties("ticketbooking.sharding")
+public record ShardingProperties(boolean enabled, List<Shard> shards) {
+
+    public ShardingProperties {
+        shards = shards == null ? List.of() : List.copyOf(shards);
+    }
+
+    public record Shard(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
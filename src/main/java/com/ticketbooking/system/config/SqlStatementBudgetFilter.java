@@ -0,0 +1,101 @@
+package com.ticketbooking.system.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements each HTTP request runs, across its async dispatches, and records them per endpoint
+ * (method and URI pattern) in the {@code ticketbooking.http.sql.statements} summary. Requests above
+ * {@code warn-threshold} are logged. The last count per endpoint is kept so tests can assert a budget.
+ */
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+    private static final String TALLY_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".tally";
+
+    private final boolean enabled;
+    private final int warnThreshold;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> lastCounts = new ConcurrentHashMap<>();
+
+    public SqlStatementBudgetFilter(@Value("${ticketbooking.sql-budget.enabled:true}") boolean enabled,
+                                    @Value("${ticketbooking.sql-budget.warn-threshold:25}") int warnThreshold,
+                                    ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.warnThreshold = warnThreshold;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+    }
+
+    /**
+     * Statements run by the last completed request to {@code method uriPattern}, e.g. {@code GET /api/bookings}.
+     */
+    public OptionalInt lastStatementCount(String method, String uriPattern) {
+        Integer count = lastCounts.get(method + " " + uriPattern);
+        return count == null ? OptionalInt.empty() : OptionalInt.of(count);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        SqlStatementCounter.Tally tally = (SqlStatementCounter.Tally) request.getAttribute(TALLY_ATTRIBUTE);
+        if (tally == null) {
+            tally = new SqlStatementCounter.Tally();
+            request.setAttribute(TALLY_ATTRIBUTE, tally);
+        }
+        SqlStatementCounter.Tally previous = SqlStatementCounter.bind(tally);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.restore(previous);
+            if (!isAsyncStarted(request)) {
+                record(request, response, tally.statements());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+        lastCounts.put(request.getMethod() + " " + uri, statements);
+        if (meterRegistry != null) {
+            DistributionSummary.builder("ticketbooking.http.sql.statements")
+                    .description("SQL statements run per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+        if (statements > warnThreshold) {
+            log.warn("SQL statement budget exceeded method={} uri={} path={} status={} statements={} threshold={}",
+                    request.getMethod(), uri, request.getRequestURI(), response.getStatus(), statements, warnThreshold);
+        }
+    }
+}
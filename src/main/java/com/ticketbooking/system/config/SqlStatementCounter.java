@@ -0,0 +1,107 @@
+package com.ticketbooking.system.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on behalf of the current unit of work (an HTTP request, see
+ * {@link SqlStatementBudgetFilter}). Hibernate's own statistics are per session factory, so they cannot tell
+ * concurrent requests apart; this inspector adds to a tally bound to the calling thread instead. Statements run
+ * through {@code JdbcTemplate}, or on threads the tally was not handed to, are not counted.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    public static final class Tally {
+        private final AtomicInteger statements = new AtomicInteger();
+        private final List<String> recorded;
+
+        public Tally() {
+            this(false);
+        }
+
+        private Tally(boolean record) {
+            this.recorded = record ? Collections.synchronizedList(new ArrayList<>()) : null;
+        }
+
+        /**
+         * A tally that also keeps the text of every statement, for tests that check the SQL Hibernate generates.
+         */
+        public static Tally recording() {
+            return new Tally(true);
+        }
+
+        public int statements() {
+            return statements.get();
+        }
+
+        public List<String> recordedStatements() {
+            return recorded == null ? List.of() : List.copyOf(recorded);
+        }
+    }
+
+    public static Tally current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code tally} to the calling thread; returns the previous binding for {@link #restore}.
+     */
+    public static Tally bind(Tally tally) {
+        Tally previous = CURRENT.get();
+        CURRENT.set(tally);
+        return previous;
+    }
+
+    public static void restore(Tally previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Runs {@code work} with {@code tally} bound to the calling thread, e.g. on a pool thread doing part of a
+     * request's work.
+     */
+    public static <T> T callWith(Tally tally, Supplier<T> work) {
+        if (tally == null) {
+            return work.get();
+        }
+        Tally previous = bind(tally);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.statements.incrementAndGet();
+            if (tally.recorded != null) {
+                tally.recorded.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
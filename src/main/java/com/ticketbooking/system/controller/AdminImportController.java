@@ -0,0 +1,75 @@
+package com.ticketbooking.system.controller;
+
+import com.ticketbooking.system.dto.ImportErrorResponse;
+import com.ticketbooking.system.dto.ImportJobResponse;
+import com.ticketbooking.system.enums.ImportKind;
+import com.ticketbooking.system.service.CsvImporter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Bulk imports from CSV. The request body is spooled to a temporary file and imported in the background; the
+ * response is the started job, which the caller polls with {@code GET /{jobId}} until it is no longer
+ * {@code RUNNING}.
+ */
+@RestController
+@RequestMapping("/api/admin/imports")
+public class AdminImportController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminImportController.class);
+    private final CsvImporter csvImporter;
+
+    public AdminImportController(CsvImporter csvImporter) {
+        this.csvImporter = csvImporter;
+    }
+
+    @PostMapping(value = "/events", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobResponse importEvents(HttpServletRequest request,
+                                          @RequestParam(required = false) String source,
+                                          @RequestParam(required = false) Long resumeJobId) throws IOException {
+        return importCsv(ImportKind.EVENTS, request, source, resumeJobId);
+    }
+
+    @PostMapping(value = "/bookings", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobResponse importBookings(HttpServletRequest request,
+                                            @RequestParam(required = false) String source,
+                                            @RequestParam(required = false) Long resumeJobId) throws IOException {
+        return importCsv(ImportKind.BOOKINGS, request, source, resumeJobId);
+    }
+
+    @GetMapping("/{jobId}")
+    public ImportJobResponse get(@PathVariable Long jobId) {
+        log.info("Get import job request received jobId={}", jobId);
+        return csvImporter.get(jobId);
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public List<ImportErrorResponse> errors(@PathVariable Long jobId,
+                                            @RequestParam(defaultValue = "100") int limit) {
+        log.info("List import errors request received jobId={} limit={}", jobId, limit);
+        return csvImporter.errors(jobId, Math.min(limit, 1000));
+    }
+
+    private ImportJobResponse importCsv(ImportKind kind, HttpServletRequest request, String source, Long resumeJobId)
+            throws IOException {
+        log.info("CSV import request received kind={} source={} resumeJobId={}", kind, source, resumeJobId);
+        try (InputStream body = request.getInputStream()) {
+            return csvImporter.submit(kind, source != null ? source : "upload", body, resumeJobId);
+        }
+    }
+}
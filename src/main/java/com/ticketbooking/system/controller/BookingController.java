@@ -1,36 +1,84 @@
 package com.ticketbooking.system.controller;
 
 import com.ticketbooking.system.dto.*;
+import com.ticketbooking.system.enums.HoldStatus;
 import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.ClusterForwarder;
+import com.ticketbooking.system.service.EventCancellationJobs;
+import com.ticketbooking.system.service.SeatMaps;
+import com.ticketbooking.system.service.UserHistory;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api")
 public class BookingController {
 
     private static final Logger log = LoggerFactory.getLogger(BookingController.class);
     private final BookingService bookingService;
+    private final ClusterForwarder clusterForwarder;
+    private final EventCancellationJobs eventCancellationJobs;
+    private final SeatMaps seatMaps;
+    private final UserHistory userHistory;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+                             ClusterForwarder clusterForwarder,
+                             EventCancellationJobs eventCancellationJobs,
+                             SeatMaps seatMaps,
+                             UserHistory userHistory) {
         this.bookingService = bookingService;
+        this.clusterForwarder = clusterForwarder;
+        this.eventCancellationJobs = eventCancellationJobs;
+        this.seatMaps = seatMaps;
+        this.userHistory = userHistory;
     }
 
     @PostMapping("/events/{eventId}/holds")
     @ResponseStatus(HttpStatus.CREATED)
-    public HoldResponse holdSeats(@PathVariable Long eventId, @Valid @RequestBody HoldSeatsRequest request) {
+    public CompletableFuture<HoldResponse> holdSeats(@PathVariable Long eventId,
+                                                     @Valid @RequestBody HoldSeatsRequest request,
+                                                     HttpServletRequest httpRequest) {
         log.info("Hold seats request received eventId={} userId={}", eventId, request.userId());
-        return bookingService.holdSeats(eventId, request);
+        if (clusterForwarder.shouldForward(eventId, httpRequest)) {
+            return clusterForwarder.forward(eventId, httpRequest, request, HoldResponse.class)
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> bookingService.holdSeatsAsync(eventId, request));
+        }
+        return bookingService.holdSeatsAsync(eventId, request);
     }
 
     @PostMapping("/bookings/confirm")
     @ResponseStatus(HttpStatus.CREATED)
-    public BookingResponse confirmBooking(@Valid @RequestBody ConfirmBookingRequest request) {
+    public CompletableFuture<BookingResponse> confirmBooking(@Valid @RequestBody ConfirmBookingRequest request,
+                                                             HttpServletRequest httpRequest) {
         log.info("Confirm booking request received holdId={}", request.holdId());
-        return bookingService.confirmBooking(request);
+        return bookingService.confirmBookingAsync(request,
+                eventId -> forwardIfRemote(eventId, httpRequest, request, BookingResponse.class));
+    }
+
+    @PostMapping("/bookings/checkout")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CompletableFuture<CheckoutResponse> checkout(@Valid @RequestBody ConfirmBookingRequest request,
+                                                        HttpServletRequest httpRequest) {
+        log.info("Checkout request received holdId={}", request.holdId());
+        return bookingService.checkoutAsync(request,
+                eventId -> forwardIfRemote(eventId, httpRequest, request, CheckoutResponse.class));
+    }
+
+    @GetMapping("/bookings/checkout/{holdId}")
+    public CheckoutResponse checkoutStatus(@PathVariable String holdId) {
+        log.info("Checkout status request received holdId={}", holdId);
+        return bookingService.checkoutStatus(holdId);
     }
 
     @GetMapping({"/bookings", "/bookings/{bookingId}"})
@@ -44,9 +92,91 @@ public class BookingController {
     }
 
     @PostMapping("/bookings/{bookingId}/cancel")
-    public BookingResponse cancelBooking(@PathVariable Long bookingId) {
+    public CompletableFuture<BookingResponse> cancelBooking(@PathVariable Long bookingId, HttpServletRequest httpRequest) {
         log.info("Cancel booking request received bookingId={}", bookingId);
-        return bookingService.cancelBooking(bookingId);
+        return bookingService.cancelBookingAsync(bookingId,
+                eventId -> forwardIfRemote(eventId, httpRequest, null, BookingResponse.class));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public CompletableFuture<HoldResponse> releaseHold(@PathVariable String holdId, HttpServletRequest httpRequest) {
+        log.info("Release hold request received holdId={}", holdId);
+        return bookingService.releaseHoldAsync(holdId,
+                eventId -> forwardIfRemote(eventId, httpRequest, null, HoldResponse.class));
+    }
+
+    @PostMapping("/holds/{holdId}/extend")
+    public CompletableFuture<HoldResponse> extendHold(@PathVariable String holdId, HttpServletRequest httpRequest) {
+        log.info("Extend hold request received holdId={}", holdId);
+        return bookingService.extendHoldAsync(holdId,
+                eventId -> forwardIfRemote(eventId, httpRequest, null, HoldResponse.class));
+    }
+
+    @PostMapping("/events/{eventId}/waitlist")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<WaitlistEntryResponse> joinWaitlist(@PathVariable Long eventId,
+                                                                 @Valid @RequestBody WaitlistRequest request,
+                                                                 HttpServletRequest httpRequest) {
+        log.info("Join waitlist request received eventId={} userId={}", eventId, request.userId());
+        if (clusterForwarder.shouldForward(eventId, httpRequest)) {
+            return clusterForwarder.forward(eventId, httpRequest, request, WaitlistEntryResponse.class)
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> bookingService.joinWaitlistAsync(eventId, request));
+        }
+        return bookingService.joinWaitlistAsync(eventId, request);
+    }
+
+    @DeleteMapping("/events/{eventId}/waitlist/{entryId}")
+    public CompletableFuture<WaitlistEntryResponse> leaveWaitlist(@PathVariable Long eventId,
+                                                                  @PathVariable Long entryId,
+                                                                  HttpServletRequest httpRequest) {
+        log.info("Leave waitlist request received eventId={} entryId={}", eventId, entryId);
+        if (clusterForwarder.shouldForward(eventId, httpRequest)) {
+            return clusterForwarder.forward(eventId, httpRequest, null, WaitlistEntryResponse.class)
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> bookingService.leaveWaitlistAsync(eventId, entryId));
+        }
+        return bookingService.leaveWaitlistAsync(eventId, entryId);
+    }
+
+    @GetMapping("/events/{eventId}/waitlist")
+    public Object listWaitlist(@PathVariable Long eventId, @RequestParam(required = false) String userId) {
+        log.info("List waitlist request received eventId={} userId={}", eventId, userId);
+        return bookingService.listWaitlist(eventId, userId);
+    }
+
+    @PostMapping("/events/{eventId}/cancel")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public EventCancellationJobResponse cancelEvent(@PathVariable Long eventId,
+                                                    @Valid @RequestBody(required = false) EventCancellationRequest request,
+                                                    HttpServletRequest httpRequest) {
+        log.info("Cancel event request received eventId={}", eventId);
+        String reason = request == null ? null : request.reason();
+        if (clusterForwarder.shouldForward(eventId, httpRequest)) {
+            return clusterForwarder.forward(eventId, httpRequest, request, EventCancellationJobResponse.class)
+                    .orElseGet(() -> eventCancellationJobs.start(eventId, reason));
+        }
+        return eventCancellationJobs.start(eventId, reason);
+    }
+
+    @GetMapping("/events/{eventId}/cancellation")
+    public EventCancellationJobResponse cancellationStatus(@PathVariable Long eventId) {
+        log.info("Cancellation status request received eventId={}", eventId);
+        return eventCancellationJobs.latest(eventId);
+    }
+
+    @GetMapping("/events/{eventId}/cancellation/refunds")
+    public List<BookingCancellationResponse> cancellationRefunds(@PathVariable Long eventId,
+                                                                 @RequestParam(defaultValue = "0") long afterId,
+                                                                 @RequestParam(defaultValue = "500") int limit) {
+        log.info("Cancellation refunds request received eventId={} afterId={} limit={}", eventId, afterId, limit);
+        return eventCancellationJobs.refunds(eventId, afterId, limit);
+    }
+
+    @GetMapping("/holds/{holdId}")
+    public HoldResponse viewHold(@PathVariable String holdId) {
+        log.info("View hold request received holdId={}", holdId);
+        return bookingService.viewHold(holdId);
     }
 
     @GetMapping("/holds")
@@ -56,6 +186,23 @@ public class BookingController {
         return bookingService.listHolds(eventId, userId);
     }
 
+    @GetMapping("/users/{userId}/bookings")
+    public CursorPage<BookingResponse> userBookings(@PathVariable String userId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        log.info("User bookings request received userId={} limit={}", userId, limit);
+        return userHistory.bookings(userId, cursor, limit);
+    }
+
+    @GetMapping("/users/{userId}/holds")
+    public CursorPage<HoldResponse> userHolds(@PathVariable String userId,
+                                              @RequestParam(defaultValue = "ACTIVE") HoldStatus status,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        log.info("User holds request received userId={} status={} limit={}", userId, status, limit);
+        return userHistory.holds(userId, status, cursor, limit);
+    }
+
     @GetMapping({"/events/availability", "/events/{eventId}/availability"})
     public Object availability(@PathVariable(required = false) Long eventId) {
         if (eventId == null) {
@@ -63,4 +210,37 @@ public class BookingController {
         }
         return bookingService.availability(eventId);
     }
+
+    @GetMapping("/events/{eventId}/seats")
+    public ResponseEntity<?> seatMap(@PathVariable Long eventId,
+                                     @RequestParam(required = false) Long since,
+                                     @RequestParam(defaultValue = "base64") String format) {
+        log.info("Seat map request received eventId={} since={} format={}", eventId, since, format);
+        if (since != null) {
+            SeatMapDeltaResponse delta = seatMaps.delta(eventId, since);
+            if (delta != null) {
+                return ResponseEntity.ok(delta);
+            }
+        }
+        if ("binary".equalsIgnoreCase(format)) {
+            SeatMaps.Snapshot snapshot = seatMaps.current(eventId);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header("X-Seat-Map-Version", String.valueOf(snapshot.version()))
+                    .header("X-Total-Seats", String.valueOf(snapshot.totalSeats()))
+                    .body(snapshot.packed());
+        }
+        return ResponseEntity.ok(seatMaps.full(eventId));
+    }
+
+    /**
+     * Forwards to the event's owner when it is another node. Empty when the event is local or the owner is
+     * unreachable, in which case the request is processed here.
+     */
+    private <T> Optional<T> forwardIfRemote(Long eventId, HttpServletRequest httpRequest, Object body, Class<T> responseType) {
+        if (!clusterForwarder.shouldForward(eventId, httpRequest)) {
+            return Optional.empty();
+        }
+        return clusterForwarder.forward(eventId, httpRequest, body, responseType);
+    }
 }
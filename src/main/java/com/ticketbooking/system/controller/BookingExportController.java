@@ -0,0 +1,64 @@
+package com.ticketbooking.system.controller;
+
+import com.ticketbooking.system.exception.ValidationException;
+import com.ticketbooking.system.service.BookingExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/bookings/export")
+public class BookingExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExportController.class);
+    private final BookingExporter bookingExporter;
+
+    public BookingExportController(BookingExporter bookingExporter) {
+        this.bookingExporter = bookingExporter;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        BookingExporter.Format exportFormat = BookingExporter.Format.parse(format);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+        log.info("Export bookings request received format={} eventId={} from={} to={} gzip={}", exportFormat, eventId, from, to, gzip);
+        BookingExporter.Query query = new BookingExporter.Query(eventId, from, to);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                bookingExporter.export(query, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                bookingExporter.export(query, exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.extension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
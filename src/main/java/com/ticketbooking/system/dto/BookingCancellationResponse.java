@@ -0,0 +1,13 @@
+package com.ticketbooking.system.dto;
+
+import java.time.LocalDateTime;
+
+public record BookingCancellationResponse(
+        Long recordId,
+        Long bookingId,
+        Long eventId,
+        String userId,
+        int seatCount,
+        LocalDateTime canceledAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.ticketbooking.system.dto;
+
+import com.ticketbooking.system.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BookingLifecycleEvent(
+        Long messageId,
+        OutboxEventType type,
+        Long eventId,
+        Long sequence,
+        String holdId,
+        Long bookingId,
+        String userId,
+        List<Integer> seats,
+        LocalDateTime occurredAt
+) {
+}
@@ -1,5 +1,7 @@
 package com.ticketbooking.system.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.ticketbooking.system.enums.BookingStatus;
 
 import java.time.LocalDateTime;
@@ -12,6 +14,8 @@ public record BookingWithHoldsResponse(
         BookingStatus status,
         LocalDateTime createdAt,
         LocalDateTime canceledAt,
+        @JsonSerialize(using = SeatNumbersJson.Serializer.class)
+        @JsonDeserialize(using = SeatNumbersJson.Deserializer.class)
         List<Integer> seats,
         int holdCount,
         List<String> holdIds
@@ -0,0 +1,13 @@
+package com.ticketbooking.system.dto;
+
+import com.ticketbooking.system.enums.CheckoutStatus;
+
+public record CheckoutResponse(
+        String holdId,
+        Long eventId,
+        CheckoutStatus status,
+        Long bookingId,
+        String paymentReference,
+        String failureReason
+) {
+}
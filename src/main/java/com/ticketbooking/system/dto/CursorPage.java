@@ -0,0 +1,12 @@
+package com.ticketbooking.system.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing; {@code nextCursor} is {@code null} on the last page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
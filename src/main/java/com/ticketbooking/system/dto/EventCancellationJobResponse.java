@@ -0,0 +1,21 @@
+package com.ticketbooking.system.dto;
+
+import com.ticketbooking.system.enums.CancellationJobStatus;
+
+import java.time.LocalDateTime;
+
+public record EventCancellationJobResponse(
+        Long jobId,
+        Long eventId,
+        CancellationJobStatus status,
+        String reason,
+        int totalBookings,
+        int canceledBookings,
+        int totalHolds,
+        int releasedHolds,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt,
+        LocalDateTime finishedAt,
+        String errorMessage
+) {
+}
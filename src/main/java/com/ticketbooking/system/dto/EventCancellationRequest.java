@@ -0,0 +1,8 @@
+package com.ticketbooking.system.dto;
+
+import jakarta.validation.constraints.Size;
+
+public record EventCancellationRequest(
+        @Size(max = 500) String reason
+) {
+}
@@ -1,6 +1,7 @@
 package com.ticketbooking.system.dto;
 
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +12,10 @@ public record EventRequest(
         @NotBlank String name,
         @NotNull @Future LocalDateTime eventDate,
         @NotBlank String location,
-        @NotNull @Min(1) Integer totalSeats
+        @NotNull @Min(1) Integer totalSeats,
+        @Min(30) @Max(3600) Integer holdTtlSeconds
 ) {
+    public EventRequest(String name, LocalDateTime eventDate, String location, Integer totalSeats) {
+        this(name, eventDate, location, totalSeats, null);
+    }
 }
@@ -7,6 +7,7 @@ public record EventResponse(
         String name,
         LocalDateTime eventDate,
         String location,
-        Integer totalSeats
+        Integer totalSeats,
+        Integer holdTtlSeconds
 ) {
 }
@@ -1,13 +1,27 @@
 package com.ticketbooking.system.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * {@code failedSeats} lists requested seats that were not held; it is only non-empty for partial holds.
+ */
 public record HoldResponse(
         String holdId,
         Long eventId,
         String userId,
         LocalDateTime expiresAt,
-        List<Integer> seats
+        @JsonSerialize(using = SeatNumbersJson.Serializer.class)
+        @JsonDeserialize(using = SeatNumbersJson.Deserializer.class)
+        List<Integer> seats,
+        @JsonSerialize(using = SeatNumbersJson.Serializer.class)
+        @JsonDeserialize(using = SeatNumbersJson.Deserializer.class)
+        List<Integer> failedSeats
 ) {
+    public HoldResponse(String holdId, Long eventId, String userId, LocalDateTime expiresAt, List<Integer> seats) {
+        this(holdId, eventId, userId, expiresAt, seats, List.of());
+    }
 }
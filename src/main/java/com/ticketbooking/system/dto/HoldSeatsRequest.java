@@ -1,12 +1,24 @@
 package com.ticketbooking.system.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 
 import java.util.List;
 
+/**
+ * With {@code partial} set, the hold takes whichever requested seats are still free instead of failing on the
+ * first taken one; it fails only if fewer than {@code minSeats} (default 1) can be held. With {@code adjacent}
+ * the held seats must also be consecutive: the longest free run among the requested seats is taken.
+ */
 public record HoldSeatsRequest(
         @NotBlank String userId,
-        @NotEmpty List<Integer> seatNumbers
+        @NotEmpty List<Integer> seatNumbers,
+        Boolean partial,
+        @Min(1) Integer minSeats,
+        Boolean adjacent
 ) {
+    public HoldSeatsRequest(String userId, List<Integer> seatNumbers) {
+        this(userId, seatNumbers, null, null, null);
+    }
 }
@@ -0,0 +1,8 @@
+package com.ticketbooking.system.dto;
+
+public record ImportErrorResponse(
+        long lineNumber,
+        String message,
+        String rawLine
+) {
+}
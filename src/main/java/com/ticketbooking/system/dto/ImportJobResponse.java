@@ -0,0 +1,22 @@
+package com.ticketbooking.system.dto;
+
+import com.ticketbooking.system.enums.ImportJobStatus;
+import com.ticketbooking.system.enums.ImportKind;
+
+import java.time.LocalDateTime;
+
+public record ImportJobResponse(
+        Long jobId,
+        ImportKind kind,
+        String sourceName,
+        ImportJobStatus status,
+        long checkpointLine,
+        long importedRows,
+        long skippedRows,
+        long failedRows,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt,
+        LocalDateTime finishedAt,
+        String errorMessage
+) {
+}
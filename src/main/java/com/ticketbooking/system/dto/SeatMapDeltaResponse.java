@@ -0,0 +1,16 @@
+package com.ticketbooking.system.dto;
+
+/**
+ * Seats whose state changed between {@code sinceVersion} and {@code version}, as range strings (see
+ * {@link SeatNumbersJson#toRanges}); empty strings when nothing changed to that state.
+ */
+public record SeatMapDeltaResponse(
+        Long eventId,
+        int totalSeats,
+        long sinceVersion,
+        long version,
+        String free,
+        String held,
+        String booked
+) {
+}
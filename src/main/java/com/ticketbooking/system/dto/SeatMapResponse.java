@@ -0,0 +1,13 @@
+package com.ticketbooking.system.dto;
+
+/**
+ * Full seat map: {@code seats} is the base64 of 2 bits per seat, four seats per byte starting at the low bits
+ * (seat 1 is bits 0-1 of byte 0). Values: 0 free, 1 held, 2 booked.
+ */
+public record SeatMapResponse(
+        Long eventId,
+        int totalSeats,
+        long version,
+        String seats
+) {
+}
@@ -0,0 +1,124 @@
+package com.ticketbooking.system.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON form of seat number lists. By default seats are written as an integer array; a request with
+ * {@value #SEAT_FORMAT_PARAM}{@code =ranges} (query parameter or {@value #SEAT_FORMAT_HEADER} header) gets a
+ * compact string of sorted ranges instead, e.g. {@code "1-120,130,140-145"}. Both forms are accepted when reading.
+ */
+public final class SeatNumbersJson {
+
+    public static final String SEAT_FORMAT_PARAM = "seatFormat";
+    public static final String SEAT_FORMAT_HEADER = "X-Seat-Format";
+    public static final String RANGES = "ranges";
+
+    private SeatNumbersJson() {
+    }
+
+    /**
+     * Formats seats as comma-separated ranges in ascending order; duplicates are dropped.
+     */
+    public static String toRanges(List<Integer> seats) {
+        int[] sorted = seats.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        StringBuilder ranges = new StringBuilder(sorted.length * 2);
+        int i = 0;
+        while (i < sorted.length) {
+            int start = sorted[i];
+            while (i + 1 < sorted.length && sorted[i + 1] == sorted[i] + 1) {
+                i++;
+            }
+            if (ranges.length() > 0) {
+                ranges.append(',');
+            }
+            ranges.append(start);
+            if (sorted[i] != start) {
+                ranges.append('-').append(sorted[i]);
+            }
+            i++;
+        }
+        return ranges.toString();
+    }
+
+    public static List<Integer> fromRanges(String ranges) {
+        List<Integer> seats = new ArrayList<>();
+        if (ranges == null || ranges.isBlank()) {
+            return seats;
+        }
+        for (String part : ranges.split(",")) {
+            String range = part.trim();
+            int dash = range.indexOf('-', 1);
+            if (dash < 0) {
+                seats.add(Integer.valueOf(range));
+            } else {
+                int from = Integer.parseInt(range.substring(0, dash).trim());
+                int to = Integer.parseInt(range.substring(dash + 1).trim());
+                for (int seat = from; seat <= to; seat++) {
+                    seats.add(seat);
+                }
+            }
+        }
+        return seats;
+    }
+
+    static boolean rangesRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        String format = servletAttributes.getRequest().getParameter(SEAT_FORMAT_PARAM);
+        if (format == null) {
+            format = servletAttributes.getRequest().getHeader(SEAT_FORMAT_HEADER);
+        }
+        return RANGES.equalsIgnoreCase(format);
+    }
+
+    public static final class Serializer extends JsonSerializer<List<Integer>> {
+        @Override
+        public void serialize(List<Integer> seats, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (rangesRequested()) {
+                generator.writeString(toRanges(seats));
+                return;
+            }
+            generator.writeStartArray(seats, seats.size());
+            for (Integer seat : seats) {
+                generator.writeNumber(seat);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    public static final class Deserializer extends JsonDeserializer<List<Integer>> {
+        @Override
+        public List<Integer> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                try {
+                    return fromRanges(parser.getText());
+                } catch (NumberFormatException ex) {
+                    return context.reportInputMismatch(List.class, "Invalid seat ranges: %s", parser.getText());
+                }
+            }
+            List<Integer> seats = new ArrayList<>();
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                return context.reportInputMismatch(List.class, "Seats must be an array or a range string");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                seats.add(parser.getIntValue());
+            }
+            return seats;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticketbooking.system.dto;
+
+import com.ticketbooking.system.enums.WaitlistStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record WaitlistEntryResponse(
+        Long entryId,
+        Long eventId,
+        String userId,
+        List<Integer> seatNumbers,
+        int seatCount,
+        WaitlistStatus status,
+        String holdId,
+        LocalDateTime createdAt,
+        LocalDateTime fulfilledAt
+) {
+}
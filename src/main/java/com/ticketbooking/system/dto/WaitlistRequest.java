@@ -0,0 +1,16 @@
+package com.ticketbooking.system.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+/**
+ * Either {@code seatNumbers} (wait for exactly these seats) or {@code seatCount} (any N seats).
+ */
+public record WaitlistRequest(
+        @NotBlank String userId,
+        List<Integer> seatNumbers,
+        @Min(1) Integer seatCount
+) {
+}
@@ -0,0 +1,54 @@
+package com.ticketbooking.system.entity;
+
+import com.ticketbooking.system.enums.BookingStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a booking moved to {@code bookings_archive}.
+ */
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_event_user", columnList = "event_id,user_id")
+})
+public class ArchivedBooking {
+    @Id
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private BookingStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "canceled_at")
+    private LocalDateTime canceledAt;
+
+    @Column(name = "hold_id", nullable = false, length = 36)
+    private String holdId;
+
+    @Lob
+    @Column(name = "seat_numbers")
+    private String seatNumbers;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public Long getId() { return id; }
+    public Long getEventId() { return eventId; }
+    public String getUserId() { return userId; }
+    public BookingStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getCanceledAt() { return canceledAt; }
+    public String getHoldId() { return holdId; }
+    public String getSeatNumbers() { return seatNumbers; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,67 @@
+package com.ticketbooking.system.entity;
+
+import com.ticketbooking.system.enums.HoldStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a hold moved to {@code seat_holds_archive}.
+ */
+@Entity
+@Table(name = "seat_holds_archive", indexes = {
+        @Index(name = "idx_seat_holds_archive_event_user", columnList = "event_id,user_id")
+})
+public class ArchivedSeatHold {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private HoldStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "extension_count", nullable = false)
+    private int extensionCount;
+
+    @Column(name = "payment_reference", length = 100)
+    private String paymentReference;
+
+    @Column(name = "payment_failure")
+    private String paymentFailure;
+
+    @Column(name = "payment_started_at")
+    private LocalDateTime paymentStartedAt;
+
+    @Lob
+    @Column(name = "seat_numbers")
+    private String seatNumbers;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public String getId() { return id; }
+    public Long getEventId() { return eventId; }
+    public String getUserId() { return userId; }
+    public HoldStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public int getExtensionCount() { return extensionCount; }
+    public String getPaymentReference() { return paymentReference; }
+    public String getPaymentFailure() { return paymentFailure; }
+    public LocalDateTime getPaymentStartedAt() { return paymentStartedAt; }
+    public String getSeatNumbers() { return seatNumbers; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,50 @@
+package com.ticketbooking.system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "booking_cancellations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_booking_cancellation_booking", columnNames = {"booking_id"})
+}, indexes = {
+        @Index(name = "idx_booking_cancellations_job", columnList = "job_id,id")
+})
+public class BookingCancellation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "seat_count", nullable = false)
+    private int seatCount;
+
+    @Column(name = "canceled_at", nullable = false)
+    private LocalDateTime canceledAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public int getSeatCount() { return seatCount; }
+    public void setSeatCount(int seatCount) { this.seatCount = seatCount; }
+    public LocalDateTime getCanceledAt() { return canceledAt; }
+    public void setCanceledAt(LocalDateTime canceledAt) { this.canceledAt = canceledAt; }
+}
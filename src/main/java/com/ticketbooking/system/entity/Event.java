@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "events", uniqueConstraints = {
         @UniqueConstraint(name = "uk_event_business_key", columnNames = {"name", "event_date", "location"})
+}, indexes = {
+        @Index(name = "idx_events_event_date", columnList = "event_date")
 })
 public class Event {
     @Id
@@ -30,6 +32,12 @@ public class Event {
     @Column(name = "total_seats", nullable = false)
     private Integer totalSeats;
 
+    @Column(name = "hold_ttl_seconds")
+    private Integer holdTtlSeconds;
+
+    @Column(name = "canceled_at")
+    private LocalDateTime canceledAt;
+
     @Version
     private Long version;
 
@@ -43,4 +51,8 @@ public class Event {
     public void setLocation(String location) { this.location = location; }
     public Integer getTotalSeats() { return totalSeats; }
     public void setTotalSeats(Integer totalSeats) { this.totalSeats = totalSeats; }
+    public Integer getHoldTtlSeconds() { return holdTtlSeconds; }
+    public void setHoldTtlSeconds(Integer holdTtlSeconds) { this.holdTtlSeconds = holdTtlSeconds; }
+    public LocalDateTime getCanceledAt() { return canceledAt; }
+    public void setCanceledAt(LocalDateTime canceledAt) { this.canceledAt = canceledAt; }
 }
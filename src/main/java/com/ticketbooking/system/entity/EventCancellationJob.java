@@ -0,0 +1,76 @@
+package com.ticketbooking.system.entity;
+
+import com.ticketbooking.system.enums.CancellationJobStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_cancellation_jobs", indexes = {
+        @Index(name = "idx_cancellation_jobs_event", columnList = "event_id,id"),
+        @Index(name = "idx_cancellation_jobs_status", columnList = "status")
+})
+public class EventCancellationJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private CancellationJobStatus status;
+
+    @Column(length = 500)
+    private String reason;
+
+    @Column(name = "total_bookings", nullable = false)
+    private int totalBookings;
+
+    @Column(name = "canceled_bookings", nullable = false)
+    private int canceledBookings;
+
+    @Column(name = "total_holds", nullable = false)
+    private int totalHolds;
+
+    @Column(name = "released_holds", nullable = false)
+    private int releasedHolds;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public CancellationJobStatus getStatus() { return status; }
+    public void setStatus(CancellationJobStatus status) { this.status = status; }
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+    public int getTotalBookings() { return totalBookings; }
+    public void setTotalBookings(int totalBookings) { this.totalBookings = totalBookings; }
+    public int getCanceledBookings() { return canceledBookings; }
+    public void setCanceledBookings(int canceledBookings) { this.canceledBookings = canceledBookings; }
+    public int getTotalHolds() { return totalHolds; }
+    public void setTotalHolds(int totalHolds) { this.totalHolds = totalHolds; }
+    public int getReleasedHolds() { return releasedHolds; }
+    public void setReleasedHolds(int releasedHolds) { this.releasedHolds = releasedHolds; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
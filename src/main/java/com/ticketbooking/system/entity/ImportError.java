@@ -0,0 +1,36 @@
+package com.ticketbooking.system.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "import_errors", indexes = {
+        @Index(name = "idx_import_errors_job_line", columnList = "job_id,line_number")
+})
+public class ImportError {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Column(name = "raw_line", length = 2000)
+    private String rawLine;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+    public long getLineNumber() { return lineNumber; }
+    public void setLineNumber(long lineNumber) { this.lineNumber = lineNumber; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public String getRawLine() { return rawLine; }
+    public void setRawLine(String rawLine) { this.rawLine = rawLine; }
+}
@@ -0,0 +1,75 @@
+package com.ticketbooking.system.entity;
+
+import com.ticketbooking.system.enums.ImportJobStatus;
+import com.ticketbooking.system.enums.ImportKind;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ImportKind kind;
+
+    @Column(name = "source_name")
+    private String sourceName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ImportJobStatus status;
+
+    @Column(name = "checkpoint_line", nullable = false)
+    private long checkpointLine;
+
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+
+    @Column(name = "skipped_rows", nullable = false)
+    private long skippedRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private long failedRows;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public ImportKind getKind() { return kind; }
+    public void setKind(ImportKind kind) { this.kind = kind; }
+    public String getSourceName() { return sourceName; }
+    public void setSourceName(String sourceName) { this.sourceName = sourceName; }
+    public ImportJobStatus getStatus() { return status; }
+    public void setStatus(ImportJobStatus status) { this.status = status; }
+    public long getCheckpointLine() { return checkpointLine; }
+    public void setCheckpointLine(long checkpointLine) { this.checkpointLine = checkpointLine; }
+    public long getImportedRows() { return importedRows; }
+    public void setImportedRows(long importedRows) { this.importedRows = importedRows; }
+    public long getSkippedRows() { return skippedRows; }
+    public void setSkippedRows(long skippedRows) { this.skippedRows = skippedRows; }
+    public long getFailedRows() { return failedRows; }
+    public void setFailedRows(long failedRows) { this.failedRows = failedRows; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
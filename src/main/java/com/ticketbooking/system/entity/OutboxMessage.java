@@ -0,0 +1,78 @@
+package com.ticketbooking.system.entity;
+
+import com.ticketbooking.system.enums.OutboxEventType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "booking_outbox", indexes = {
+        @Index(name = "idx_booking_outbox_pending", columnList = "published_at,id"),
+        @Index(name = "idx_booking_outbox_event_pending", columnList = "event_id,published_at,next_attempt_at"),
+        @Index(name = "ux_booking_outbox_event_sequence", columnList = "event_id,event_sequence", unique = true)
+})
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private OutboxEventType eventType;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "event_sequence")
+    private Long eventSequence;
+
+    @Column(name = "hold_id", length = 36)
+    private String holdId;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    @Lob
+    @Column(name = "seat_numbers")
+    private String seatNumbers;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public OutboxEventType getEventType() { return eventType; }
+    public void setEventType(OutboxEventType eventType) { this.eventType = eventType; }
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public Long getEventSequence() { return eventSequence; }
+    public void setEventSequence(Long eventSequence) { this.eventSequence = eventSequence; }
+    public String getHoldId() { return holdId; }
+    public void setHoldId(String holdId) { this.holdId = holdId; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getSeatNumbers() { return seatNumbers; }
+    public void setSeatNumbers(String seatNumbers) { this.seatNumbers = seatNumbers; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+}
@@ -30,6 +30,18 @@ public class SeatHold {
     @Column(nullable = false)
     private LocalDateTime expiresAt;
 
+    @Column(name = "extension_count", nullable = false)
+    private int extensionCount;
+
+    @Column(name = "payment_reference", length = 100)
+    private String paymentReference;
+
+    @Column(name = "payment_failure")
+    private String paymentFailure;
+
+    @Column(name = "payment_started_at")
+    private LocalDateTime paymentStartedAt;
+
     @OneToMany(mappedBy = "hold", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SeatHoldItem> seats = new ArrayList<>();
 
@@ -43,8 +55,16 @@ public class SeatHold {
     public void setStatus(HoldStatus status) { this.status = status; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public int getExtensionCount() { return extensionCount; }
+    public void setExtensionCount(int extensionCount) { this.extensionCount = extensionCount; }
     public LocalDateTime getExpiresAt() { return expiresAt; }
     public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public String getPaymentReference() { return paymentReference; }
+    public void setPaymentReference(String paymentReference) { this.paymentReference = paymentReference; }
+    public String getPaymentFailure() { return paymentFailure; }
+    public void setPaymentFailure(String paymentFailure) { this.paymentFailure = paymentFailure; }
+    public LocalDateTime getPaymentStartedAt() { return paymentStartedAt; }
+    public void setPaymentStartedAt(LocalDateTime paymentStartedAt) { this.paymentStartedAt = paymentStartedAt; }
     public List<SeatHoldItem> getSeats() { return seats; }
     public void setSeats(List<SeatHoldItem> seats) { this.seats = seats; }
 }
@@ -0,0 +1,7 @@
+package com.ticketbooking.system.enums;
+
+public enum CancellationJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
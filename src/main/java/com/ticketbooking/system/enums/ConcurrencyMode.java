@@ -0,0 +1,8 @@
+package com.ticketbooking.system.enums;
+
+public enum ConcurrencyMode {
+    PESSIMISTIC,
+    OPTIMISTIC,
+    CLAIM,
+    ACTOR
+}
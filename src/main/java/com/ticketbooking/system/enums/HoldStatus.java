@@ -1,8 +1,17 @@
 package com.ticketbooking.system.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum HoldStatus {
     ACTIVE,
+    PAYMENT_PENDING,
     CONFIRMED,
     EXPIRED,
-    RELEASED
+    RELEASED;
+
+    /**
+     * Statuses whose seats are still taken by the hold.
+     */
+    public static final Set<HoldStatus> HOLDING_SEATS = EnumSet.of(ACTIVE, PAYMENT_PENDING);
 }
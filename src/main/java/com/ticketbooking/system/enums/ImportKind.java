@@ -0,0 +1,6 @@
+package com.ticketbooking.system.enums;
+
+public enum ImportKind {
+    EVENTS,
+    BOOKINGS
+}
@@ -0,0 +1,9 @@
+package com.ticketbooking.system.enums;
+
+public enum OutboxEventType {
+    HOLD_CREATED,
+    BOOKING_CONFIRMED,
+    HOLD_EXPIRED,
+    HOLD_RELEASED,
+    BOOKING_CANCELED
+}
@@ -0,0 +1,7 @@
+package com.ticketbooking.system.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    FULFILLED,
+    CANCELED
+}
@@ -0,0 +1,22 @@
+package com.ticketbooking.system.exception;
+
+import org.springframework.http.HttpStatusCode;
+
+public class ForwardedRequestException extends RuntimeException {
+    private final HttpStatusCode status;
+    private final String body;
+
+    public ForwardedRequestException(HttpStatusCode status, String body) {
+        super("Owner node responded with " + status);
+        this.status = status;
+        this.body = body;
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
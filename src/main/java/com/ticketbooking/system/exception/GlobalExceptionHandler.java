@@ -3,7 +3,9 @@ package com.ticketbooking.system.exception;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -64,6 +66,21 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.PRECONDITION_REQUIRED, "PRECONDITION_REQUIRED", ex.getMessage());
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        ResponseEntity<Map<String, Object>> error = buildError(HttpStatus.SERVICE_UNAVAILABLE, "OVERLOADED", ex.getMessage());
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(error.getBody());
+    }
+
+    @ExceptionHandler(ForwardedRequestException.class)
+    public ResponseEntity<String> handleForwarded(ForwardedRequestException ex) {
+        return ResponseEntity.status(ex.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ex.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
         return buildError(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "Unexpected server error");
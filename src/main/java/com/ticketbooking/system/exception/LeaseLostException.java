@@ -0,0 +1,7 @@
+package com.ticketbooking.system.exception;
+
+public class LeaseLostException extends RuntimeException {
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+}
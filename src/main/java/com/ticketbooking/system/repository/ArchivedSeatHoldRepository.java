@@ -0,0 +1,7 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.ArchivedSeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedSeatHoldRepository extends JpaRepository<ArchivedSeatHold, String> {
+}
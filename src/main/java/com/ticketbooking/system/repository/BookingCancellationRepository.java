@@ -0,0 +1,29 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.BookingCancellation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingCancellationRepository extends JpaRepository<BookingCancellation, Long> {
+
+    List<BookingCancellation> findByJobIdAndIdGreaterThanOrderByIdAsc(Long jobId, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query(value = """
+            insert into booking_cancellations (job_id, booking_id, event_id, user_id, seat_count, canceled_at)
+            select :jobId, b.id, b.event_id, b.user_id,
+                   (select count(*) from booking_seats bs where bs.booking_id = b.id), :canceledAt
+            from bookings b
+            where b.id in (:bookingIds) and b.status = 'CANCELED' and b.canceled_at = :canceledAt
+            """, nativeQuery = true)
+    int recordCancellations(@Param("jobId") Long jobId,
+                            @Param("bookingIds") Collection<Long> bookingIds,
+                            @Param("canceledAt") LocalDateTime canceledAt);
+}
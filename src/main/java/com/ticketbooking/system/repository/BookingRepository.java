@@ -2,10 +2,53 @@ package com.ticketbooking.system.repository;
 
 import com.ticketbooking.system.entity.Booking;
 import com.ticketbooking.system.enums.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean existsByEventIdAndUserIdAndStatus(Long eventId, String userId, BookingStatus status);
 
     boolean existsByHoldIdAndUserIdAndStatus(String holdId, String userId, BookingStatus status);
+
+    @Query("select b.id from Booking b where b.holdId = :holdId and b.status = :status")
+    Optional<Long> findIdByHoldIdAndStatus(@Param("holdId") String holdId, @Param("status") BookingStatus status);
+
+    @Query("select b.event.id from Booking b where b.id = :bookingId")
+    Optional<Long> findEventIdByBookingId(@Param("bookingId") Long bookingId);
+
+    long countByEventIdAndStatus(Long eventId, BookingStatus status);
+
+    @Query("""
+            select b from Booking b
+            where b.userId = :userId
+              and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id))
+            order by b.createdAt desc, b.id desc
+            """)
+    List<Booking> findUserPageBefore(@Param("userId") String userId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    @Query("select b.id from Booking b where b.event.id = :eventId and b.status = :status")
+    List<Long> findIdsByEventIdAndStatus(@Param("eventId") Long eventId,
+                                         @Param("status") BookingStatus status,
+                                         Pageable pageable);
+
+    @Modifying
+    @Query("""
+            update Booking b set b.status = :to, b.canceledAt = :canceledAt
+            where b.id in :bookingIds and b.status = :from
+            """)
+    int cancelAll(@Param("bookingIds") Collection<Long> bookingIds,
+                  @Param("from") BookingStatus from,
+                  @Param("to") BookingStatus to,
+                  @Param("canceledAt") LocalDateTime canceledAt);
 }
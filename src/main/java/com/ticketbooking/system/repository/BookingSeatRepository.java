@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingSeatRepository extends JpaRepository<BookingSeat, Long> {
@@ -23,4 +24,7 @@ public interface BookingSeatRepository extends JpaRepository<BookingSeat, Long>
             """)
     long countForBookingStatus(@Param("eventId") Long eventId,
                                @Param("status") BookingStatus status);
+
+    @Query("select bs from BookingSeat bs where bs.booking.id in :bookingIds")
+    List<BookingSeat> findByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 }
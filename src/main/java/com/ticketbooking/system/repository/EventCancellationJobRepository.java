@@ -0,0 +1,32 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.EventCancellationJob;
+import com.ticketbooking.system.enums.CancellationJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventCancellationJobRepository extends JpaRepository<EventCancellationJob, Long> {
+
+    Optional<EventCancellationJob> findFirstByEventIdOrderByIdDesc(Long eventId);
+
+    List<EventCancellationJob> findByStatus(CancellationJobStatus status);
+
+    @Modifying
+    @Query("""
+            update EventCancellationJob j
+            set j.canceledBookings = j.canceledBookings + :bookings,
+                j.releasedHolds = j.releasedHolds + :holds,
+                j.updatedAt = :now
+            where j.id = :jobId
+            """)
+    int addProgress(@Param("jobId") Long jobId,
+                    @Param("bookings") int bookings,
+                    @Param("holds") int holds,
+                    @Param("now") LocalDateTime now);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -16,6 +17,12 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("select e from Event e where e.id = :eventId")
     Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
 
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select e from Event e where e.id = :eventId")
+    Optional<Event> findByIdForVersionIncrement(@Param("eventId") Long eventId);
+
+    List<Event> findByEventDateBetween(LocalDateTime from, LocalDateTime to);
+
     Optional<Event> findByNameIgnoreCaseAndEventDateAndLocationIgnoreCase(String name,
                                                                            LocalDateTime eventDate,
                                                                            String location);
@@ -0,0 +1,12 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.ImportError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ImportErrorRepository extends JpaRepository<ImportError, Long> {
+
+    List<ImportError> findByJobIdOrderByLineNumberAsc(Long jobId, Pageable pageable);
+}
@@ -0,0 +1,7 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+}
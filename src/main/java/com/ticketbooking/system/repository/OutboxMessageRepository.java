@@ -0,0 +1,94 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Oldest undelivered messages, skipping every event that still has a message waiting for a retry so a
+     * later message of that event is never delivered ahead of it.
+     */
+    @Query("""
+            select m from OutboxMessage m
+            where m.publishedAt is null
+              and m.eventId not in (
+                  select b.eventId from OutboxMessage b
+                  where b.publishedAt is null and b.nextAttemptAt > :now)
+            order by m.id
+            """)
+    List<OutboxMessage> findDeliverable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("select min(m.occurredAt) from OutboxMessage m where m.publishedAt is null")
+    Optional<LocalDateTime> findOldestPendingOccurredAt();
+
+    long countByPublishedAtIsNull();
+
+    @Modifying
+    @Query("update OutboxMessage m set m.publishedAt = :publishedAt where m.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("""
+            update OutboxMessage m
+            set m.attempts = m.attempts + 1, m.nextAttemptAt = :nextAttemptAt
+            where m.id in :ids
+            """)
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Reserves {@code count} sequence numbers for the event. The row lock this takes on the event is held until
+     * commit, so the outbox rows of one event are inserted and committed in sequence order.
+     */
+    @Modifying
+    @Query(value = "update events set outbox_sequence = outbox_sequence + :count where id = :eventId", nativeQuery = true)
+    int reserveSequence(@Param("eventId") Long eventId, @Param("count") int count);
+
+    @Query(value = "select outbox_sequence from events where id = :eventId", nativeQuery = true)
+    long findLastSequence(@Param("eventId") Long eventId);
+
+    /**
+     * Set-based variant of {@code OutboxWriter#bookingCanceled} for bulk cancellation; rows are numbered from
+     * {@code firstSequence} in booking id order.
+     */
+    @Modifying
+    @Query(value = """
+            insert into booking_outbox (event_type, event_id, event_sequence, hold_id, booking_id, user_id, seat_numbers, occurred_at, attempts)
+            select 'BOOKING_CANCELED', b.event_id, :firstSequence - 1 + row_number() over (order by b.id), b.hold_id, b.id, b.user_id,
+                   (select listagg(bs.seat_number, ',') within group (order by bs.seat_number)
+                    from booking_seats bs where bs.booking_id = b.id),
+                   :occurredAt, 0
+            from bookings b
+            where b.id in (:bookingIds) and b.status = 'CANCELED' and b.canceled_at = :occurredAt
+            """, nativeQuery = true)
+    int insertBookingsCanceled(@Param("bookingIds") Collection<Long> bookingIds,
+                               @Param("firstSequence") long firstSequence,
+                               @Param("occurredAt") LocalDateTime occurredAt);
+
+    @Modifying
+    @Query(value = """
+            insert into booking_outbox (event_type, event_id, event_sequence, hold_id, booking_id, user_id, seat_numbers, occurred_at, attempts)
+            select 'HOLD_RELEASED', h.event_id, :firstSequence - 1 + row_number() over (order by h.id), h.id, null, h.user_id,
+                   (select listagg(i.seat_number, ',') within group (order by i.seat_number)
+                    from seat_hold_items i where i.hold_id = h.id),
+                   :occurredAt, 0
+            from seat_holds h
+            where h.id in (:holdIds)
+            """, nativeQuery = true)
+    int insertHoldsReleased(@Param("holdIds") Collection<String> holdIds,
+                            @Param("firstSequence") long firstSequence,
+                            @Param("occurredAt") LocalDateTime occurredAt);
+
+    @Modifying
+    @Query("delete from OutboxMessage m where m.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,10 @@
+package com.ticketbooking.system.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SeatClaimBatchRepository {
+
+    void insertHoldClaims(Long eventId, String holdId, List<Integer> seatNumbers,
+                          LocalDateTime claimedAt, LocalDateTime expiresAt);
+}
@@ -0,0 +1,35 @@
+package com.ticketbooking.system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SeatClaimBatchRepositoryImpl implements SeatClaimBatchRepository {
+
+    private static final String INSERT_HOLD_CLAIM = """
+            insert into seat_claims (event_id, seat_number, hold_id, claimed_at, expires_at)
+            values (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeatClaimBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertHoldClaims(Long eventId, String holdId, List<Integer> seatNumbers,
+                                 LocalDateTime claimedAt, LocalDateTime expiresAt) {
+        Timestamp claimed = Timestamp.valueOf(claimedAt);
+        Timestamp expires = Timestamp.valueOf(expiresAt);
+        jdbcTemplate.batchUpdate(INSERT_HOLD_CLAIM, seatNumbers, seatNumbers.size(), (ps, seatNumber) -> {
+            ps.setLong(1, eventId);
+            ps.setInt(2, seatNumber);
+            ps.setString(3, holdId);
+            ps.setTimestamp(4, claimed);
+            ps.setTimestamp(5, expires);
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.SeatClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SeatClaimRepository extends JpaRepository<SeatClaim, Long>, SeatClaimBatchRepository {
+
+    List<SeatClaim> findByEventId(Long eventId);
+
+    List<SeatClaim> findByEventIdAndClaimedAtAfter(Long eventId, LocalDateTime claimedAt);
+
+    @Query("""
+            select count(c) from SeatClaim c
+            where c.eventId = :eventId
+              and (c.bookingId is not null or c.expiresAt > :now)
+            """)
+    long countLiveClaims(@Param("eventId") Long eventId, @Param("now") LocalDateTime now);
+
+    @Query("""
+            select c.seatNumber from SeatClaim c
+            where c.eventId = :eventId
+              and (c.bookingId is not null or c.expiresAt > :now)
+            """)
+    List<Integer> findClaimedSeatNumbers(@Param("eventId") Long eventId, @Param("now") LocalDateTime now);
+
+    @Query("""
+            select c.seatNumber from SeatClaim c
+            where c.eventId = :eventId
+              and c.seatNumber in :seatNumbers
+              and (c.bookingId is not null or c.expiresAt > :now)
+            """)
+    List<Integer> findClaimedSeatNumbersAmong(@Param("eventId") Long eventId,
+                                              @Param("seatNumbers") Collection<Integer> seatNumbers,
+                                              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            delete from SeatClaim c
+            where c.eventId = :eventId
+              and c.seatNumber in :seatNumbers
+              and c.bookingId is null
+              and c.expiresAt <= :now
+            """)
+    int deleteStaleHoldClaims(@Param("eventId") Long eventId,
+                              @Param("seatNumbers") Collection<Integer> seatNumbers,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update SeatClaim c set c.bookingId = :bookingId, c.expiresAt = null
+            where c.holdId = :holdId and c.bookingId is null
+            """)
+    int transferToBooking(@Param("holdId") String holdId, @Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("update SeatClaim c set c.expiresAt = :expiresAt where c.holdId = :holdId and c.bookingId is null")
+    int extendHoldClaims(@Param("holdId") String holdId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from SeatClaim c where c.holdId in :holdIds and c.bookingId is null")
+    int deleteHoldClaims(@Param("holdIds") Collection<String> holdIds);
+
+    @Modifying
+    @Query("delete from SeatClaim c where c.bookingId = :bookingId")
+    int releaseBooking(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("delete from SeatClaim c where c.bookingId in :bookingIds")
+    int releaseBookings(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("delete from SeatClaim c where c.bookingId is null and c.expiresAt <= :now")
+    int deleteExpiredHoldClaims(@Param("now") LocalDateTime now);
+}
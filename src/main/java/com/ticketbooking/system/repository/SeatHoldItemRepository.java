@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface SeatHoldItemRepository extends JpaRepository<SeatHoldItem, Long> {
@@ -14,20 +15,23 @@ public interface SeatHoldItemRepository extends JpaRepository<SeatHoldItem, Long
     @Query("""
             select shi.seatNumber from SeatHoldItem shi
             where shi.hold.event.id = :eventId
-              and shi.hold.status = :status
+              and shi.hold.status in :statuses
               and shi.hold.expiresAt > :now
             """)
     List<Integer> findSeatNumbersForActiveHolds(@Param("eventId") Long eventId,
-                                                @Param("status") HoldStatus status,
+                                                @Param("statuses") Collection<HoldStatus> statuses,
                                                 @Param("now") LocalDateTime now);
 
     @Query("""
             select count(shi) from SeatHoldItem shi
             where shi.hold.event.id = :eventId
-              and shi.hold.status = :status
+              and shi.hold.status in :statuses
               and shi.hold.expiresAt > :now
             """)
     long countForActiveHolds(@Param("eventId") Long eventId,
-                             @Param("status") HoldStatus status,
+                             @Param("statuses") Collection<HoldStatus> statuses,
                              @Param("now") LocalDateTime now);
+
+    @Query("select shi from SeatHoldItem shi where shi.hold.id in :holdIds")
+    List<SeatHoldItem> findByHoldIds(@Param("holdIds") Collection<String> holdIds);
 }
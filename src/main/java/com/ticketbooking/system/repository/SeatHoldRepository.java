@@ -2,15 +2,19 @@ package com.ticketbooking.system.repository;
 
 import com.ticketbooking.system.entity.SeatHold;
 import com.ticketbooking.system.enums.HoldStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
-    List<SeatHold> findByStatusAndExpiresAtBefore(HoldStatus status, LocalDateTime cutoff);
+    List<SeatHold> findByStatusInAndExpiresAtBefore(Collection<HoldStatus> statuses, LocalDateTime cutoff);
 
     @Query("""
             select h.id from SeatHold h
@@ -22,6 +26,16 @@ public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
                                             @Param("userId") String userId,
                                             @Param("status") HoldStatus status);
 
+    @Query("select h from SeatHold h where h.userId in :userIds and h.status = :status")
+    List<SeatHold> findByUserIdsAndStatus(@Param("userIds") Collection<String> userIds,
+                                          @Param("status") HoldStatus status);
+
+    @Query("select h from SeatHold h left join fetch h.seats where h.id = :holdId")
+    Optional<SeatHold> findWithSeatsById(@Param("holdId") String holdId);
+
+    @Query("select h.event.id from SeatHold h where h.id = :holdId")
+    Optional<Long> findEventIdByHoldId(@Param("holdId") String holdId);
+
     List<SeatHold> findByStatus(HoldStatus status);
 
     List<SeatHold> findByStatusAndEventId(HoldStatus status, Long eventId);
@@ -29,4 +43,32 @@ public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
     List<SeatHold> findByStatusAndUserId(HoldStatus status, String userId);
 
     List<SeatHold> findByStatusAndEventIdAndUserId(HoldStatus status, Long eventId, String userId);
+
+    List<SeatHold> findByStatusAndPaymentStartedAtBefore(HoldStatus status, LocalDateTime cutoff);
+
+    long countByEventIdAndStatus(Long eventId, HoldStatus status);
+
+    @Query("""
+            select h from SeatHold h
+            where h.userId = :userId
+              and h.status = :status
+              and (h.createdAt < :createdAt or (h.createdAt = :createdAt and h.id < :id))
+            order by h.createdAt desc, h.id desc
+            """)
+    List<SeatHold> findUserPageBefore(@Param("userId") String userId,
+                                      @Param("status") HoldStatus status,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") String id,
+                                      Pageable pageable);
+
+    @Query("select h.id from SeatHold h where h.event.id = :eventId and h.status = :status")
+    List<String> findIdsByEventIdAndStatus(@Param("eventId") Long eventId,
+                                           @Param("status") HoldStatus status,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("update SeatHold h set h.status = :to where h.id in :holdIds and h.status = :from")
+    int updateStatus(@Param("holdIds") Collection<String> holdIds,
+                     @Param("from") HoldStatus from,
+                     @Param("to") HoldStatus to);
 }
@@ -0,0 +1,29 @@
+package com.ticketbooking.system.repository;
+
+import com.ticketbooking.system.entity.WaitlistEntry;
+import com.ticketbooking.system.enums.WaitlistStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByEventIdAndStatusOrderByIdAsc(Long eventId, WaitlistStatus status, Pageable pageable);
+
+    List<WaitlistEntry> findByEventIdOrderByIdAsc(Long eventId);
+
+    List<WaitlistEntry> findByEventIdAndUserIdOrderByIdAsc(Long eventId, String userId);
+
+    @Query("select distinct w.eventId from WaitlistEntry w where w.status = :status")
+    List<Long> findEventIdsByStatus(@Param("status") WaitlistStatus status);
+
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = :to where w.eventId = :eventId and w.status = :from")
+    int updateStatusForEvent(@Param("eventId") Long eventId,
+                             @Param("from") WaitlistStatus from,
+                             @Param("to") WaitlistStatus to);
+}
@@ -0,0 +1,222 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.BookingWithHoldsResponse;
+import com.ticketbooking.system.dto.HoldResponse;
+import com.ticketbooking.system.entity.ArchivedBooking;
+import com.ticketbooking.system.entity.ArchivedSeatHold;
+import com.ticketbooking.system.repository.ArchivedBookingRepository;
+import com.ticketbooking.system.repository.ArchivedSeatHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves dead rows out of the hot tables so active-hold and booking queries stop stepping over them: finished holds
+ * (expired, released or confirmed) once they are older than {@code hold-retention}, and every booking of an event
+ * that ended more than {@code booking-retention} ago. Each chunk is copied and deleted in one transaction per
+ * shard with set-based statements; archived rows stay readable through {@link #findBooking} and {@link #findHold}.
+ */
+@Component
+public class BookingArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingArchive.class);
+
+    // Selection queries are public so SchemaIndexUsageTests can explain them as written.
+    public static final String SELECT_HOLDS = """
+            select h.id from seat_holds h
+            where h.status in ('EXPIRED', 'RELEASED', 'CONFIRMED') and h.expires_at < :cutoff
+            fetch first :limit rows only
+            """;
+    private static final String ARCHIVE_HOLDS = """
+            insert into seat_holds_archive
+                (id, event_id, user_id, status, created_at, expires_at, extension_count,
+                 payment_reference, payment_failure, payment_started_at, seat_numbers, archived_at)
+            select h.id, h.event_id, h.user_id, h.status, h.created_at, h.expires_at, h.extension_count,
+                   h.payment_reference, h.payment_failure, h.payment_started_at,
+                   (select listagg(i.seat_number, ',') within group (order by i.seat_number)
+                    from seat_hold_items i where i.hold_id = h.id),
+                   :now
+            from seat_holds h
+            where h.id in (:ids)
+            """;
+    public static final String SELECT_BOOKINGS = """
+            select b.id from bookings b join events e on e.id = b.event_id
+            where e.event_date < :cutoff
+            fetch first :limit rows only
+            """;
+    private static final String ARCHIVE_BOOKINGS = """
+            insert into bookings_archive
+                (id, event_id, user_id, status, created_at, canceled_at, hold_id, seat_numbers, archived_at)
+            select b.id, b.event_id, b.user_id, b.status, b.created_at, b.canceled_at, b.hold_id,
+                   (select listagg(bs.seat_number, ',') within group (order by bs.seat_number)
+                    from booking_seats bs where bs.booking_id = b.id),
+                   :now
+            from bookings b
+            where b.id in (:ids)
+            """;
+
+    private final boolean enabled;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ShardRouter shardRouter;
+    private final JobLeases jobLeases;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ArchivedSeatHoldRepository archivedSeatHoldRepository;
+    private final Duration holdRetention;
+    private final Duration bookingRetention;
+    private final int chunkSize;
+    private final MeterRegistry meterRegistry;
+
+    public BookingArchive(@Value("${ticketbooking.archive.enabled:false}") boolean enabled,
+                          JdbcTemplate jdbcTemplate,
+                          ShardRouter shardRouter,
+                          JobLeases jobLeases,
+                          ArchivedBookingRepository archivedBookingRepository,
+                          ArchivedSeatHoldRepository archivedSeatHoldRepository,
+                          @Value("${ticketbooking.archive.hold-retention:30d}") Duration holdRetention,
+                          @Value("${ticketbooking.archive.booking-retention:90d}") Duration bookingRetention,
+                          @Value("${ticketbooking.archive.chunk-size:1000}") int chunkSize,
+                          ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.shardRouter = shardRouter;
+        this.jobLeases = jobLeases;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.archivedSeatHoldRepository = archivedSeatHoldRepository;
+        this.holdRetention = holdRetention;
+        this.bookingRetention = bookingRetention;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+    }
+
+    @Scheduled(fixedDelayString = "${ticketbooking.archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (enabled) {
+            jobLeases.runIfLeader("archive", this::archive);
+        }
+    }
+
+    /**
+     * Runs until nothing is left to archive on any shard; returns the number of holds and bookings moved.
+     */
+    public synchronized ArchiveResult archive() {
+        long holds = 0;
+        long bookings = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int current = shard;
+            int moved;
+            do {
+                moved = jobLeases.writeFenced(current, () -> archiveHolds(now.minus(holdRetention), now));
+                holds += moved;
+            } while (moved == chunkSize);
+            do {
+                moved = jobLeases.writeFenced(current, () -> archiveBookings(now.minus(bookingRetention), now));
+                bookings += moved;
+            } while (moved == chunkSize);
+        }
+        increment("ticketbooking.archive.holds", holds);
+        increment("ticketbooking.archive.bookings", bookings);
+        if (holds > 0 || bookings > 0) {
+            log.info("Archived holds={} bookings={}", holds, bookings);
+        }
+        return new ArchiveResult(holds, bookings);
+    }
+
+    public Optional<BookingWithHoldsResponse> findBooking(Long bookingId) {
+        return shardRouter.read(shardRouter.shardForBooking(bookingId), () -> archivedBookingRepository.findById(bookingId))
+                .map(BookingArchive::toResponse);
+    }
+
+    public Optional<HoldResponse> findHold(String holdId) {
+        return shardRouter.findFirst(() -> archivedSeatHoldRepository.findById(holdId))
+                .map(BookingArchive::toResponse);
+    }
+
+    private int archiveHolds(LocalDateTime cutoff, LocalDateTime now) {
+        List<String> ids = jdbc.queryForList(SELECT_HOLDS, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", chunkSize), String.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(now));
+        jdbc.update(ARCHIVE_HOLDS, params);
+        jdbc.update("delete from seat_hold_items where hold_id in (:ids)", params);
+        jdbc.update("delete from seat_holds where id in (:ids)", params);
+        return ids.size();
+    }
+
+    private int archiveBookings(LocalDateTime cutoff, LocalDateTime now) {
+        List<Long> ids = jdbc.queryForList(SELECT_BOOKINGS, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(now));
+        jdbc.update(ARCHIVE_BOOKINGS, params);
+        jdbc.update("delete from booking_seats where booking_id in (:ids)", params);
+        jdbc.update("delete from seat_claims where booking_id in (:ids)", params);
+        jdbc.update("delete from bookings where id in (:ids)", params);
+        return ids.size();
+    }
+
+    private void increment(String name, long amount) {
+        if (meterRegistry != null && amount > 0) {
+            Counter.builder(name).register(meterRegistry).increment(amount);
+        }
+    }
+
+    private static List<Integer> seats(String seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(seatNumbers.split(",")).map(Integer::valueOf).toList();
+    }
+
+    private static BookingWithHoldsResponse toResponse(ArchivedBooking booking) {
+        return new BookingWithHoldsResponse(
+                booking.getId(),
+                booking.getEventId(),
+                booking.getUserId(),
+                booking.getStatus(),
+                booking.getCreatedAt(),
+                booking.getCanceledAt(),
+                seats(booking.getSeatNumbers()),
+                0,
+                List.of()
+        );
+    }
+
+    private static HoldResponse toResponse(ArchivedSeatHold hold) {
+        return new HoldResponse(
+                hold.getId(),
+                hold.getEventId(),
+                hold.getUserId(),
+                hold.getExpiresAt(),
+                seats(hold.getSeatNumbers())
+        );
+    }
+
+    public record ArchiveResult(long holds, long bookings) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.ticketbooking.system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketbooking.system.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams bookings with their seats straight from a forward-only cursor to an output stream. Rows arrive ordered
+ * by booking, so only the booking currently being assembled is held in memory, whatever the size of the export.
+ * Shards are exported one after another, each in its own read-only transaction.
+ */
+@Component
+public class BookingExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExporter.class);
+
+    private static final String SELECT_BOOKINGS = """
+            select b.id, b.event_id, b.user_id, b.status, b.created_at, b.canceled_at, b.hold_id, bs.seat_number
+            from bookings b left join booking_seats bs on bs.booking_id = b.id
+            where b.created_at >= ? and b.created_at < ?
+            """;
+    private static final String CSV_HEADER = "bookingId,eventId,userId,status,createdAt,canceledAt,holdId,seats\n";
+
+    private final JdbcTemplate cursorTemplate;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    public BookingExporter(DataSource dataSource,
+                           ShardRouter shardRouter,
+                           ObjectMapper objectMapper,
+                           @Value("${ticketbooking.export.fetch-size:500}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new ValidationException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    public record Query(Long eventId, LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * Writes every matching booking to {@code out}; returns the number of bookings written. Does not close
+     * {@code out}.
+     */
+    public long export(Query query, Format format, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        rowWriter.begin();
+
+        StringBuilder sql = new StringBuilder(SELECT_BOOKINGS);
+        List<Object> args = new ArrayList<>(List.of(
+                Timestamp.valueOf(query.from() != null ? query.from() : LocalDateTime.of(1970, 1, 1, 0, 0)),
+                Timestamp.valueOf(query.to() != null ? query.to() : LocalDateTime.of(9999, 1, 1, 0, 0))));
+        List<Integer> shards = new ArrayList<>();
+        if (query.eventId() != null) {
+            sql.append("  and b.event_id = ?\n");
+            args.add(query.eventId());
+            shards.add(shardRouter.shardForEvent(query.eventId()));
+        } else {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                shards.add(shard);
+            }
+        }
+        sql.append("order by b.id, bs.seat_number");
+
+        long exported = 0;
+        try {
+            for (int shard : shards) {
+                BookingAssembler assembler = new BookingAssembler(rowWriter);
+                shardRouter.read(shard, () -> {
+                    cursorTemplate.query(sql.toString(), (RowCallbackHandler) assembler::accept, args.toArray());
+                    return null;
+                });
+                assembler.flush();
+                exported += assembler.count;
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+        log.info("Bookings exported count={} format={} eventId={}", exported, format, query.eventId());
+        return exported;
+    }
+
+    public record ExportedBooking(Long bookingId, Long eventId, String userId, String status,
+                                  LocalDateTime createdAt, LocalDateTime canceledAt, String holdId,
+                                  List<Integer> seats) {
+    }
+
+    private static final class BookingAssembler {
+        private final RowWriter rowWriter;
+        private ExportedBooking current;
+        private long count;
+
+        BookingAssembler(RowWriter rowWriter) {
+            this.rowWriter = rowWriter;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            long bookingId = rs.getLong(1);
+            if (current == null || current.bookingId() != bookingId) {
+                flush();
+                Timestamp canceledAt = rs.getTimestamp(6);
+                current = new ExportedBooking(bookingId, rs.getLong(2), rs.getString(3), rs.getString(4),
+                        rs.getTimestamp(5).toLocalDateTime(), canceledAt == null ? null : canceledAt.toLocalDateTime(),
+                        rs.getString(7), new ArrayList<>());
+            }
+            int seat = rs.getInt(8);
+            if (!rs.wasNull()) {
+                current.seats().add(seat);
+            }
+        }
+
+        void flush() {
+            if (current == null) {
+                return;
+            }
+            try {
+                rowWriter.write(current);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            count++;
+            current = null;
+        }
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(ExportedBooking booking) throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(ExportedBooking booking) throws IOException {
+            writer.write(objectMapper.writeValueAsString(booking));
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ExportedBooking booking) throws IOException {
+            StringBuilder line = new StringBuilder(128);
+            line.append(booking.bookingId()).append(',')
+                    .append(booking.eventId()).append(',')
+                    .append(csv(booking.userId())).append(',')
+                    .append(booking.status()).append(',')
+                    .append(booking.createdAt()).append(',')
+                    .append(booking.canceledAt() == null ? "" : booking.canceledAt()).append(',')
+                    .append(csv(booking.holdId())).append(',');
+            for (int i = 0; i < booking.seats().size(); i++) {
+                if (i > 0) {
+                    line.append(';');
+                }
+                line.append(booking.seats().get(i));
+            }
+            writer.write(line.append('\n').toString());
+        }
+
+        private static String csv(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
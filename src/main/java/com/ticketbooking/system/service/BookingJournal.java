@@ -0,0 +1,356 @@
+package com.ticketbooking.system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of committed seat changes, written to fixed-size memory-mapped segments.
+ * <p>
+ * Record layout: {@code [int payloadLength][int crc32c(payload)][payload]}, payload being
+ * {@code [long sequence][long timestamp][long eventId][byte type][type fields]}. A zero length marks the end of
+ * a segment; a record with a bad checksum or running past the segment end is treated as a torn write and ends
+ * replay. Appends only copy into the mapping; dirty pages are forced to disk by a periodic group fsync.
+ * Segments are named after their first sequence and can be deleted once a checkpoint covers them.
+ */
+@Component
+public class BookingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private static final byte HELD = 1;
+    private static final byte CONFIRMED = 2;
+    private static final byte HOLD_RELEASED = 3;
+    private static final byte BOOKING_CANCELED = 4;
+    private static final byte HOLD_EXTENDED = 5;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final MeterRegistry meterRegistry;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextSequence = 1;
+    private boolean dirty;
+
+    public BookingJournal(@Value("${ticketbooking.journal.enabled:false}") boolean enabled,
+                          @Value("${ticketbooking.journal.directory:./data/journal}") Path directory,
+                          @Value("${ticketbooking.journal.segment-bytes:67108864}") int segmentBytes,
+                          ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            openSegment(nextSequence);
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        long lastSequence = firstSequenceOf(last) - 1;
+        int position = 0;
+        RecordView record;
+        while ((record = readRecord(buffer, position)) != null) {
+            lastSequence = record.sequence();
+            position = record.nextPosition();
+        }
+        // Zero whatever follows the last valid record so a torn tail is never mistaken for data later.
+        for (int i = position; i < Math.min(segmentBytes, position + RECORD_HEADER_BYTES); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(position);
+        nextSequence = lastSequence + 1;
+        log.info("Journal opened directory={} segments={} nextSequence={}", directory, segments.size(), nextSequence);
+    }
+
+    public synchronized long append(long eventId, SeatChange change) {
+        if (!enabled) {
+            return -1;
+        }
+        byte[] payload = encode(nextSequence, System.currentTimeMillis(), eventId, change);
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + recordBytes + " bytes exceeds segment size");
+        }
+        if (buffer.remaining() < recordBytes) {
+            roll();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        dirty = true;
+        if (meterRegistry != null) {
+            Counter.builder("ticketbooking.journal.records").register(meterRegistry).increment();
+        }
+        return nextSequence++;
+    }
+
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    @Scheduled(fixedDelayString = "${ticketbooking.journal.fsync-interval-ms:20}")
+    public synchronized void sync() {
+        if (!enabled || !dirty) {
+            return;
+        }
+        long start = System.nanoTime();
+        buffer.force();
+        dirty = false;
+        if (meterRegistry != null) {
+            Timer.builder("ticketbooking.journal.fsync").register(meterRegistry)
+                    .record(System.nanoTime() - start, java.util.concurrent.TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Replays every valid record with a sequence greater than {@code afterSequence}, in order.
+     */
+    public void replay(long afterSequence, RecordConsumer consumer) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        sync();
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                ByteBuffer segment = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                int position = 0;
+                RecordView record;
+                while ((record = readRecord(segment, position)) != null) {
+                    if (record.sequence() > afterSequence) {
+                        consumer.accept(record.sequence(), record.eventId(), record.change());
+                    }
+                    position = record.nextPosition();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sequence of the oldest record still on disk; anything before it has been truncated.
+     */
+    public synchronized long firstRetainedSequence() throws IOException {
+        if (!enabled) {
+            return nextSequence;
+        }
+        List<Path> segments = segments();
+        return segments.isEmpty() ? nextSequence : firstSequenceOf(segments.get(0));
+    }
+
+    /**
+     * Deletes segments whose records are all covered by a checkpoint at {@code sequence}.
+     */
+    public synchronized int truncateThrough(long sequence) throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        List<Path> segments = segments();
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequenceOf(segments.get(i + 1)) - 1 <= sequence) {
+                Files.deleteIfExists(segments.get(i));
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            log.info("Journal truncated segments={} throughSequence={}", deleted, sequence);
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void roll() {
+        buffer.force();
+        try {
+            channel.close();
+            openSegment(nextSequence);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not roll journal segment", ex);
+        }
+        if (meterRegistry != null) {
+            Counter.builder("ticketbooking.journal.segments.rolled").register(meterRegistry).increment();
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        dirty = false;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(long sequence, long timestamp, long eventId, SeatChange change) {
+        ByteBuffer payload;
+        switch (change) {
+            case SeatChange.Held held -> {
+                byte[] holdId = held.holdId().getBytes(StandardCharsets.US_ASCII);
+                payload = header(sequence, timestamp, eventId, HELD, 2 + holdId.length + 8 + 4 + 4 * held.seats().size());
+                putString(payload, holdId);
+                payload.putLong(held.expiresAtMillis());
+                payload.putInt(held.seats().size());
+                held.seats().forEach(payload::putInt);
+            }
+            case SeatChange.HoldExtended extended -> {
+                byte[] holdId = extended.holdId().getBytes(StandardCharsets.US_ASCII);
+                payload = header(sequence, timestamp, eventId, HOLD_EXTENDED, 2 + holdId.length + 8);
+                putString(payload, holdId);
+                payload.putLong(extended.expiresAtMillis());
+            }
+            case SeatChange.Confirmed confirmed -> {
+                byte[] holdId = confirmed.holdId().getBytes(StandardCharsets.US_ASCII);
+                payload = header(sequence, timestamp, eventId, CONFIRMED, 2 + holdId.length + 8);
+                putString(payload, holdId);
+                payload.putLong(confirmed.bookingId());
+            }
+            case SeatChange.HoldReleased released -> {
+                byte[] holdId = released.holdId().getBytes(StandardCharsets.US_ASCII);
+                payload = header(sequence, timestamp, eventId, HOLD_RELEASED, 2 + holdId.length);
+                putString(payload, holdId);
+            }
+            case SeatChange.BookingCanceled canceled -> {
+                payload = header(sequence, timestamp, eventId, BOOKING_CANCELED, 8);
+                payload.putLong(canceled.bookingId());
+            }
+        }
+        return payload.array();
+    }
+
+    private static ByteBuffer header(long sequence, long timestamp, long eventId, byte type, int bodyBytes) {
+        ByteBuffer payload = ByteBuffer.allocate(8 + 8 + 8 + 1 + bodyBytes);
+        payload.putLong(sequence);
+        payload.putLong(timestamp);
+        payload.putLong(eventId);
+        payload.put(type);
+        return payload;
+    }
+
+    private static void putString(ByteBuffer payload, byte[] value) {
+        payload.putShort((short) value.length);
+        payload.put(value);
+    }
+
+    private static String getString(ByteBuffer payload) {
+        byte[] value = new byte[payload.getShort()];
+        payload.get(value);
+        return new String(value, StandardCharsets.US_ASCII);
+    }
+
+    private static RecordView readRecord(ByteBuffer segment, int position) {
+        if (position + RECORD_HEADER_BYTES > segment.limit()) {
+            return null;
+        }
+        int length = segment.getInt(position);
+        if (length <= 0 || position + RECORD_HEADER_BYTES + length > segment.limit()) {
+            return null;
+        }
+        ByteBuffer payload = segment.slice(position + RECORD_HEADER_BYTES, length);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != segment.getInt(position + 4)) {
+            log.warn("Journal checksum mismatch at position={}, treating as end of log", position);
+            return null;
+        }
+
+        long sequence = payload.getLong();
+        payload.getLong();
+        long eventId = payload.getLong();
+        byte type = payload.get();
+        SeatChange change = switch (type) {
+            case HELD -> {
+                String holdId = getString(payload);
+                long expiresAt = payload.getLong();
+                int count = payload.getInt();
+                List<Integer> seats = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    seats.add(payload.getInt());
+                }
+                yield new SeatChange.Held(holdId, seats, expiresAt);
+            }
+            case CONFIRMED -> new SeatChange.Confirmed(getString(payload), payload.getLong());
+            case HOLD_RELEASED -> new SeatChange.HoldReleased(getString(payload));
+            case BOOKING_CANCELED -> new SeatChange.BookingCanceled(payload.getLong());
+            case HOLD_EXTENDED -> new SeatChange.HoldExtended(getString(payload), payload.getLong());
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        };
+        return new RecordView(sequence, eventId, change, position + RECORD_HEADER_BYTES + length);
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, long eventId, SeatChange change);
+    }
+
+    private record RecordView(long sequence, long eventId, SeatChange change, int nextPosition) {
+    }
+}
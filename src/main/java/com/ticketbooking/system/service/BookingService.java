@@ -3,25 +3,44 @@ package com.ticketbooking.system.service;
 import com.ticketbooking.system.dto.*;
 import com.ticketbooking.system.entity.*;
 import com.ticketbooking.system.enums.BookingStatus;
+import com.ticketbooking.system.enums.CheckoutStatus;
 import com.ticketbooking.system.enums.HoldStatus;
+import com.ticketbooking.system.enums.WaitlistStatus;
 import com.ticketbooking.system.exception.ConflictException;
 import com.ticketbooking.system.exception.HoldExpiredException;
 import com.ticketbooking.system.exception.ValidationException;
 import com.ticketbooking.system.exception.NotFoundException;
+import com.ticketbooking.system.exception.ServiceUnavailableException;
 import com.ticketbooking.system.repository.*;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.LockModeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
-    private static final int HOLD_DURATION_MINUTES = 5;
     private static final Logger log = LoggerFactory.getLogger(BookingService.class);
 
     private final EventRepository eventRepository;
@@ -29,42 +48,319 @@ public class BookingService {
     private final SeatHoldItemRepository seatHoldItemRepository;
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
+    private final SeatClaimRepository seatClaimRepository;
+    private final EventConcurrencyControl concurrencyControl;
+    private final ShardRouter shardRouter;
+    private final SeatInventory seatInventory;
+    private final OutboxWriter outboxWriter;
+    private final EventMailboxes eventMailboxes;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final BookingCancellationRepository bookingCancellationRepository;
+    private final BookingArchive bookingArchive;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final JobLeases jobLeases;
+    private final CacheInvalidations cacheInvalidations;
+    private final SeatMaps seatMaps;
+    private final PaymentPort paymentPort;
+    private final Duration defaultHoldTtl;
+    private final int maxHoldExtensions;
+    private final Duration maxHoldLifetime;
+    private final int waitlistScanLimit;
+    private final Duration paymentTimeout;
+    private final Duration paymentStaleAfter;
+    private final int finalizeAttempts;
+    private final Duration finalizeMaxBackoff;
+    private final ScheduledThreadPoolExecutor checkoutFinalizer;
 
     public BookingService(EventRepository eventRepository,
                           SeatHoldRepository seatHoldRepository,
                           SeatHoldItemRepository seatHoldItemRepository,
                           BookingRepository bookingRepository,
-                          BookingSeatRepository bookingSeatRepository) {
+                          BookingSeatRepository bookingSeatRepository,
+                          SeatClaimRepository seatClaimRepository,
+                          EventConcurrencyControl concurrencyControl,
+                          ShardRouter shardRouter,
+                          SeatInventory seatInventory,
+                          OutboxWriter outboxWriter,
+                          EventMailboxes eventMailboxes,
+                          WaitlistEntryRepository waitlistEntryRepository,
+                          BookingCancellationRepository bookingCancellationRepository,
+                          BookingArchive bookingArchive,
+                          ConcurrencyLimiter concurrencyLimiter,
+                          JobLeases jobLeases,
+                          CacheInvalidations cacheInvalidations,
+                          SeatMaps seatMaps,
+                          PaymentPort paymentPort,
+                          @Value("${ticketbooking.holds.default-ttl:5m}") Duration defaultHoldTtl,
+                          @Value("${ticketbooking.holds.max-extensions:2}") int maxHoldExtensions,
+                          @Value("${ticketbooking.holds.max-lifetime:15m}") Duration maxHoldLifetime,
+                          @Value("${ticketbooking.waitlist.scan-limit:100}") int waitlistScanLimit,
+                          @Value("${ticketbooking.payment.timeout:2m}") Duration paymentTimeout,
+                          @Value("${ticketbooking.payment.stale-after:30s}") Duration paymentStaleAfter,
+                          @Value("${ticketbooking.payment.finalizer-threads:4}") int finalizerThreads,
+                          @Value("${ticketbooking.payment.finalize-attempts:10}") int finalizeAttempts,
+                          @Value("${ticketbooking.payment.finalize-max-backoff:5s}") Duration finalizeMaxBackoff) {
         this.eventRepository = eventRepository;
         this.seatHoldRepository = seatHoldRepository;
         this.seatHoldItemRepository = seatHoldItemRepository;
         this.bookingRepository = bookingRepository;
         this.bookingSeatRepository = bookingSeatRepository;
+        this.seatClaimRepository = seatClaimRepository;
+        this.concurrencyControl = concurrencyControl;
+        this.shardRouter = shardRouter;
+        this.seatInventory = seatInventory;
+        this.outboxWriter = outboxWriter;
+        this.eventMailboxes = eventMailboxes;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.bookingCancellationRepository = bookingCancellationRepository;
+        this.bookingArchive = bookingArchive;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.jobLeases = jobLeases;
+        this.cacheInvalidations = cacheInvalidations;
+        this.seatMaps = seatMaps;
+        this.paymentPort = paymentPort;
+        this.defaultHoldTtl = defaultHoldTtl;
+        this.maxHoldExtensions = maxHoldExtensions;
+        this.maxHoldLifetime = maxHoldLifetime;
+        this.waitlistScanLimit = Math.max(1, waitlistScanLimit);
+        this.paymentTimeout = paymentTimeout;
+        this.paymentStaleAfter = paymentStaleAfter;
+        this.finalizeAttempts = Math.max(1, finalizeAttempts);
+        this.finalizeMaxBackoff = finalizeMaxBackoff;
+        // Unbounded queue: it holds at most one task per checkout in flight, each backed by a PAYMENT_PENDING hold.
+        this.checkoutFinalizer = new ScheduledThreadPoolExecutor(Math.max(1, finalizerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "checkout-finalizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Retries still waiting at shutdown are left to the stale checkout recovery.
+        this.checkoutFinalizer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkoutFinalizer.shutdown();
     }
 
-    @Transactional
     public HoldResponse holdSeats(Long eventId, HoldSeatsRequest request) {
+        return await(holdSeatsAsync(eventId, request));
+    }
+
+    /**
+     * Completes on the calling thread unless the actor execution mode is active, in which case the hold runs on
+     * the event's mailbox.
+     */
+    public CompletableFuture<HoldResponse> holdSeatsAsync(Long eventId, HoldSeatsRequest request) {
         int seatCount = request.seatNumbers() == null ? 0 : request.seatNumbers().size();
         log.info("Processing hold seats eventId={} userId={} seatCount={}", eventId, request.userId(), seatCount);
-        Event event = eventRepository.findByIdForUpdate(eventId)
-                .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
+        return executeForEvent("hold", eventId, lockMode -> doHoldSeats(eventId, request, lockMode));
+    }
+
+    public BookingResponse confirmBooking(ConfirmBookingRequest request) {
+        return await(confirmBookingAsync(request));
+    }
+
+    public CompletableFuture<BookingResponse> confirmBookingAsync(ConfirmBookingRequest request) {
+        return confirmBookingAsync(request, eventId -> Optional.empty());
+    }
+
+    /**
+     * The hold's event is looked up once and handed to {@code remote}; a value it returns answers the request
+     * instead of confirming here. The controller forwards to the owning node this way, and the same pattern is
+     * used by the other hold- and booking-scoped entry points below.
+     */
+    public CompletableFuture<BookingResponse> confirmBookingAsync(ConfirmBookingRequest request,
+                                                                  Function<Long, Optional<BookingResponse>> remote) {
+        log.info("Processing confirm booking holdId={}", request.holdId());
+        return routed("confirm", () -> findEventIdForHold(request.holdId()), remote, eventId ->
+                runForEvent("confirm", eventId, lockMode -> doConfirmBooking(request, eventId, lockMode)));
+    }
+
+    public CompletableFuture<HoldResponse> releaseHoldAsync(String holdId) {
+        return releaseHoldAsync(holdId, eventId -> Optional.empty());
+    }
+
+    public CompletableFuture<HoldResponse> releaseHoldAsync(String holdId, Function<Long, Optional<HoldResponse>> remote) {
+        log.info("Processing release hold holdId={}", holdId);
+        return routed("release", () -> findEventIdForHold(holdId), remote, eventId ->
+                runForEvent("release", eventId, lockMode -> doReleaseHold(holdId, eventId, lockMode)));
+    }
+
+    public CompletableFuture<HoldResponse> extendHoldAsync(String holdId) {
+        return extendHoldAsync(holdId, eventId -> Optional.empty());
+    }
+
+    public CompletableFuture<HoldResponse> extendHoldAsync(String holdId, Function<Long, Optional<HoldResponse>> remote) {
+        log.info("Processing extend hold holdId={}", holdId);
+        return routed("extend", () -> findEventIdForHold(holdId), remote, eventId ->
+                runForEvent("extend", eventId, lockMode -> doExtendHold(holdId, eventId, lockMode)));
+    }
+
+    private <T> CompletableFuture<T> executeForEvent(String operation, Long eventId, Function<LockModeType, T> work) {
+        return limited(operation, () -> runForEvent(operation, eventId, work));
+    }
+
+    /**
+     * Looks up the event, then either lets {@code remote} answer (the owning node's limiter admits the forwarded
+     * call) or runs {@code local} under a slot of this node's limiter. No slot is held while a request is
+     * forwarded.
+     */
+    private <T> CompletableFuture<T> routed(String operation, Supplier<Long> eventLookup,
+                                            Function<Long, Optional<T>> remote,
+                                            Function<Long, CompletableFuture<T>> local) {
+        Long eventId;
+        Optional<T> forwarded;
+        try {
+            eventId = eventLookup.get();
+            forwarded = remote.apply(eventId);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return forwarded.map(CompletableFuture::completedFuture)
+                .orElseGet(() -> limited(operation, () -> local.apply(eventId)));
+    }
+
+    /**
+     * Takes a slot from the concurrency limiter before {@code action} touches the database and fails fast with a
+     * 503 when none is free; the slot is held until the returned future completes. Only holds, confirms and
+     * checkouts are limited, for other operations this just runs {@code action}.
+     */
+    private <T> CompletableFuture<T> limited(String operation, Supplier<CompletableFuture<T>> action) {
+        ConcurrencyLimiter.Permit permit;
+        try {
+            permit = concurrencyLimiter.acquire(operation);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        return result.whenComplete((value, failure) -> permit.release());
+    }
+
+    /**
+     * Runs an event-scoped mutation on the event's mailbox in actor mode, otherwise on the calling thread under
+     * the configured locking strategy. Successful mutations force this node's seat map to be rebuilt on its next
+     * read and are announced to the other nodes' caches.
+     */
+    private <T> CompletableFuture<T> runForEvent(String operation, Long eventId, Function<LockModeType, T> work) {
+        CompletableFuture<T> result;
+        if (eventMailboxes.isEnabled()) {
+            result = eventMailboxes.submit(operation, eventId, () -> work.apply(LockModeType.NONE));
+        } else {
+            result = completed(() -> shardRouter.inShard(shardRouter.shardForEvent(eventId), () ->
+                    concurrencyControl.execute(operation, eventId, work)));
+        }
+        return result.whenComplete((value, failure) -> {
+            if (failure == null) {
+                seatsChanged(eventId);
+            }
+        });
+    }
+
+    private void seatsChanged(Long eventId) {
+        seatMaps.invalidate(eventId);
+        cacheInvalidations.seatsChanged(eventId);
+    }
+
+    public Long findEventIdForHold(String holdId) {
+        return shardRouter.findFirst(() -> seatHoldRepository.findEventIdByHoldId(holdId))
+                .orElseThrow(() -> new NotFoundException("Hold not found: " + holdId));
+    }
+
+    public Long findEventIdForBooking(Long bookingId) {
+        return shardRouter.read(shardRouter.shardForBooking(bookingId), () -> bookingRepository.findEventIdByBookingId(bookingId))
+                .orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
+    }
+
+    private HoldResponse doHoldSeats(Long eventId, HoldSeatsRequest request, LockModeType lockMode) {
+        Event event = lockOpenEvent(eventId, lockMode);
 
         List<Integer> seats = normalizeAndValidateSeats(request.seatNumbers(), event.getTotalSeats());
-        Set<Integer> occupied = getOccupiedSeats(eventId);
+        if (Boolean.TRUE.equals(request.partial())) {
+            return holdAvailableSeats(event, request, seats);
+        }
+        if (seatInventory.isEnabled()) {
+            Integer taken = seatInventory.stateFor(eventId).firstUnavailable(seats, System.currentTimeMillis());
+            if (taken != null) {
+                throw new ConflictException("Seat " + taken + " is not available");
+            }
+        } else if (lockMode != LockModeType.NONE) {
+            Set<Integer> occupied = getOccupiedSeats(eventId);
+            for (Integer seat : seats) {
+                if (occupied.contains(seat)) {
+                    throw new ConflictException("Seat " + seat + " is not available");
+                }
+            }
+        }
+
+        SeatHold saved = createHold(event, request.userId(), seats, LocalDateTime.now());
+        log.info("Hold created holdId={} eventId={} userId={}", saved.getId(), eventId, saved.getUserId());
+        return toHoldResponse(saved);
+    }
 
-        for (Integer seat : seats) {
-            if (occupied.contains(seat)) {
-                throw new ConflictException("Seat " + seat + " is not available");
+    /**
+     * Partial mode: holds the requested seats that are still free (or, with {@code adjacent}, the longest run of
+     * consecutive free seats among them) and reports the rest as failed. Seats taken by a concurrent writer
+     * between the check and the claim insert still fail the whole request, as in the normal mode.
+     */
+    private HoldResponse holdAvailableSeats(Event event, HoldSeatsRequest request, List<Integer> seats) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Integer> taken;
+        if (seatInventory.isEnabled()) {
+            EventSeatState state = seatInventory.stateFor(event.getId());
+            long nowMillis = SeatInventory.toMillis(now);
+            taken = seats.stream().filter(seat -> state.stateOf(seat, nowMillis) != EventSeatState.FREE).collect(Collectors.toSet());
+        } else {
+            taken = new HashSet<>(seatClaimRepository.findClaimedSeatNumbersAmong(event.getId(), seats, now));
+        }
+        List<Integer> free = seats.stream().filter(seat -> !taken.contains(seat)).sorted().toList();
+        List<Integer> selected = Boolean.TRUE.equals(request.adjacent()) ? longestRun(free) : free;
+        int minSeats = request.minSeats() != null ? request.minSeats() : 1;
+        if (selected.size() < minSeats || selected.isEmpty()) {
+            throw new ConflictException("Only " + selected.size() + " of the requested seats can be held"
+                    + (Boolean.TRUE.equals(request.adjacent()) ? " together" : "") + "; at least " + minSeats + " required");
+        }
+
+        SeatHold saved = createHold(event, request.userId(), selected, now);
+        List<Integer> failed = seats.stream().filter(seat -> !selected.contains(seat)).sorted().toList();
+        log.info("Partial hold created holdId={} eventId={} userId={} held={} failed={}",
+                saved.getId(), event.getId(), saved.getUserId(), selected.size(), failed.size());
+        HoldResponse response = toHoldResponse(saved);
+        return new HoldResponse(response.holdId(), response.eventId(), response.userId(), response.expiresAt(),
+                response.seats(), failed);
+    }
+
+    private static List<Integer> longestRun(List<Integer> sortedSeats) {
+        int bestStart = 0;
+        int bestLength = 0;
+        int start = 0;
+        for (int i = 1; i <= sortedSeats.size(); i++) {
+            if (i == sortedSeats.size() || sortedSeats.get(i) != sortedSeats.get(i - 1) + 1) {
+                if (i - start > bestLength) {
+                    bestStart = start;
+                    bestLength = i - start;
+                }
+                start = i;
             }
         }
+        return sortedSeats.subList(bestStart, bestStart + bestLength);
+    }
 
+    private SeatHold createHold(Event event, String userId, List<Integer> seats, LocalDateTime now) {
         SeatHold hold = new SeatHold();
         hold.setId(UUID.randomUUID().toString());
         hold.setEvent(event);
-        hold.setUserId(request.userId());
+        hold.setUserId(userId);
         hold.setStatus(HoldStatus.ACTIVE);
-        hold.setCreatedAt(LocalDateTime.now());
-        hold.setExpiresAt(LocalDateTime.now().plusMinutes(HOLD_DURATION_MINUTES));
+        hold.setCreatedAt(now);
+        hold.setExpiresAt(now.plus(holdTtl(event)));
+        claimSeats(event.getId(), hold.getId(), seats, now, hold.getExpiresAt());
+        long expiresAtMillis = SeatInventory.toMillis(hold.getExpiresAt());
+        seatInventory.afterCommit(event.getId(), new SeatChange.Held(hold.getId(), seats, expiresAtMillis));
 
         List<SeatHoldItem> items = new ArrayList<>();
         for (Integer seatNumber : seats) {
@@ -76,36 +372,43 @@ public class BookingService {
         hold.setSeats(items);
 
         SeatHold saved = seatHoldRepository.save(hold);
-        log.info("Hold created holdId={} eventId={} userId={}", saved.getId(), eventId, saved.getUserId());
-        return toHoldResponse(saved);
+        outboxWriter.holdCreated(event.getId(), saved, seats);
+        return saved;
     }
 
-    @Transactional
-    public BookingResponse confirmBooking(ConfirmBookingRequest request) {
-        log.info("Processing confirm booking holdId={}", request.holdId());
-        SeatHold hold = seatHoldRepository.findById(request.holdId())
+    private BookingResponse doConfirmBooking(ConfirmBookingRequest request, Long eventId, LockModeType lockMode) {
+        Event event = lockOpenEvent(eventId, lockMode);
+        SeatHold hold = seatHoldRepository.findWithSeatsById(request.holdId())
                 .orElseThrow(() -> new NotFoundException("Hold not found: " + request.holdId()));
 
-        Event event = eventRepository.findByIdForUpdate(hold.getEvent().getId())
-                .orElseThrow(() -> new NotFoundException("Event not found: " + hold.getEvent().getId()));
-
+        if (hold.getStatus() == HoldStatus.PAYMENT_PENDING) {
+            throw new ConflictException("Payment already in progress for this hold");
+        }
         if (hold.getStatus() != HoldStatus.ACTIVE || hold.getExpiresAt().isBefore(LocalDateTime.now())) {
             hold.setStatus(HoldStatus.EXPIRED);
             throw new HoldExpiredException("Hold is expired or not active");
         }
 
         if (bookingRepository.existsByHoldIdAndUserIdAndStatus(request.holdId(), hold.getUserId(), BookingStatus.CONFIRMED)) {
-            System.out.println(event.getId() + hold.getUserId());
+            log.debug("Duplicate confirm rejected eventId={} holdId={} userId={}", eventId, hold.getId(), hold.getUserId());
             throw new ConflictException("User already has a confirmed booking for this event");
         }
 
-        Set<Integer> currentlyBookedSeats = new HashSet<>(bookingSeatRepository
-                .findSeatNumbersForBookingStatus(event.getId(), BookingStatus.CONFIRMED));
-        List<Integer> holdSeatNumbers = hold.getSeats().stream().map(SeatHoldItem::getSeatNumber).toList();
+        return toBookingResponse(createBooking(event, hold, eventId, lockMode));
+    }
 
-        for (Integer seat : holdSeatNumbers) {
-            if (currentlyBookedSeats.contains(seat)) {
-                throw new ConflictException("Seat " + seat + " got booked while confirming. Please retry.");
+    /**
+     * Turns a hold into a confirmed booking, moving its seat claims to the booking.
+     */
+    private Booking createBooking(Event event, SeatHold hold, Long eventId, LockModeType lockMode) {
+        List<Integer> holdSeatNumbers = hold.getSeats().stream().map(SeatHoldItem::getSeatNumber).toList();
+        if (lockMode != LockModeType.NONE && !seatInventory.isEnabled()) {
+            Set<Integer> currentlyBookedSeats = new HashSet<>(bookingSeatRepository
+                    .findSeatNumbersForBookingStatus(event.getId(), BookingStatus.CONFIRMED));
+            for (Integer seat : holdSeatNumbers) {
+                if (currentlyBookedSeats.contains(seat)) {
+                    throw new ConflictException("Seat " + seat + " got booked while confirming. Please retry.");
+                }
             }
         }
 
@@ -126,50 +429,651 @@ public class BookingService {
         booking.setSeats(bookingSeats);
 
         Booking savedBooking = bookingRepository.save(booking);
+        if (seatClaimRepository.transferToBooking(hold.getId(), savedBooking.getId()) != holdSeatNumbers.size()) {
+            throw new ConflictException("Held seats were claimed by another request while confirming. Please retry.");
+        }
         hold.setStatus(HoldStatus.CONFIRMED);
+        seatInventory.afterCommit(eventId, new SeatChange.Confirmed(hold.getId(), savedBooking.getId()));
+        outboxWriter.bookingConfirmed(eventId, savedBooking, holdSeatNumbers);
         log.info("Booking confirmed bookingId={} holdId={} userId={}", savedBooking.getId(), hold.getId(), hold.getUserId());
+        return savedBooking;
+    }
+
+    /**
+     * First phase of a paid confirmation: marks the hold {@code PAYMENT_PENDING}, keeps its seats for at least
+     * {@code payment.timeout}, and returns at once. Payment is authorized after this transaction commits, without
+     * any lock held; {@link #finishCheckout} then books or releases the hold in a second short transaction.
+     */
+    public CompletableFuture<CheckoutResponse> checkoutAsync(ConfirmBookingRequest request) {
+        return checkoutAsync(request, eventId -> Optional.empty());
+    }
+
+    public CompletableFuture<CheckoutResponse> checkoutAsync(ConfirmBookingRequest request,
+                                                             Function<Long, Optional<CheckoutResponse>> remote) {
+        log.info("Processing checkout holdId={}", request.holdId());
+        return routed("checkout", () -> findEventIdForHold(request.holdId()), remote, eventId ->
+                runForEvent("checkout", eventId, lockMode -> doStartCheckout(request.holdId(), eventId, lockMode))
+                        .thenApply(payment -> {
+                            authorize(payment);
+                            return new CheckoutResponse(payment.holdId(), eventId, CheckoutStatus.PAYMENT_PENDING,
+                                    null, null, null);
+                        }));
+    }
+
+    public CheckoutResponse checkoutStatus(String holdId) {
+        return shardRouter.findFirst(() -> seatHoldRepository.findById(holdId).map(hold -> {
+                    CheckoutStatus status = switch (hold.getStatus()) {
+                        case ACTIVE -> throw new NotFoundException("No checkout started for hold: " + holdId);
+                        case PAYMENT_PENDING -> CheckoutStatus.PAYMENT_PENDING;
+                        case CONFIRMED -> CheckoutStatus.CONFIRMED;
+                        case EXPIRED, RELEASED -> CheckoutStatus.FAILED;
+                    };
+                    Long bookingId = status == CheckoutStatus.CONFIRMED
+                            ? bookingRepository.findIdByHoldIdAndStatus(holdId, BookingStatus.CONFIRMED).orElse(null)
+                            : null;
+                    String failure = status != CheckoutStatus.FAILED ? null
+                            : hold.getPaymentFailure() != null ? hold.getPaymentFailure() : "Hold " + hold.getStatus().name().toLowerCase(Locale.ROOT);
+                    return new CheckoutResponse(holdId, hold.getEvent().getId(), status, bookingId, hold.getPaymentReference(), failure);
+                }))
+                .orElseThrow(() -> new NotFoundException("Hold not found: " + holdId));
+    }
+
+    private PaymentPort.PaymentRequest doStartCheckout(String holdId, Long eventId, LockModeType lockMode) {
+        lockOpenEvent(eventId, lockMode);
+        SeatHold hold = seatHoldRepository.findWithSeatsById(holdId)
+                .orElseThrow(() -> new NotFoundException("Hold not found: " + holdId));
+        LocalDateTime now = LocalDateTime.now();
+        if (hold.getStatus() == HoldStatus.PAYMENT_PENDING) {
+            throw new ConflictException("Payment already in progress for this hold");
+        }
+        if (hold.getStatus() != HoldStatus.ACTIVE || hold.getExpiresAt().isBefore(now)) {
+            throw new HoldExpiredException("Hold is expired or not active");
+        }
+
+        LocalDateTime pendingUntil = now.plus(paymentTimeout);
+        boolean extended = pendingUntil.isAfter(hold.getExpiresAt());
+        LocalDateTime claimedUntil = extended ? pendingUntil : hold.getExpiresAt();
+        requireHoldClaims(hold, seatClaimRepository.extendHoldClaims(holdId, claimedUntil), "starting checkout");
+        if (extended) {
+            hold.setExpiresAt(pendingUntil);
+            seatInventory.afterCommit(eventId, new SeatChange.HoldExtended(holdId, SeatInventory.toMillis(pendingUntil)));
+        }
+        hold.setStatus(HoldStatus.PAYMENT_PENDING);
+        hold.setPaymentStartedAt(now);
+        hold.setPaymentReference(null);
+        hold.setPaymentFailure(null);
+        log.info("Checkout started holdId={} userId={} pendingUntil={}", holdId, hold.getUserId(), hold.getExpiresAt());
+        return new PaymentPort.PaymentRequest(holdId, eventId, hold.getUserId(), hold.getSeats().size());
+    }
+
+    /**
+     * Hands the outcome to {@link #finishCheckout} on the finalizer pool, never on the thread that completed the
+     * payment; the pool's queue is unbounded, so an outcome is never pushed back onto that thread. A port that throws instead of returning a failed future is treated as a declined authorization.
+     */
+    private void authorize(PaymentPort.PaymentRequest payment) {
+        CompletableFuture<PaymentPort.PaymentResult> authorization;
+        try {
+            authorization = paymentPort.authorize(payment);
+        } catch (RuntimeException ex) {
+            authorization = CompletableFuture.failedFuture(ex);
+        }
+        authorization.whenCompleteAsync((result, failure) -> finishCheckout(payment, result, failure), checkoutFinalizer);
+    }
+
+    /**
+     * Second phase: books the hold if payment was approved and the hold is still pending, otherwise releases it.
+     */
+    private void finishCheckout(PaymentPort.PaymentRequest payment, PaymentPort.PaymentResult result, Throwable failure) {
+        PaymentPort.PaymentResult outcome = failure == null ? result
+                : PaymentPort.PaymentResult.declined(null, "Payment authorization failed");
+        if (failure != null) {
+            log.warn("Payment authorization failed holdId={}", payment.holdId(), failure);
+        }
+        finalizeCheckout(payment, outcome, 1);
+    }
+
+    /**
+     * A temporary rejection (a full mailbox, a lock or connection failure) says nothing about the hold, so it is
+     * retried on the finalizer pool with exponential backoff and the payment is left alone; after
+     * {@code finalize-attempts} the hold stays {@code PAYMENT_PENDING} for {@link #recoverStaleCheckouts}. An
+     * approved payment is voided only when the hold is gone, no longer pending or timed out, or when its seats
+     * could not be booked.
+     */
+    private void finalizeCheckout(PaymentPort.PaymentRequest payment, PaymentPort.PaymentResult outcome, int attempt) {
+        executeForEvent("finalize", payment.eventId(), lockMode -> doFinishCheckout(payment.holdId(), payment.eventId(), outcome, lockMode))
+                .whenCompleteAsync((booked, ex) -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause != null && isTemporary(cause)) {
+                        if (attempt >= finalizeAttempts) {
+                            log.warn("Checkout left pending for recovery holdId={} attempts={}", payment.holdId(), attempt, cause);
+                            return;
+                        }
+                        long backoffMs = Math.min(finalizeMaxBackoff.toMillis(), 100L << Math.min(attempt - 1, 16));
+                        log.info("Checkout finalize rejected, retrying holdId={} attempt={} backoffMs={} reason={}",
+                                payment.holdId(), attempt, backoffMs, cause.getMessage());
+                        checkoutFinalizer.schedule(() -> finalizeCheckout(payment, outcome, attempt + 1), backoffMs, TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                    if (!outcome.approved() || Boolean.TRUE.equals(booked)) {
+                        return;
+                    }
+                    paymentPort.voidAuthorization(outcome.reference());
+                    if (cause != null) {
+                        log.warn("Booking after approved payment failed holdId={}", payment.holdId(), cause);
+                        finalizeCheckout(payment, PaymentPort.PaymentResult.declined(outcome.reference(), "Seats could not be booked"), 1);
+                    }
+                }, checkoutFinalizer);
+    }
+
+    private static boolean isTemporary(Throwable failure) {
+        return failure instanceof ServiceUnavailableException
+                || failure instanceof TransientDataAccessException
+                || failure instanceof RecoverableDataAccessException
+                || failure instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * Finishes checkouts whose node stopped between the two phases. A hold still {@code PAYMENT_PENDING}
+     * {@code payment.stale-after} after its checkout started is authorized again under the same hold id, and the
+     * outcome goes through {@link #finishCheckout} as usual: booked if approved and still within the payment
+     * timeout, otherwise voided and released. Runs soon after startup and then well inside the payment timeout,
+     * so a pending hold is settled before the expiry sweep would take its seats back.
+     */
+    @Scheduled(initialDelayString = "${ticketbooking.payment.recovery-initial-delay-ms:5000}",
+            fixedDelayString = "${ticketbooking.payment.recovery-interval-ms:15000}")
+    public void recoverStaleCheckouts() {
+        jobLeases.runIfLeader("checkout-recovery", this::resumeStaleCheckouts);
+    }
+
+    private void resumeStaleCheckouts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(paymentStaleAfter);
+        List<PaymentPort.PaymentRequest> stale = shardRouter.readAll(() ->
+                seatHoldRepository.findByStatusAndPaymentStartedAtBefore(HoldStatus.PAYMENT_PENDING, cutoff).stream()
+                        .map(hold -> new PaymentPort.PaymentRequest(hold.getId(), hold.getEvent().getId(),
+                                hold.getUserId(), hold.getSeats().size()))
+                        .toList());
+        for (PaymentPort.PaymentRequest payment : stale) {
+            jobLeases.checkFence();
+            log.info("Resuming stale checkout holdId={} eventId={}", payment.holdId(), payment.eventId());
+            authorize(payment);
+        }
+    }
+
+    private boolean doFinishCheckout(String holdId, Long eventId, PaymentPort.PaymentResult outcome, LockModeType lockMode) {
+        Event event = lockEvent(eventId, lockMode);
+        SeatHold hold = seatHoldRepository.findWithSeatsById(holdId).orElse(null);
+        if (hold != null && hold.getStatus() == HoldStatus.CONFIRMED && outcome.approved()
+                && Objects.equals(outcome.reference(), hold.getPaymentReference())) {
+            // The same authorization was finalized already, e.g. by the stale checkout sweep.
+            return true;
+        }
+        if (hold == null || hold.getStatus() != HoldStatus.PAYMENT_PENDING) {
+            log.warn("Payment finished for a hold that is no longer pending holdId={} status={}",
+                    holdId, hold == null ? null : hold.getStatus());
+            return false;
+        }
+        if (outcome.reference() != null) {
+            hold.setPaymentReference(outcome.reference());
+        }
+        if (outcome.approved() && hold.getExpiresAt().isBefore(LocalDateTime.now())) {
+            outcome = PaymentPort.PaymentResult.declined(outcome.reference(), "Payment timed out");
+        }
+        if (!outcome.approved()) {
+            hold.setStatus(HoldStatus.RELEASED);
+            hold.setPaymentFailure(outcome.declineReason());
+            seatClaimRepository.deleteHoldClaims(List.of(holdId));
+            seatInventory.afterCommit(eventId, new SeatChange.HoldReleased(holdId));
+            outboxWriter.holdReleased(hold);
+            log.info("Checkout failed, hold released holdId={} reason={}", holdId, outcome.declineReason());
+            allocateWaitlistInline(event, lockMode);
+            return false;
+        }
+        createBooking(event, hold, eventId, lockMode);
+        return true;
+    }
+
+    private HoldResponse doReleaseHold(String holdId, Long eventId, LockModeType lockMode) {
+        Event event = lockEvent(eventId, lockMode);
+        SeatHold hold = seatHoldRepository.findWithSeatsById(holdId)
+                .orElseThrow(() -> new NotFoundException("Hold not found: " + holdId));
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new ConflictException("Hold is not active");
+        }
+
+        requireHoldClaims(hold, seatClaimRepository.deleteHoldClaims(List.of(holdId)), "releasing");
+        hold.setStatus(HoldStatus.RELEASED);
+        seatInventory.afterCommit(eventId, new SeatChange.HoldReleased(holdId));
+        outboxWriter.holdReleased(hold);
+        log.info("Hold released holdId={} eventId={}", holdId, eventId);
+        allocateWaitlistInline(event, lockMode);
+        return toHoldResponse(hold);
+    }
+
+    /**
+     * {@code SeatHold} has no version, and in CLAIM mode nothing locks the event, so a hold's claim rows are what
+     * serializes changes to it: updating or deleting them takes their row locks, and once a concurrent confirm,
+     * release or expiry has moved or removed them, fewer rows than the hold has seats are left under its id.
+     * Must run before the hold itself is modified.
+     */
+    private static void requireHoldClaims(SeatHold hold, int claimRows, String action) {
+        if (claimRows != hold.getSeats().size()) {
+            throw new ConflictException("Hold was changed by another request while " + action + ". Please retry.");
+        }
+    }
+
+    /**
+     * Pushes the expiry to one TTL from now, at most {@code max-extensions} times and never beyond
+     * {@code max-lifetime} after the hold was created.
+     */
+    private HoldResponse doExtendHold(String holdId, Long eventId, LockModeType lockMode) {
+        Event event = lockOpenEvent(eventId, lockMode);
+        SeatHold hold = seatHoldRepository.findWithSeatsById(holdId)
+                .orElseThrow(() -> new NotFoundException("Hold not found: " + holdId));
+        LocalDateTime now = LocalDateTime.now();
+        if (hold.getStatus() != HoldStatus.ACTIVE || hold.getExpiresAt().isBefore(now)) {
+            throw new HoldExpiredException("Hold is expired or not active");
+        }
+        if (hold.getExtensionCount() >= maxHoldExtensions) {
+            throw new ConflictException("Hold extension limit reached");
+        }
+        LocalDateTime extendedUntil = now.plus(holdTtl(event));
+        LocalDateTime lifetimeLimit = hold.getCreatedAt().plus(maxHoldLifetime);
+        if (extendedUntil.isAfter(lifetimeLimit)) {
+            extendedUntil = lifetimeLimit;
+        }
+        if (!extendedUntil.isAfter(hold.getExpiresAt())) {
+            throw new ConflictException("Hold has reached its maximum lifetime");
+        }
 
-        return toBookingResponse(savedBooking);
+        requireHoldClaims(hold, seatClaimRepository.extendHoldClaims(holdId, extendedUntil), "extending");
+        hold.setExpiresAt(extendedUntil);
+        hold.setExtensionCount(hold.getExtensionCount() + 1);
+        seatInventory.afterCommit(eventId, new SeatChange.HoldExtended(holdId, SeatInventory.toMillis(extendedUntil)));
+        log.info("Hold extended holdId={} expiresAt={} extensions={}", holdId, extendedUntil, hold.getExtensionCount());
+        return toHoldResponse(hold);
     }
 
+    private Duration holdTtl(Event event) {
+        return event.getHoldTtlSeconds() != null ? Duration.ofSeconds(event.getHoldTtlSeconds()) : defaultHoldTtl;
+    }
 
-    @Transactional(readOnly = true)
     public BookingsSummaryResponse listBookings() {
         log.info("Listing bookings with holds summary");
-        List<BookingWithHoldsResponse> bookings = bookingRepository.findAll().stream()
-                .map(this::toBookingWithHoldsResponse)
+        List<BookingWithHoldsResponse> bookings = shardRouter.readAll(() -> toBookingWithHoldsResponses(bookingRepository.findAll()))
+                .stream()
+                .sorted(Comparator.comparing(BookingWithHoldsResponse::bookingId))
                 .toList();
         List<HoldResponse> holds = listHolds(null, null);
         return new BookingsSummaryResponse(bookings, holds);
     }
 
-    @Transactional(readOnly = true)
     public BookingWithHoldsResponse viewBooking(Long bookingId) {
         log.info("Viewing booking bookingId={}", bookingId);
-        Booking booking = bookingRepository.findById(bookingId)
+        return shardRouter.read(shardRouter.shardForBooking(bookingId), () -> bookingRepository.findById(bookingId)
+                        .map(booking -> toBookingWithHoldsResponses(List.of(booking)).get(0)))
+                .or(() -> bookingArchive.findBooking(bookingId))
                 .orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
-        return toBookingWithHoldsResponse(booking);
     }
 
-    @Transactional
+    /**
+     * Any hold, live or archived; archived holds are only found after a second lookup in the archive tables.
+     */
+    public HoldResponse viewHold(String holdId) {
+        log.info("Viewing hold holdId={}", holdId);
+        return shardRouter.findFirst(() -> seatHoldRepository.findById(holdId).map(this::toHoldResponse))
+                .or(() -> bookingArchive.findHold(holdId))
+                .orElseThrow(() -> new NotFoundException("Hold not found: " + holdId));
+    }
+
     public BookingResponse cancelBooking(Long bookingId) {
+        return await(cancelBookingAsync(bookingId));
+    }
+
+    public CompletableFuture<BookingResponse> cancelBookingAsync(Long bookingId) {
+        return cancelBookingAsync(bookingId, eventId -> Optional.empty());
+    }
+
+    public CompletableFuture<BookingResponse> cancelBookingAsync(Long bookingId, Function<Long, Optional<BookingResponse>> remote) {
         log.info("Canceling booking bookingId={}", bookingId);
+        return routed("cancel", () -> findEventIdForBooking(bookingId), remote, eventId ->
+                runForEvent("cancel", eventId, lockMode -> doCancelBooking(bookingId, eventId, lockMode)));
+    }
+
+    private BookingResponse doCancelBooking(Long bookingId, Long eventId, LockModeType lockMode) {
+        Event event = lockEvent(eventId, lockMode);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
 
-        if (booking.getStatus() == BookingStatus.CANCELED) {
+        // Conditional, so that a concurrent cancel cannot also pass when the event row is not locked (CLAIM mode).
+        LocalDateTime now = LocalDateTime.now();
+        if (booking.getStatus() == BookingStatus.CANCELED
+                || bookingRepository.cancelAll(List.of(bookingId), BookingStatus.CONFIRMED, BookingStatus.CANCELED, now) == 0) {
             throw new ConflictException("Booking already canceled");
         }
 
         booking.setStatus(BookingStatus.CANCELED);
-        booking.setCanceledAt(LocalDateTime.now());
+        booking.setCanceledAt(now);
+        seatClaimRepository.releaseBooking(booking.getId());
+        seatInventory.afterCommit(eventId, new SeatChange.BookingCanceled(bookingId));
+        outboxWriter.bookingCanceled(booking);
         log.info("Booking canceled bookingId={}", booking.getId());
+        allocateWaitlistInline(event, lockMode);
         return toBookingResponse(booking);
     }
 
-    @Transactional(readOnly = true)
     public List<HoldResponse> listHolds(Long eventId, String userId) {
         log.info("Listing holds eventId={} userId={}", eventId, userId);
+        if (eventId != null) {
+            return shardRouter.read(shardRouter.shardForEvent(eventId), () -> findActiveHolds(eventId, userId));
+        }
+        return shardRouter.readAll(() -> findActiveHolds(null, userId));
+    }
+
+    public List<AvailabilityResponse> availabilityAll() {
+        return shardRouter.readAll(() -> eventRepository.findAll().stream()
+                        .map(event -> toAvailability(event.getId(), event))
+                        .toList())
+                .stream()
+                .sorted(Comparator.comparing(AvailabilityResponse::eventId))
+                .toList();
+    }
+
+    public AvailabilityResponse availability(Long eventId) {
+        return shardRouter.read(shardRouter.shardForEvent(eventId), () -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
+            return toAvailability(eventId, event);
+        });
+    }
+
+    @Scheduled(fixedDelay = 30000)
+    public void releaseExpiredHolds() {
+        jobLeases.runIfLeader("expire-holds", this::expireHolds);
+    }
+
+    private void expireHolds() {
+        if (eventMailboxes.isEnabled()) {
+            submitExpiredHolds(eventId -> true);
+            return;
+        }
+        Set<Long> waitlisted = new HashSet<>(shardRouter.readAll(() ->
+                waitlistEntryRepository.findEventIdsByStatus(WaitlistStatus.WAITING)));
+        if (!waitlisted.isEmpty()) {
+            submitExpiredHolds(waitlisted::contains);
+        }
+        Set<Long> expiredEvents = new HashSet<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            jobLeases.writeFenced(shard, () -> {
+                LocalDateTime now = LocalDateTime.now();
+                seatHoldRepository.findByStatusInAndExpiresAtBefore(HoldStatus.HOLDING_SEATS, now).forEach(hold -> {
+                    expireHold(hold);
+                    expiredEvents.add(hold.getEvent().getId());
+                });
+                return seatClaimRepository.deleteExpiredHoldClaims(now);
+            });
+        }
+        expiredEvents.forEach(this::seatsChanged);
+    }
+
+    /**
+     * Expires holds one event at a time, as an ordinary event-scoped mutation. Actor mode does this for every event
+     * so expiry is queued on the event's mailbox; otherwise only events with waiters take this path, so that their
+     * expired seats go straight to the waitlist in the same transaction.
+     */
+    private void submitExpiredHolds(Predicate<Long> eventFilter) {
+        Map<Long, List<String>> expiredByEvent = new HashMap<>();
+        shardRouter.readAll(() -> seatHoldRepository.findByStatusInAndExpiresAtBefore(HoldStatus.HOLDING_SEATS, LocalDateTime.now()).stream()
+                        .map(hold -> Map.entry(hold.getEvent().getId(), hold.getId()))
+                        .toList())
+                .stream()
+                .filter(entry -> eventFilter.test(entry.getKey()))
+                .forEach(entry -> expiredByEvent.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(entry.getValue()));
+        expiredByEvent.forEach((eventId, holdIds) -> {
+            jobLeases.checkFence();
+            executeForEvent("expire", eventId, lockMode -> {
+                        Event event = lockEvent(eventId, lockMode);
+                        LocalDateTime now = LocalDateTime.now();
+                        List<String> expired = new ArrayList<>();
+                        for (SeatHold hold : seatHoldRepository.findAllById(holdIds)) {
+                            if (HoldStatus.HOLDING_SEATS.contains(hold.getStatus()) && hold.getExpiresAt().isBefore(now)) {
+                                expireHold(hold);
+                                expired.add(hold.getId());
+                            }
+                        }
+                        if (expired.isEmpty()) {
+                            return 0;
+                        }
+                        int released = seatClaimRepository.deleteHoldClaims(expired);
+                        allocateWaitlistInline(event, lockMode);
+                        return released;
+                    })
+                    .exceptionally(ex -> {
+                        log.warn("Expiring holds failed eventId={}", eventId, ex);
+                        return 0;
+                    });
+        });
+    }
+
+    /**
+     * One step of an event cancellation: closes the event to new holds on the first call, then cancels up to
+     * {@code chunkSize} confirmed bookings, or releases up to {@code chunkSize} active holds once no bookings are
+     * left, with set-based updates. Each canceled booking gets a refund record under {@code jobId}. Returns an
+     * empty chunk when nothing is left.
+     */
+    public CancellationChunk cancelEventChunk(Long eventId, Long jobId, int chunkSize) {
+        return await(executeForEvent("cancel-event", eventId, lockMode -> {
+            Event event = lockEvent(eventId, lockMode);
+            // Truncated to the column precision: the refund and outbox rows are matched on canceled_at below.
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            if (event.getCanceledAt() == null) {
+                event.setCanceledAt(now);
+                waitlistEntryRepository.updateStatusForEvent(eventId, WaitlistStatus.WAITING, WaitlistStatus.CANCELED);
+                log.info("Event closed for cancellation eventId={} jobId={}", eventId, jobId);
+            }
+
+            List<Long> bookingIds = bookingRepository.findIdsByEventIdAndStatus(
+                    eventId, BookingStatus.CONFIRMED, PageRequest.of(0, chunkSize));
+            if (!bookingIds.isEmpty()) {
+                // Cancel first, then record only the rows this update changed, not ones a single cancel took meanwhile.
+                int canceled = bookingRepository.cancelAll(bookingIds, BookingStatus.CONFIRMED, BookingStatus.CANCELED, now);
+                bookingCancellationRepository.recordCancellations(jobId, bookingIds, now);
+                outboxWriter.bookingsCanceled(eventId, bookingIds, now);
+                seatClaimRepository.releaseBookings(bookingIds);
+                bookingIds.forEach(bookingId -> seatInventory.afterCommit(eventId, new SeatChange.BookingCanceled(bookingId)));
+                return new CancellationChunk(canceled, 0);
+            }
+
+            HoldStatus holdStatus = HoldStatus.ACTIVE;
+            List<String> holdIds = seatHoldRepository.findIdsByEventIdAndStatus(
+                    eventId, holdStatus, PageRequest.of(0, chunkSize));
+            if (holdIds.isEmpty()) {
+                // a payment finishing later finds its hold released and voids the authorization
+                holdStatus = HoldStatus.PAYMENT_PENDING;
+                holdIds = seatHoldRepository.findIdsByEventIdAndStatus(eventId, holdStatus, PageRequest.of(0, chunkSize));
+            }
+            if (holdIds.isEmpty()) {
+                return new CancellationChunk(0, 0);
+            }
+            outboxWriter.holdsReleased(eventId, holdIds);
+            int released = seatHoldRepository.updateStatus(holdIds, holdStatus, HoldStatus.RELEASED);
+            seatClaimRepository.deleteHoldClaims(holdIds);
+            holdIds.forEach(holdId -> seatInventory.afterCommit(eventId, new SeatChange.HoldReleased(holdId)));
+            return new CancellationChunk(0, released);
+        }));
+    }
+
+    public record CancellationChunk(int canceledBookings, int releasedHolds) {
+
+        public boolean isEmpty() {
+            return canceledBookings == 0 && releasedHolds == 0;
+        }
+    }
+
+    public CompletableFuture<WaitlistEntryResponse> joinWaitlistAsync(Long eventId, WaitlistRequest request) {
+        log.info("Processing join waitlist eventId={} userId={}", eventId, request.userId());
+        return executeForEvent("waitlist", eventId, lockMode -> doJoinWaitlist(eventId, request, lockMode));
+    }
+
+    public CompletableFuture<WaitlistEntryResponse> leaveWaitlistAsync(Long eventId, Long entryId) {
+        log.info("Processing leave waitlist eventId={} entryId={}", eventId, entryId);
+        return executeForEvent("waitlist", eventId, lockMode -> {
+            lockEvent(eventId, lockMode);
+            WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                    .filter(candidate -> candidate.getEventId().equals(eventId))
+                    .orElseThrow(() -> new NotFoundException("Waitlist entry not found: " + entryId));
+            if (entry.getStatus() != WaitlistStatus.WAITING) {
+                throw new ConflictException("Waitlist entry is no longer waiting");
+            }
+            entry.setStatus(WaitlistStatus.CANCELED);
+            log.info("Waitlist entry canceled entryId={} eventId={}", entryId, eventId);
+            return toWaitlistResponse(entry);
+        });
+    }
+
+    public List<WaitlistEntryResponse> listWaitlist(Long eventId, String userId) {
+        log.info("Listing waitlist eventId={} userId={}", eventId, userId);
+        return shardRouter.read(shardRouter.shardForEvent(eventId), () -> {
+            List<WaitlistEntry> entries = userId != null
+                    ? waitlistEntryRepository.findByEventIdAndUserIdOrderByIdAsc(eventId, userId)
+                    : waitlistEntryRepository.findByEventIdOrderByIdAsc(eventId);
+            return entries.stream().map(this::toWaitlistResponse).toList();
+        });
+    }
+
+    /**
+     * Safety net for seats freed outside an event-scoped transaction (and for CLAIM mode, which does not allocate
+     * inline): offers whatever is free to each event's waiters.
+     */
+    @Scheduled(fixedDelayString = "${ticketbooking.waitlist.sweep-interval-ms:5000}")
+    public void allocateWaitlists() {
+        jobLeases.runIfLeader("waitlist-sweep", this::sweepWaitlists);
+    }
+
+    private void sweepWaitlists() {
+        for (Long eventId : shardRouter.readAll(() -> waitlistEntryRepository.findEventIdsByStatus(WaitlistStatus.WAITING))) {
+            jobLeases.checkFence();
+            executeForEvent("waitlist", eventId, lockMode -> allocateWaitlist(lockEvent(eventId, lockMode)))
+                    .exceptionally(ex -> {
+                        log.warn("Waitlist allocation failed eventId={}", eventId, ex);
+                        return 0;
+                    });
+        }
+    }
+
+    private WaitlistEntryResponse doJoinWaitlist(Long eventId, WaitlistRequest request, LockModeType lockMode) {
+        Event event = lockOpenEvent(eventId, lockMode);
+        if ((request.seatNumbers() == null) == (request.seatCount() == null)) {
+            throw new ValidationException("Provide either seatNumbers or seatCount");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setEventId(eventId);
+        entry.setUserId(request.userId());
+        if (request.seatNumbers() != null) {
+            List<Integer> seats = normalizeAndValidateSeats(request.seatNumbers(), event.getTotalSeats());
+            entry.setSeatNumbers(seats.stream().sorted().map(String::valueOf).collect(Collectors.joining(",")));
+            entry.setSeatCount(seats.size());
+        } else {
+            if (request.seatCount() > event.getTotalSeats()) {
+                throw new ValidationException("seatCount exceeds total seats: " + request.seatCount());
+            }
+            entry.setSeatCount(request.seatCount());
+        }
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(LocalDateTime.now());
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        log.info("Waitlist entry created entryId={} eventId={} userId={}", saved.getId(), eventId, saved.getUserId());
+
+        allocateWaitlistInline(event, lockMode);
+        return toWaitlistResponse(saved);
+    }
+
+    /**
+     * Allocation only runs inside the freeing transaction when writes to the event are serialized (an event row
+     * lock or the actor mailbox). In CLAIM mode a concurrent hold could race it for the same seat and fail the
+     * release itself, so there the periodic sweep hands the seats over instead.
+     */
+    private void allocateWaitlistInline(Event event, LockModeType lockMode) {
+        if (lockMode != LockModeType.NONE || eventMailboxes.isEnabled()) {
+            allocateWaitlist(event);
+        }
+    }
+
+    /**
+     * Turns free seats into holds for waiting entries, oldest first. An entry that cannot be satisfied yet keeps its
+     * place without blocking smaller requests behind it. Runs in the caller's transaction, so freed seats change
+     * owner in the same commit that freed them.
+     */
+    private int allocateWaitlist(Event event) {
+        List<WaitlistEntry> waiting = waitlistEntryRepository.findByEventIdAndStatusOrderByIdAsc(
+                event.getId(), WaitlistStatus.WAITING, PageRequest.of(0, waitlistScanLimit));
+        if (waiting.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Integer> taken = new HashSet<>(seatClaimRepository.findClaimedSeatNumbers(event.getId(), now));
+        int fulfilled = 0;
+        for (WaitlistEntry entry : waiting) {
+            List<Integer> seats = pickWaitlistSeats(entry, taken, event.getTotalSeats());
+            if (seats == null) {
+                continue;
+            }
+            SeatHold hold = createHold(event, entry.getUserId(), seats, now);
+            taken.addAll(seats);
+            entry.setStatus(WaitlistStatus.FULFILLED);
+            entry.setHoldId(hold.getId());
+            entry.setFulfilledAt(now);
+            fulfilled++;
+            log.info("Waitlist entry fulfilled entryId={} holdId={} eventId={}", entry.getId(), hold.getId(), event.getId());
+        }
+        return fulfilled;
+    }
+
+    private static List<Integer> pickWaitlistSeats(WaitlistEntry entry, Set<Integer> taken, int totalSeats) {
+        if (entry.getSeatNumbers() != null) {
+            List<Integer> seats = parseSeatNumbers(entry.getSeatNumbers());
+            return seats.stream().anyMatch(taken::contains) ? null : seats;
+        }
+        List<Integer> seats = new ArrayList<>(entry.getSeatCount());
+        for (int seat = 1; seat <= totalSeats && seats.size() < entry.getSeatCount(); seat++) {
+            if (!taken.contains(seat)) {
+                seats.add(seat);
+            }
+        }
+        return seats.size() == entry.getSeatCount() ? seats : null;
+    }
+
+    private static List<Integer> parseSeatNumbers(String seatNumbers) {
+        return Arrays.stream(seatNumbers.split(",")).map(Integer::valueOf).toList();
+    }
+
+    private void expireHold(SeatHold hold) {
+        hold.setStatus(HoldStatus.EXPIRED);
+        seatInventory.afterCommit(hold.getEvent().getId(), new SeatChange.HoldReleased(hold.getId()));
+        outboxWriter.holdExpired(hold);
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> work) {
+        try {
+            return CompletableFuture.completedFuture(work.get());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private List<HoldResponse> findActiveHolds(Long eventId, String userId) {
         List<SeatHold> holds;
         if (eventId != null && userId != null) {
             holds = seatHoldRepository.findByStatusAndEventIdAndUserId(HoldStatus.ACTIVE, eventId, userId);
@@ -181,36 +1085,52 @@ public class BookingService {
             holds = seatHoldRepository.findByStatus(HoldStatus.ACTIVE);
         }
 
+        if (holds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<Integer>> seats = groupSeats(seatHoldItemRepository.findByHoldIds(holds.stream().map(SeatHold::getId).toList()),
+                item -> item.getHold().getId(), SeatHoldItem::getSeatNumber);
         return holds.stream()
-                .map(this::toHoldResponse)
+                .map(hold -> new HoldResponse(
+                        hold.getId(),
+                        hold.getEvent().getId(),
+                        hold.getUserId(),
+                        hold.getExpiresAt(),
+                        seats.getOrDefault(hold.getId(), List.of())
+                ))
                 .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<AvailabilityResponse> availabilityAll() {
-        return eventRepository.findAll().stream()
-                .map(event -> toAvailability(event.getId(), event))
-                .toList();
+    private Event lockEvent(Long eventId, LockModeType lockMode) {
+        Optional<Event> event = switch (lockMode) {
+            case NONE -> eventRepository.findById(eventId);
+            case OPTIMISTIC_FORCE_INCREMENT -> eventRepository.findByIdForVersionIncrement(eventId);
+            default -> eventRepository.findByIdForUpdate(eventId);
+        };
+        return event.orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
     }
 
-    @Transactional(readOnly = true)
-    public AvailabilityResponse availability(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
-        return toAvailability(eventId, event);
+    private Event lockOpenEvent(Long eventId, LockModeType lockMode) {
+        Event event = lockEvent(eventId, lockMode);
+        if (event.getCanceledAt() != null) {
+            throw new ConflictException("Event is canceled");
+        }
+        return event;
     }
 
-    @Scheduled(fixedDelay = 30000)
-    @Transactional
-    public void releaseExpiredHolds() {
-        LocalDateTime now = LocalDateTime.now();
-        List<SeatHold> expiredHolds = seatHoldRepository.findByStatusAndExpiresAtBefore(HoldStatus.ACTIVE, now);
-        expiredHolds.forEach(hold -> hold.setStatus(HoldStatus.EXPIRED));
+    private void claimSeats(Long eventId, String holdId, List<Integer> seats,
+                            LocalDateTime now, LocalDateTime expiresAt) {
+        seatClaimRepository.deleteStaleHoldClaims(eventId, seats, now);
+        try {
+            seatClaimRepository.insertHoldClaims(eventId, holdId, seats, now, expiresAt);
+        } catch (DataIntegrityViolationException ex) {
+            seatInventory.evict(eventId);
+            throw new ConflictException("One or more requested seats are not available");
+        }
     }
 
-
     private AvailabilityResponse toAvailability(Long eventId, Event event) {
-        long held = seatHoldItemRepository.countForActiveHolds(eventId, HoldStatus.ACTIVE, LocalDateTime.now());
+        long held = seatHoldItemRepository.countForActiveHolds(eventId, HoldStatus.HOLDING_SEATS, LocalDateTime.now());
         long booked = bookingSeatRepository.countForBookingStatus(eventId, BookingStatus.CONFIRMED);
         long available = Math.max(0, event.getTotalSeats() - held - booked);
 
@@ -228,7 +1148,7 @@ public class BookingService {
 
     private Set<Integer> getOccupiedSeats(Long eventId) {
         Set<Integer> occupied = new HashSet<>(bookingSeatRepository.findSeatNumbersForBookingStatus(eventId, BookingStatus.CONFIRMED));
-        occupied.addAll(seatHoldItemRepository.findSeatNumbersForActiveHolds(eventId, HoldStatus.ACTIVE, LocalDateTime.now()));
+        occupied.addAll(seatHoldItemRepository.findSeatNumbersForActiveHolds(eventId, HoldStatus.HOLDING_SEATS, LocalDateTime.now()));
         return occupied;
     }
 
@@ -273,22 +1193,61 @@ public class BookingService {
         );
     }
 
-    private BookingWithHoldsResponse toBookingWithHoldsResponse(Booking booking) {
-        List<String> holdIds = seatHoldRepository
-                .findHoldIdsForEventAndUser(booking.getEvent().getId(), booking.getUserId(), HoldStatus.ACTIVE)
-                .stream()
-                .sorted()
-                .toList();
-        return new BookingWithHoldsResponse(
-                booking.getId(),
-                booking.getEvent().getId(),
-                booking.getUserId(),
-                booking.getStatus(),
-                booking.getCreatedAt(),
-                booking.getCanceledAt(),
-                booking.getSeats().stream().map(BookingSeat::getSeatNumber).sorted().toList(),
-                holdIds.size(),
-                holdIds
+    private WaitlistEntryResponse toWaitlistResponse(WaitlistEntry entry) {
+        return new WaitlistEntryResponse(
+                entry.getId(),
+                entry.getEventId(),
+                entry.getUserId(),
+                entry.getSeatNumbers() != null ? parseSeatNumbers(entry.getSeatNumbers()) : List.of(),
+                entry.getSeatCount(),
+                entry.getStatus(),
+                entry.getHoldId(),
+                entry.getCreatedAt(),
+                entry.getFulfilledAt()
         );
     }
+
+    /**
+     * Maps bookings of one shard with two queries in total: one for their seats and one for their users' active
+     * holds.
+     */
+    private List<BookingWithHoldsResponse> toBookingWithHoldsResponses(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Integer>> seats = groupSeats(bookingSeatRepository.findByBookingIds(bookings.stream().map(Booking::getId).toList()),
+                seat -> seat.getBooking().getId(), BookingSeat::getSeatNumber);
+        Map<String, List<String>> activeHolds = new HashMap<>();
+        seatHoldRepository.findByUserIdsAndStatus(bookings.stream().map(Booking::getUserId).distinct().toList(), HoldStatus.ACTIVE)
+                .forEach(hold -> activeHolds.computeIfAbsent(hold.getEvent().getId() + "|" + hold.getUserId(), key -> new ArrayList<>())
+                        .add(hold.getId()));
+        return bookings.stream()
+                .map(booking -> {
+                    List<String> holdIds = activeHolds.getOrDefault(booking.getEvent().getId() + "|" + booking.getUserId(), List.of())
+                            .stream()
+                            .sorted()
+                            .toList();
+                    return new BookingWithHoldsResponse(
+                            booking.getId(),
+                            booking.getEvent().getId(),
+                            booking.getUserId(),
+                            booking.getStatus(),
+                            booking.getCreatedAt(),
+                            booking.getCanceledAt(),
+                            seats.getOrDefault(booking.getId(), List.of()),
+                            holdIds.size(),
+                            holdIds
+                    );
+                })
+                .toList();
+    }
+
+    private static <T, K> Map<K, List<Integer>> groupSeats(List<T> items, Function<T, K> key, Function<T, Integer> seat) {
+        Map<K, List<Integer>> grouped = new HashMap<>();
+        for (T item : items) {
+            grouped.computeIfAbsent(key.apply(item), ignored -> new ArrayList<>()).add(seat.apply(item));
+        }
+        grouped.values().forEach(seatNumbers -> seatNumbers.sort(Comparator.naturalOrder()));
+        return grouped;
+    }
 }
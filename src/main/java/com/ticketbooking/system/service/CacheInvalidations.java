@@ -0,0 +1,266 @@
+package com.ticketbooking.system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-memory caches of several instances coherent through the {@code cache_invalidations} table on
+ * shard 0. Committed changes to an event or its seats are collected per event and written in one batch every
+ * {@code poll-interval}; in the same pass each node reads the rows after its cursor and evicts the cached seat
+ * state and seat map of every event changed by another node. An invalidation therefore reaches the other nodes
+ * within about two poll intervals.
+ * <p>
+ * Ids are assigned at insert but may become visible out of order, so a missing id holds the cursor back until it
+ * shows up or {@code gap-timeout} passes (a rolled-back insert leaves a permanent gap). Rows already applied
+ * above the cursor are remembered and not applied twice.
+ */
+@Component
+public class CacheInvalidations {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidations.class);
+
+    public enum Kind {
+        EVENT,
+        SEATS
+    }
+
+    private record Invalidation(long id, Long eventId, Kind kind, String origin, LocalDateTime createdAt) {
+    }
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final SeatInventory seatInventory;
+    private final SeatMaps seatMaps;
+    private final JobLeases jobLeases;
+    private final String origin;
+    private final Duration pollInterval;
+    private final long gapTimeoutMillis;
+    private final int batchSize;
+    private final Duration retention;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Kind> pending = new ConcurrentHashMap<>();
+    private final TreeSet<Long> appliedAboveCursor = new TreeSet<>();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final ScheduledExecutorService channel;
+    private long cursor;
+    private long gapSinceMillis;
+
+    public CacheInvalidations(@Value("${ticketbooking.invalidation.enabled:false}") boolean enabled,
+                              JdbcTemplate jdbcTemplate,
+                              ShardRouter shardRouter,
+                              SeatInventory seatInventory,
+                              SeatMaps seatMaps,
+                              JobLeases jobLeases,
+                              @Value("${ticketbooking.cluster.node-id:node-1}") String nodeId,
+                              @Value("${ticketbooking.invalidation.poll-interval:250ms}") Duration pollInterval,
+                              @Value("${ticketbooking.invalidation.gap-timeout:5s}") Duration gapTimeout,
+                              @Value("${ticketbooking.invalidation.batch-size:500}") int batchSize,
+                              @Value("${ticketbooking.invalidation.retention:1h}") Duration retention,
+                              ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.seatInventory = seatInventory;
+        this.seatMaps = seatMaps;
+        this.jobLeases = jobLeases;
+        // unique per instance, so a restarted node does not ignore invalidations written while it was down
+        this.origin = nodeId + "/" + UUID.randomUUID().toString().substring(0, 8);
+        this.pollInterval = pollInterval;
+        this.gapTimeoutMillis = gapTimeout.toMillis();
+        this.batchSize = Math.max(1, batchSize);
+        this.retention = retention;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+        this.channel = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidations");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (meterRegistry != null && enabled) {
+            Gauge.builder("ticketbooking.invalidation.lag", lagMillis, AtomicLong::get)
+                    .description("Age in milliseconds of the last invalidation received from another node")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Starts from the newest row: caches are empty at startup, so nothing older can be stale.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            cursor = shardRouter.write(0, () -> jdbcTemplate.queryForObject(
+                    "select coalesce(max(id), 0) from cache_invalidations", Long.class));
+        }
+        long period = Math.max(1, pollInterval.toMillis());
+        channel.scheduleWithFixedDelay(this::exchange, period, period, TimeUnit.MILLISECONDS);
+        log.info("Cache invalidation channel started origin={} cursor={}", origin, cursor);
+    }
+
+    /**
+     * Event row changed or was deleted. Call after the change is committed.
+     */
+    public void eventChanged(Long eventId) {
+        publish(eventId, Kind.EVENT);
+    }
+
+    /**
+     * Holds, bookings or claims of the event changed. Call after the change is committed.
+     */
+    public void seatsChanged(Long eventId) {
+        publish(eventId, Kind.SEATS);
+    }
+
+    private void publish(Long eventId, Kind kind) {
+        if (enabled) {
+            pending.merge(eventId, kind, (current, next) -> current == Kind.EVENT ? current : next);
+        }
+    }
+
+    /**
+     * Writes pending invalidations and applies the ones other nodes wrote since the last call.
+     */
+    public synchronized void exchange() {
+        try {
+            flush();
+            poll();
+        } catch (RuntimeException ex) {
+            log.warn("Cache invalidation exchange failed origin={}", origin, ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticketbooking.invalidation.purge-interval-ms:600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        jobLeases.runIfLeader("invalidation-purge", () -> {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+            int deleted = jobLeases.writeFenced(0, () -> jdbcTemplate.update(
+                    "delete from cache_invalidations where created_at < ?", cutoff));
+            log.info("Cache invalidations purged count={}", deleted);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channel.shutdownNow();
+        if (enabled) {
+            synchronized (this) {
+                try {
+                    flush();
+                } catch (RuntimeException ex) {
+                    log.warn("Flushing cache invalidations on shutdown failed origin={}", origin, ex);
+                }
+            }
+        }
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Long eventId : List.copyOf(pending.keySet())) {
+            Kind kind = pending.remove(eventId);
+            if (kind != null) {
+                rows.add(new Object[]{eventId, kind.name(), origin, now});
+            }
+        }
+        try {
+            shardRouter.write(0, () -> jdbcTemplate.batchUpdate(
+                    "insert into cache_invalidations (event_id, kind, origin, created_at) values (?, ?, ?, ?)", rows));
+        } catch (RuntimeException ex) {
+            rows.forEach(row -> publish((Long) row[0], Kind.valueOf((String) row[1])));
+            throw ex;
+        }
+        rows.forEach(row -> increment("ticketbooking.invalidation.published", (String) row[1]));
+    }
+
+    private void poll() {
+        List<Invalidation> batch;
+        do {
+            long after = cursor;
+            batch = shardRouter.write(0, () -> jdbcTemplate.query(
+                    "select id, event_id, kind, origin, created_at from cache_invalidations where id > ? order by id fetch first ? rows only",
+                    (rs, rowNum) -> new Invalidation(rs.getLong(1), rs.getLong(2), Kind.valueOf(rs.getString(3)),
+                            rs.getString(4), rs.getTimestamp(5).toLocalDateTime()),
+                    after, batchSize));
+            long now = System.currentTimeMillis();
+            for (Invalidation invalidation : batch) {
+                if (appliedAboveCursor.add(invalidation.id()) && !origin.equals(invalidation.origin())) {
+                    apply(invalidation);
+                }
+            }
+            advance(now);
+            if (cursor == after) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void apply(Invalidation invalidation) {
+        seatInventory.evict(invalidation.eventId());
+        seatMaps.invalidate(invalidation.eventId());
+        lagMillis.set(Math.max(0, Duration.between(invalidation.createdAt(), LocalDateTime.now()).toMillis()));
+        increment("ticketbooking.invalidation.received", invalidation.kind().name());
+        log.debug("Cache invalidated eventId={} kind={} from={}", invalidation.eventId(), invalidation.kind(), invalidation.origin());
+    }
+
+    private void advance(long now) {
+        while (!appliedAboveCursor.isEmpty()) {
+            if (appliedAboveCursor.first() == cursor + 1) {
+                cursor = appliedAboveCursor.pollFirst();
+                gapSinceMillis = 0;
+                continue;
+            }
+            if (gapSinceMillis == 0) {
+                gapSinceMillis = now;
+                return;
+            }
+            if (now - gapSinceMillis < gapTimeoutMillis) {
+                return;
+            }
+            log.debug("Skipping missing cache invalidation ids from={} to={}", cursor + 1, appliedAboveCursor.first() - 1);
+            cursor = appliedAboveCursor.first() - 1;
+            gapSinceMillis = 0;
+        }
+    }
+
+    private void increment(String name, String kind) {
+        if (meterRegistry != null) {
+            Counter.builder(name).tag("kind", kind).register(meterRegistry).increment();
+        }
+    }
+}
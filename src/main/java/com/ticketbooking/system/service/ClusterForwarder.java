@@ -0,0 +1,91 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.config.ClusterProperties;
+import com.ticketbooking.system.exception.ForwardedRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+
+/**
+ * Forwards event-scoped writes to the owning node. Correlation and trace headers are added by the shared
+ * {@link RestTemplate} interceptor; {@value #FORWARDED_BY} marks forwarded calls so they are never forwarded
+ * twice. When the owner is unreachable the caller processes the request locally, which stays safe because seat
+ * claims are enforced by the database.
+ */
+@Component
+public class ClusterForwarder {
+
+    public static final String FORWARDED_BY = "X-Forwarded-By-Node";
+    public static final String IDEMPOTENCY_KEY = "X-Idempotency-Key";
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterForwarder.class);
+
+    private final EventOwnership ownership;
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public ClusterForwarder(EventOwnership ownership,
+                            RestTemplate restTemplate,
+                            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.ownership = ownership;
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+    }
+
+    public boolean shouldForward(Long eventId, HttpServletRequest request) {
+        return ownership.isClustered()
+                && request.getHeader(FORWARDED_BY) == null
+                && !ownership.isLocal(eventId);
+    }
+
+    public <T> Optional<T> forward(Long eventId, HttpServletRequest request, Object body, Class<T> responseType) {
+        ClusterProperties.Member owner = ownership.ownerOf(eventId);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(FORWARDED_BY, ownership.localNodeId());
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+        }
+
+        String url = owner.url() + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        try {
+            T response = restTemplate.exchange(url, HttpMethod.valueOf(request.getMethod()),
+                    new HttpEntity<>(body, headers), responseType).getBody();
+            count("forwarded", owner.id());
+            log.info("Request forwarded eventId={} owner={}", eventId, owner.id());
+            return Optional.ofNullable(response);
+        } catch (HttpStatusCodeException ex) {
+            count("forwarded", owner.id());
+            throw new ForwardedRequestException(ex.getStatusCode(), ex.getResponseBodyAsString());
+        } catch (ResourceAccessException ex) {
+            count("owner_unreachable", owner.id());
+            log.warn("Owner node unreachable, processing locally eventId={} owner={}", eventId, owner.id());
+            return Optional.empty();
+        }
+    }
+
+    private void count(String outcome, String owner) {
+        if (meterRegistry != null) {
+            Counter.builder("ticketbooking.cluster.forwards")
+                    .tag("outcome", outcome)
+                    .tag("owner", owner)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive cap on concurrently executing holds and confirms, so that a slow database sheds requests with a 503
+ * instead of queueing them until every servlet thread is stuck on a row lock.
+ * <p>
+ * The limit follows a gradient on measured latency: a slow moving average of execution time is the baseline and
+ * a fast one the current value. While the current latency stays within {@code tolerance} of the baseline the
+ * limit grows by about its square root per adjustment; once latency rises beyond it the limit shrinks in
+ * proportion, down to {@code min-limit}. Growth is skipped while less than half of the limit is in use, so a
+ * quiet period does not inflate it.
+ * <p>
+ * Confirms and checkouts may use the whole limit, new holds only {@code hold-share} of it. Under pressure holds are
+ * shed first and seats already held can still be bought. Other operations are not limited.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (500 + 1);
+    private static final double SMOOTHING = 0.2;
+
+    public enum Priority {
+        CRITICAL,
+        NORMAL
+    }
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double holdShare;
+    private final double tolerance;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public ConcurrencyLimiter(@Value("${ticketbooking.limiter.enabled:true}") boolean enabled,
+                              @Value("${ticketbooking.limiter.initial-limit:50}") int initialLimit,
+                              @Value("${ticketbooking.limiter.min-limit:8}") int minLimit,
+                              @Value("${ticketbooking.limiter.max-limit:400}") int maxLimit,
+                              @Value("${ticketbooking.limiter.hold-share:0.8}") double holdShare,
+                              @Value("${ticketbooking.limiter.tolerance:1.5}") double tolerance,
+                              @Value("${ticketbooking.limiter.retry-after:1s}") Duration retryAfter,
+                              ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.holdShare = Math.min(1.0, Math.max(0.1, holdShare));
+        this.tolerance = Math.max(1.0, tolerance);
+        this.retryAfter = retryAfter;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+
+        if (meterRegistry != null && enabled) {
+            Gauge.builder("ticketbooking.limiter.limit", this, ConcurrencyLimiter::limit).register(meterRegistry);
+            Gauge.builder("ticketbooking.limiter.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Priority of a {@code BookingService} operation, or {@code null} when it is not limited.
+     */
+    public static Priority priorityOf(String operation) {
+        return switch (operation) {
+            case "confirm", "checkout" -> Priority.CRITICAL;
+            case "hold" -> Priority.NORMAL;
+            default -> null;
+        };
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Takes a slot for {@code operation}; the returned permit must be released when the work completes.
+     *
+     * @throws ServiceUnavailableException when the operation's share of the limit is in use
+     */
+    public Permit acquire(String operation) {
+        Priority priority = priorityOf(operation);
+        if (!enabled || priority == null) {
+            return Permit.NONE;
+        }
+        double cap = priority == Priority.CRITICAL ? limit : Math.max(1, limit * holdShare);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                if (meterRegistry != null) {
+                    Counter.builder("ticketbooking.limiter.rejected").tag("operation", operation).register(meterRegistry).increment();
+                }
+                log.warn("Request shed by concurrency limiter operation={} inFlight={} limit={}", operation, current, limit());
+                throw new ServiceUnavailableException("Server is busy, retry later", retryAfter);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(this, System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    private void release(long startedNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        sample(System.nanoTime() - startedNanos, inFlightAtStart);
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += SHORT_ALPHA * (rttNanos - shortRttNanos);
+        longRttNanos += LONG_ALPHA * (rttNanos - longRttNanos);
+        // After a slow spell, let the baseline come down quickly once latency recovers.
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        if (target > limit && inFlightAtStart < limit / 2) {
+            return;
+        }
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.min(maxLimit, Math.max(minLimit, smoothed));
+    }
+
+    public static final class Permit {
+        static final Permit NONE = new Permit(null, 0, 0);
+
+        private final ConcurrencyLimiter limiter;
+        private final long startedNanos;
+        private final int inFlightAtStart;
+
+        private Permit(ConcurrencyLimiter limiter, long startedNanos, int inFlightAtStart) {
+            this.limiter = limiter;
+            this.startedNanos = startedNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release() {
+            if (limiter != null) {
+                limiter.release(startedNanos, inFlightAtStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.ImportJobResponse;
+import com.ticketbooking.system.enums.ImportKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Runs a CSV import at startup when {@code ticketbooking.import.file} is set, e.g.
+ * {@code --ticketbooking.import.file=events.csv --ticketbooking.import.kind=events}. Pass
+ * {@code --ticketbooking.import.resume-job=<id>} to continue an interrupted job from its checkpoint.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ticketbooking.import", name = "file")
+public class CsvImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvImportRunner.class);
+
+    private final CsvImporter csvImporter;
+    private final Path file;
+    private final ImportKind kind;
+    private final Long resumeJobId;
+
+    public CsvImportRunner(CsvImporter csvImporter,
+                           @Value("${ticketbooking.import.file}") String file,
+                           @Value("${ticketbooking.import.kind:events}") String kind,
+                           @Value("${ticketbooking.import.resume-job:#{null}}") Long resumeJobId) {
+        this.csvImporter = csvImporter;
+        this.file = Path.of(file);
+        this.kind = ImportKind.valueOf(kind.trim().toUpperCase(Locale.ROOT));
+        this.resumeJobId = resumeJobId;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ImportJobResponse job = csvImporter.importCsv(kind, file.getFileName().toString(), reader, resumeJobId);
+            log.info("CSV import of {} finished jobId={} status={}", file, job.jobId(), job.status());
+        }
+    }
+}
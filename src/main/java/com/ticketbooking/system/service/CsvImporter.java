@@ -0,0 +1,778 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.dto.ImportErrorResponse;
+import com.ticketbooking.system.dto.ImportJobResponse;
+import com.ticketbooking.system.entity.ImportError;
+import com.ticketbooking.system.entity.ImportJob;
+import com.ticketbooking.system.enums.BookingStatus;
+import com.ticketbooking.system.enums.ImportJobStatus;
+import com.ticketbooking.system.enums.ImportKind;
+import com.ticketbooking.system.exception.ConflictException;
+import com.ticketbooking.system.exception.NotFoundException;
+import com.ticketbooking.system.exception.ValidationException;
+import com.ticketbooking.system.repository.EventRepository;
+import com.ticketbooking.system.repository.ImportErrorRepository;
+import com.ticketbooking.system.repository.ImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Loads events and historical bookings from CSV without going through the REST API. The input is read line by
+ * line and written in chunks of {@code chunk-size} rows with JDBC batch inserts, one transaction per chunk and
+ * shard. After every chunk the job's checkpoint (the last input line handled) is stored, so an interrupted import
+ * can be resumed by feeding the same file again with the job id. Rows that fail validation or conflict with
+ * existing data are recorded in {@code import_errors} and do not stop the import.
+ * <p>
+ * Imported bookings bypass the hold workflow: they are written as bookings with seat claims directly. Each gets a
+ * synthetic hold id derived from the job and line number, which makes re-running a chunk after a crash
+ * idempotent. Import jobs and their errors are stored on the first shard.
+ * <p>
+ * Event rows are validated like {@code POST /api/events} except that the event date may lie in the past, so
+ * historical events can be loaded together with their bookings. Uploads through the admin API run on a small
+ * background pool ({@code ticketbooking.import.workers} threads); the startup runner imports on its own thread.
+ */
+@Component
+public class CsvImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvImporter.class);
+    private static final int JOB_SHARD = 0;
+    private static final int MAX_CACHED_EVENTS = 10_000;
+
+    private static final String INSERT_EVENT = """
+            insert into events (name, event_date, location, total_seats, hold_ttl_seconds, version)
+            select ?, ?, ?, ?, ?, 0 from dual
+            where not exists (select 1 from events e
+                              where lower(e.name) = lower(?) and e.event_date = ? and lower(e.location) = lower(?))
+            """;
+    private static final String INSERT_BOOKING = """
+            insert into bookings (event_id, user_id, status, created_at, canceled_at, hold_id)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_BOOKING_SEAT = "insert into booking_seats (booking_id, seat_number) values (?, ?)";
+    private static final String INSERT_BOOKING_CLAIM = """
+            insert into seat_claims (event_id, seat_number, booking_id, claimed_at)
+            values (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final ShardRouter shardRouter;
+    private final EventRepository eventRepository;
+    private final ImportJobRepository importJobRepository;
+    private final ImportErrorRepository importErrorRepository;
+    private final SeatInventory seatInventory;
+    private final CacheInvalidations cacheInvalidations;
+    private final SeatMaps seatMaps;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxStoredErrors;
+    private final ExecutorService executor;
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public CsvImporter(JdbcTemplate jdbcTemplate,
+                       ShardRouter shardRouter,
+                       EventRepository eventRepository,
+                       ImportJobRepository importJobRepository,
+                       ImportErrorRepository importErrorRepository,
+                       SeatInventory seatInventory,
+                       CacheInvalidations cacheInvalidations,
+                       SeatMaps seatMaps,
+                       Validator validator,
+                       @Value("${ticketbooking.import.chunk-size:1000}") int chunkSize,
+                       @Value("${ticketbooking.import.max-stored-errors:10000}") int maxStoredErrors,
+                       @Value("${ticketbooking.import.workers:1}") int workers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.shardRouter = shardRouter;
+        this.eventRepository = eventRepository;
+        this.importJobRepository = importJobRepository;
+        this.importErrorRepository = importErrorRepository;
+        this.seatInventory = seatInventory;
+        this.cacheInvalidations = cacheInvalidations;
+        this.seatMaps = seatMaps;
+        this.validator = validator;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxStoredErrors = maxStoredErrors;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "csv-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports {@code input}; with {@code resumeJobId} continues that job after its checkpoint instead of starting
+     * a new one. Runs on the calling thread and returns the finished job.
+     */
+    public ImportJobResponse importCsv(ImportKind kind, String sourceName, Reader input, Long resumeJobId) {
+        ImportJob job = resumeJobId != null ? resume(resumeJobId, kind) : start(kind, sourceName);
+        return run(job, kind, sourceName, input);
+    }
+
+    /**
+     * Copies {@code body} to a temporary file, then imports it in the background. Returns the job as soon as it
+     * is started (or resumed) so the caller can poll it; the file is deleted when the import ends.
+     */
+    public ImportJobResponse submit(ImportKind kind, String sourceName, InputStream body, Long resumeJobId) throws IOException {
+        if (resumeJobId != null && !runningJobs.add(resumeJobId)) {
+            throw new ConflictException("Import job " + resumeJobId + " is already running");
+        }
+        Path file = null;
+        ImportJob job = null;
+        try {
+            file = Files.createTempFile("ticketbooking-import-", ".csv");
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            job = resumeJobId != null ? resume(resumeJobId, kind) : start(kind, sourceName);
+            runningJobs.add(job.getId());
+            ImportJobResponse response = toResponse(job);
+            ImportJob started = job;
+            Path upload = file;
+            executor.execute(() -> {
+                try (Reader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+                    run(started, kind, sourceName, reader);
+                } catch (IOException ex) {
+                    log.error("Import failed jobId={} kind={}", started.getId(), kind, ex);
+                    finish(started.getId(), ImportJobStatus.FAILED, String.valueOf(ex.getMessage()));
+                } finally {
+                    deleteQuietly(upload);
+                    runningJobs.remove(started.getId());
+                }
+            });
+            return response;
+        } catch (IOException | RuntimeException ex) {
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            if (job != null) {
+                runningJobs.remove(job.getId());
+                finish(job.getId(), ImportJobStatus.FAILED, String.valueOf(ex.getMessage()));
+            } else if (resumeJobId != null) {
+                runningJobs.remove(resumeJobId);
+            }
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ImportJobResponse run(ImportJob job, ImportKind kind, String sourceName, Reader input) {
+        log.info("Import started jobId={} kind={} source={} checkpoint={}", job.getId(), kind, sourceName, job.getCheckpointLine());
+        ImportRun run = new ImportRun(job.getId(), kind);
+        try {
+            BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input);
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new ValidationException("CSV input is empty");
+            }
+            Map<String, Integer> header = header(CsvLine.parse(headerLine), kind);
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Import interrupted jobId={} line={}", job.getId(), lineNumber);
+                    return get(job.getId());
+                }
+                lineNumber++;
+                if (lineNumber <= job.getCheckpointLine() || line.isBlank()) {
+                    continue;
+                }
+                run.add(lineNumber, line, header);
+                if (run.pending() >= chunkSize) {
+                    run.flush(lineNumber);
+                }
+            }
+            run.flush(lineNumber);
+            return finish(job.getId(), ImportJobStatus.COMPLETED, null);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Import failed jobId={} kind={}", job.getId(), kind, ex);
+            return finish(job.getId(), ImportJobStatus.FAILED, String.valueOf(ex.getMessage()));
+        }
+    }
+
+    public ImportJobResponse get(Long jobId) {
+        return shardRouter.read(JOB_SHARD, () -> importJobRepository.findById(jobId)
+                .map(CsvImporter::toResponse)
+                .orElseThrow(() -> new NotFoundException("Import job not found: " + jobId)));
+    }
+
+    public List<ImportErrorResponse> errors(Long jobId, int limit) {
+        return shardRouter.read(JOB_SHARD, () -> importErrorRepository
+                .findByJobIdOrderByLineNumberAsc(jobId, PageRequest.of(0, Math.max(1, limit)))
+                .stream()
+                .map(error -> new ImportErrorResponse(error.getLineNumber(), error.getMessage(), error.getRawLine()))
+                .toList());
+    }
+
+    private ImportJob start(ImportKind kind, String sourceName) {
+        return shardRouter.write(JOB_SHARD, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            ImportJob job = new ImportJob();
+            job.setKind(kind);
+            job.setSourceName(sourceName);
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setStartedAt(now);
+            job.setUpdatedAt(now);
+            return importJobRepository.save(job);
+        });
+    }
+
+    private ImportJob resume(Long jobId, ImportKind kind) {
+        return shardRouter.write(JOB_SHARD, () -> {
+            ImportJob job = importJobRepository.findById(jobId)
+                    .orElseThrow(() -> new NotFoundException("Import job not found: " + jobId));
+            if (job.getKind() != kind) {
+                throw new ValidationException("Import job " + jobId + " is a " + job.getKind() + " import");
+            }
+            if (job.getStatus() == ImportJobStatus.COMPLETED) {
+                throw new ConflictException("Import job " + jobId + " has already completed");
+            }
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setFinishedAt(null);
+            job.setErrorMessage(null);
+            job.setUpdatedAt(LocalDateTime.now());
+            return job;
+        });
+    }
+
+    private ImportJobResponse finish(Long jobId, ImportJobStatus status, String errorMessage) {
+        ImportJobResponse response = shardRouter.write(JOB_SHARD, () -> {
+            ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+            LocalDateTime now = LocalDateTime.now();
+            job.setStatus(status);
+            job.setErrorMessage(truncate(errorMessage, 1000));
+            job.setUpdatedAt(now);
+            job.setFinishedAt(now);
+            return toResponse(job);
+        });
+        log.info("Import finished jobId={} status={} imported={} skipped={} failed={}",
+                jobId, status, response.importedRows(), response.skippedRows(), response.failedRows());
+        return response;
+    }
+
+    private static Map<String, Integer> header(List<String> columns, ImportKind kind) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+        List<String> required = kind == ImportKind.EVENTS
+                ? List.of("name", "eventDate", "location", "totalSeats")
+                : List.of("eventName", "eventDate", "location", "userId", "seats");
+        for (String column : required) {
+            if (!header.containsKey(column)) {
+                throw new ValidationException("CSV header is missing column: " + column);
+            }
+        }
+        return header;
+    }
+
+    /**
+     * State of one import pass: the rows of the current chunk and their errors.
+     */
+    private final class ImportRun {
+        private final Long jobId;
+        private final ImportKind kind;
+        private final List<EventRow> events = new ArrayList<>();
+        private final List<BookingRow> bookings = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private final Map<String, Optional<EventRef>> eventCache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<EventRef>> eldest) {
+                return size() > MAX_CACHED_EVENTS;
+            }
+        };
+
+        ImportRun(Long jobId, ImportKind kind) {
+            this.jobId = jobId;
+            this.kind = kind;
+        }
+
+        int pending() {
+            return events.size() + bookings.size() + errors.size();
+        }
+
+        void add(long lineNumber, String line, Map<String, Integer> header) {
+            try {
+                List<String> fields = CsvLine.parse(line);
+                if (kind == ImportKind.EVENTS) {
+                    events.add(parseEvent(lineNumber, line, fields, header));
+                } else {
+                    bookings.add(parseBooking(lineNumber, line, fields, header));
+                }
+            } catch (ValidationException ex) {
+                errors.add(new RowError(lineNumber, ex.getMessage(), line));
+            }
+        }
+
+        void flush(long lastLine) {
+            ChunkOutcome outcome = kind == ImportKind.EVENTS ? writeEvents(events, errors) : writeBookings(this, bookings, errors);
+            List<RowError> chunkErrors = List.copyOf(errors);
+            events.clear();
+            bookings.clear();
+            errors.clear();
+            shardRouter.write(JOB_SHARD, () -> {
+                ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+                long storable = Math.max(0, maxStoredErrors - job.getFailedRows());
+                chunkErrors.stream().limit(storable).forEach(error -> {
+                    ImportError row = new ImportError();
+                    row.setJobId(jobId);
+                    row.setLineNumber(error.lineNumber());
+                    row.setMessage(truncate(error.message(), 1000));
+                    row.setRawLine(truncate(error.rawLine(), 2000));
+                    importErrorRepository.save(row);
+                });
+                job.setCheckpointLine(lastLine);
+                job.setImportedRows(job.getImportedRows() + outcome.imported());
+                job.setSkippedRows(job.getSkippedRows() + outcome.skipped());
+                job.setFailedRows(job.getFailedRows() + chunkErrors.size());
+                job.setUpdatedAt(LocalDateTime.now());
+                return null;
+            });
+        }
+
+        Optional<EventRef> resolveEvent(BookingRow row) {
+            String key = row.eventName().toLowerCase(Locale.ROOT) + '|' + row.eventDate() + '|' + row.location().toLowerCase(Locale.ROOT);
+            return eventCache.computeIfAbsent(key, ignored -> shardRouter.findFirst(() -> eventRepository
+                    .findByNameIgnoreCaseAndEventDateAndLocationIgnoreCase(row.eventName(), row.eventDate(), row.location())
+                    .map(event -> new EventRef(event.getId(), event.getTotalSeats()))));
+        }
+    }
+
+    private EventRow parseEvent(long lineNumber, String line, List<String> fields, Map<String, Integer> header) {
+        EventRequest request = new EventRequest(
+                text(fields, header, "name"),
+                dateTime(fields, header, "eventDate"),
+                text(fields, header, "location"),
+                integer(fields, header, "totalSeats"),
+                integer(fields, header, "holdTtlSeconds"));
+        List<ConstraintViolation<EventRequest>> violations = validator.validate(request).stream()
+                .filter(violation -> !(violation.getConstraintDescriptor().getAnnotation() instanceof Future))
+                .toList();
+        if (!violations.isEmpty()) {
+            throw new ValidationException("Validation failed: " + violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new EventRow(lineNumber, line, request);
+    }
+
+    private BookingRow parseBooking(long lineNumber, String line, List<String> fields, Map<String, Integer> header) {
+        String eventName = required(fields, header, "eventName");
+        LocalDateTime eventDate = dateTime(fields, header, "eventDate");
+        if (eventDate == null) {
+            throw new ValidationException("eventDate is required");
+        }
+        String location = required(fields, header, "location");
+        String userId = required(fields, header, "userId");
+        String statusText = text(fields, header, "status");
+        BookingStatus status;
+        try {
+            status = statusText == null ? BookingStatus.CONFIRMED : BookingStatus.valueOf(statusText.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Unknown booking status: " + statusText);
+        }
+        LocalDateTime createdAt = dateTime(fields, header, "createdAt");
+        LocalDateTime canceledAt = dateTime(fields, header, "canceledAt");
+        if (status == BookingStatus.CANCELED && canceledAt == null) {
+            canceledAt = createdAt != null ? createdAt : LocalDateTime.now();
+        }
+
+        List<Integer> seats = new ArrayList<>();
+        for (String seat : required(fields, header, "seats").split(";")) {
+            try {
+                seats.add(Integer.valueOf(seat.trim()));
+            } catch (NumberFormatException ex) {
+                throw new ValidationException("Invalid seat number: " + seat);
+            }
+        }
+        if (new HashSet<>(seats).size() != seats.size()) {
+            throw new ValidationException("Duplicate seat numbers in row");
+        }
+        return new BookingRow(lineNumber, line, eventName, eventDate, location, userId, status,
+                createdAt != null ? createdAt : LocalDateTime.now(), canceledAt, seats);
+    }
+
+    private ChunkOutcome writeEvents(List<EventRow> rows, List<RowError> errors) {
+        Map<Integer, List<EventRow>> byShard = new TreeMap<>();
+        for (EventRow row : rows) {
+            EventRequest request = row.request();
+            byShard.computeIfAbsent(shardRouter.shardForNewEvent(request.name(), request.eventDate(), request.location()),
+                    shard -> new ArrayList<>()).add(row);
+        }
+        long imported = 0;
+        for (Map.Entry<Integer, List<EventRow>> shardRows : byShard.entrySet()) {
+            try {
+                imported += shardRouter.write(shardRows.getKey(), () -> insertEvents(shardRows.getValue()));
+            } catch (DataAccessException ex) {
+                for (EventRow row : shardRows.getValue()) {
+                    try {
+                        imported += shardRouter.write(shardRows.getKey(), () -> insertEvents(List.of(row)));
+                    } catch (DataAccessException rowEx) {
+                        errors.add(new RowError(row.lineNumber(), rootMessage(rowEx), row.line()));
+                    }
+                }
+            }
+        }
+        return new ChunkOutcome(imported, rows.size() - imported - countErrorsFor(errors, rows.stream().map(EventRow::lineNumber).toList()));
+    }
+
+    private int insertEvents(List<EventRow> rows) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_EVENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                EventRequest request = rows.get(i).request();
+                Timestamp eventDate = Timestamp.valueOf(request.eventDate());
+                ps.setString(1, request.name());
+                ps.setTimestamp(2, eventDate);
+                ps.setString(3, request.location());
+                ps.setInt(4, request.totalSeats());
+                if (request.holdTtlSeconds() != null) {
+                    ps.setInt(5, request.holdTtlSeconds());
+                } else {
+                    ps.setNull(5, Types.INTEGER);
+                }
+                ps.setString(6, request.name());
+                ps.setTimestamp(7, eventDate);
+                ps.setString(8, request.location());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        return Arrays.stream(counts).map(count -> count > 0 ? 1 : 0).sum();
+    }
+
+    private ChunkOutcome writeBookings(ImportRun run, List<BookingRow> rows, List<RowError> errors) {
+        Map<Integer, List<ResolvedBooking>> byShard = new TreeMap<>();
+        for (BookingRow row : rows) {
+            Optional<EventRef> event = run.resolveEvent(row);
+            if (event.isEmpty()) {
+                errors.add(new RowError(row.lineNumber(), "Event not found: " + row.eventName() + " at " + row.eventDate(), row.line()));
+                continue;
+            }
+            Integer outOfRange = row.seats().stream().filter(seat -> seat < 1 || seat > event.get().totalSeats()).findFirst().orElse(null);
+            if (outOfRange != null) {
+                errors.add(new RowError(row.lineNumber(), "Seat number out of range: " + outOfRange, row.line()));
+                continue;
+            }
+            String holdId = UUID.nameUUIDFromBytes(("import:" + run.jobId + ":" + row.lineNumber()).getBytes()).toString();
+            byShard.computeIfAbsent(shardRouter.shardForEvent(event.get().id()), shard -> new ArrayList<>())
+                    .add(new ResolvedBooking(row, event.get().id(), holdId));
+        }
+
+        long imported = 0;
+        long skipped = 0;
+        for (Map.Entry<Integer, List<ResolvedBooking>> shardRows : byShard.entrySet()) {
+            List<RowError> batchErrors = new ArrayList<>();
+            try {
+                ChunkOutcome outcome = shardRouter.write(shardRows.getKey(), () -> insertBookings(shardRows.getValue(), batchErrors));
+                imported += outcome.imported();
+                skipped += outcome.skipped();
+                errors.addAll(batchErrors);
+            } catch (DataAccessException ex) {
+                for (ResolvedBooking booking : shardRows.getValue()) {
+                    List<RowError> rowErrors = new ArrayList<>();
+                    try {
+                        ChunkOutcome outcome = shardRouter.write(shardRows.getKey(), () -> insertBookings(List.of(booking), rowErrors));
+                        imported += outcome.imported();
+                        skipped += outcome.skipped();
+                        errors.addAll(rowErrors);
+                    } catch (DataAccessException rowEx) {
+                        errors.add(new RowError(booking.row().lineNumber(), rootMessage(rowEx), booking.row().line()));
+                    }
+                }
+            }
+            shardRows.getValue().stream().map(ResolvedBooking::eventId).distinct().forEach(eventId -> {
+                seatInventory.evict(eventId);
+                seatMaps.invalidate(eventId);
+                cacheInvalidations.seatsChanged(eventId);
+            });
+        }
+        return new ChunkOutcome(imported, skipped);
+    }
+
+    /**
+     * Writes bookings, their seats and (for confirmed bookings) their seat claims with three batch inserts. Rows
+     * already imported by an earlier run of this chunk are skipped; rows whose seats are taken are reported.
+     */
+    private ChunkOutcome insertBookings(List<ResolvedBooking> bookings, List<RowError> errors) {
+        Set<String> alreadyImported = new HashSet<>(namedJdbc.queryForList(
+                "select hold_id from bookings where hold_id in (:holdIds)",
+                new MapSqlParameterSource("holdIds", bookings.stream().map(ResolvedBooking::holdId).toList()),
+                String.class));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Set<Integer>> takenByEvent = new HashMap<>();
+        List<ResolvedBooking> accepted = new ArrayList<>();
+        long skipped = 0;
+        for (ResolvedBooking booking : bookings) {
+            if (alreadyImported.contains(booking.holdId())) {
+                skipped++;
+                continue;
+            }
+            if (booking.row().status() == BookingStatus.CONFIRMED) {
+                Set<Integer> taken = takenByEvent.computeIfAbsent(booking.eventId(), eventId -> liveClaims(eventId, bookings, now));
+                Integer conflict = booking.row().seats().stream().filter(taken::contains).findFirst().orElse(null);
+                if (conflict != null) {
+                    errors.add(new RowError(booking.row().lineNumber(), "Seat " + conflict + " is not available", booking.row().line()));
+                    continue;
+                }
+                taken.addAll(booking.row().seats());
+            }
+            accepted.add(booking);
+        }
+        if (accepted.isEmpty()) {
+            return new ChunkOutcome(0, skipped);
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOKING, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ResolvedBooking booking = accepted.get(i);
+                        ps.setLong(1, booking.eventId());
+                        ps.setString(2, booking.row().userId());
+                        ps.setString(3, booking.row().status().name());
+                        ps.setTimestamp(4, Timestamp.valueOf(booking.row().createdAt()));
+                        ps.setTimestamp(5, booking.row().canceledAt() == null ? null : Timestamp.valueOf(booking.row().canceledAt()));
+                        ps.setString(6, booking.holdId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return accepted.size();
+                    }
+                }, keys);
+
+        List<long[]> seatRows = new ArrayList<>();
+        List<long[]> claimRows = new ArrayList<>();
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < accepted.size(); i++) {
+            ResolvedBooking booking = accepted.get(i);
+            long bookingId = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            for (Integer seat : booking.row().seats()) {
+                seatRows.add(new long[]{bookingId, seat});
+                if (booking.row().status() == BookingStatus.CONFIRMED) {
+                    claimRows.add(new long[]{booking.eventId(), seat, bookingId});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOKING_SEAT, seatRows, seatRows.size(), (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setInt(2, (int) row[1]);
+        });
+        if (claimRows.isEmpty()) {
+            return new ChunkOutcome(accepted.size(), skipped);
+        }
+        Timestamp claimedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_BOOKING_CLAIM, claimRows, claimRows.size(), (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setInt(2, (int) row[1]);
+            ps.setLong(3, row[2]);
+            ps.setTimestamp(4, claimedAt);
+        });
+        return new ChunkOutcome(accepted.size(), skipped);
+    }
+
+    /**
+     * Seats of the event that are booked or held by an unexpired hold, among the seats requested in this batch.
+     * Lapsed hold claims on those seats are removed so the import can take them.
+     */
+    private Set<Integer> liveClaims(Long eventId, List<ResolvedBooking> bookings, LocalDateTime now) {
+        List<Integer> requested = bookings.stream()
+                .filter(booking -> booking.eventId().equals(eventId))
+                .flatMap(booking -> booking.row().seats().stream())
+                .distinct()
+                .toList();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("seats", requested)
+                .addValue("now", Timestamp.valueOf(now));
+        namedJdbc.update("""
+                delete from seat_claims
+                where event_id = :eventId and seat_number in (:seats) and booking_id is null and expires_at <= :now
+                """, params);
+        return new HashSet<>(namedJdbc.queryForList("""
+                select seat_number from seat_claims
+                where event_id = :eventId and seat_number in (:seats)
+                """, params, Integer.class));
+    }
+
+    private static long countErrorsFor(List<RowError> errors, List<Long> lineNumbers) {
+        Set<Long> lines = new HashSet<>(lineNumbers);
+        return errors.stream().filter(error -> lines.contains(error.lineNumber())).count();
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return String.valueOf(root.getMessage());
+    }
+
+    private static String text(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(List<String> fields, Map<String, Integer> header, String column) {
+        String value = text(fields, header, column);
+        if (value == null) {
+            throw new ValidationException(column + " is required");
+        }
+        return value;
+    }
+
+    private static Integer integer(List<String> fields, Map<String, Integer> header, String column) {
+        String value = text(fields, header, column);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new ValidationException(column + " must be a number: " + value);
+        }
+    }
+
+    private static LocalDateTime dateTime(List<String> fields, Map<String, Integer> header, String column) {
+        String value = text(fields, header, column);
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException(column + " must be an ISO date-time: " + value);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import upload {}", file, ex);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static ImportJobResponse toResponse(ImportJob job) {
+        return new ImportJobResponse(
+                job.getId(),
+                job.getKind(),
+                job.getSourceName(),
+                job.getStatus(),
+                job.getCheckpointLine(),
+                job.getImportedRows(),
+                job.getSkippedRows(),
+                job.getFailedRows(),
+                job.getStartedAt(),
+                job.getUpdatedAt(),
+                job.getFinishedAt(),
+                job.getErrorMessage()
+        );
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting; fields may not contain line breaks).
+     */
+    static final class CsvLine {
+
+        private CsvLine() {
+        }
+
+        static List<String> parse(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new ValidationException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private record EventRow(long lineNumber, String line, EventRequest request) {
+    }
+
+    private record BookingRow(long lineNumber, String line, String eventName, LocalDateTime eventDate, String location,
+                              String userId, BookingStatus status, LocalDateTime createdAt, LocalDateTime canceledAt,
+                              List<Integer> seats) {
+    }
+
+    private record ResolvedBooking(BookingRow row, Long eventId, String holdId) {
+    }
+
+    private record EventRef(Long id, int totalSeats) {
+    }
+
+    private record RowError(long lineNumber, String message, String rawLine) {
+    }
+
+    private record ChunkOutcome(long imported, long skipped) {
+    }
+}
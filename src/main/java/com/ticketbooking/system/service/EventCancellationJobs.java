@@ -0,0 +1,238 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.BookingCancellationResponse;
+import com.ticketbooking.system.dto.EventCancellationJobResponse;
+import com.ticketbooking.system.entity.BookingCancellation;
+import com.ticketbooking.system.entity.EventCancellationJob;
+import com.ticketbooking.system.enums.BookingStatus;
+import com.ticketbooking.system.enums.CancellationJobStatus;
+import com.ticketbooking.system.enums.HoldStatus;
+import com.ticketbooking.system.exception.NotFoundException;
+import com.ticketbooking.system.repository.BookingCancellationRepository;
+import com.ticketbooking.system.repository.BookingRepository;
+import com.ticketbooking.system.repository.EventCancellationJobRepository;
+import com.ticketbooking.system.repository.EventRepository;
+import com.ticketbooking.system.repository.SeatHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cancels a whole event in the background. The job row records progress after every chunk; chunks only look at
+ * what is still {@code CONFIRMED}/{@code ACTIVE}, so a job interrupted by a restart simply carries on where it
+ * stopped when it is resumed.
+ */
+@Component
+public class EventCancellationJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCancellationJobs.class);
+
+    private final BookingService bookingService;
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final EventCancellationJobRepository jobRepository;
+    private final BookingCancellationRepository bookingCancellationRepository;
+    private final ShardRouter shardRouter;
+    private final EventOwnership eventOwnership;
+    private final int chunkSize;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Map<Long, Long> runningByEvent = new ConcurrentHashMap<>();
+
+    public EventCancellationJobs(BookingService bookingService,
+                                 EventRepository eventRepository,
+                                 BookingRepository bookingRepository,
+                                 SeatHoldRepository seatHoldRepository,
+                                 EventCancellationJobRepository jobRepository,
+                                 BookingCancellationRepository bookingCancellationRepository,
+                                 ShardRouter shardRouter,
+                                 EventOwnership eventOwnership,
+                                 @Value("${ticketbooking.cancellation.chunk-size:500}") int chunkSize,
+                                 @Value("${ticketbooking.cancellation.workers:2}") int workers,
+                                 ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.bookingService = bookingService;
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.jobRepository = jobRepository;
+        this.bookingCancellationRepository = bookingCancellationRepository;
+        this.shardRouter = shardRouter;
+        this.eventOwnership = eventOwnership;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "event-cancellation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (meterRegistry != null) {
+            Gauge.builder("ticketbooking.cancellation.jobs.running", runningByEvent, Map::size).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Starts cancelling the event, or returns the job already running for it.
+     */
+    public EventCancellationJobResponse start(Long eventId, String reason) {
+        EventCancellationJob job = shardRouter.write(shardRouter.shardForEvent(eventId), () -> {
+            eventRepository.findById(eventId).orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
+            EventCancellationJob latest = jobRepository.findFirstByEventIdOrderByIdDesc(eventId).orElse(null);
+            if (latest != null && latest.getStatus() == CancellationJobStatus.RUNNING) {
+                return latest;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            EventCancellationJob created = new EventCancellationJob();
+            created.setEventId(eventId);
+            created.setStatus(CancellationJobStatus.RUNNING);
+            created.setReason(reason);
+            created.setTotalBookings((int) bookingRepository.countByEventIdAndStatus(eventId, BookingStatus.CONFIRMED));
+            created.setTotalHolds((int) (seatHoldRepository.countByEventIdAndStatus(eventId, HoldStatus.ACTIVE)
+                    + seatHoldRepository.countByEventIdAndStatus(eventId, HoldStatus.PAYMENT_PENDING)));
+            created.setStartedAt(now);
+            created.setUpdatedAt(now);
+            return jobRepository.save(created);
+        });
+        log.info("Event cancellation started eventId={} jobId={} bookings={} holds={}",
+                eventId, job.getId(), job.getTotalBookings(), job.getTotalHolds());
+        submit(eventId, job.getId());
+        return toResponse(job);
+    }
+
+    public EventCancellationJobResponse latest(Long eventId) {
+        return shardRouter.read(shardRouter.shardForEvent(eventId), () -> jobRepository.findFirstByEventIdOrderByIdDesc(eventId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new NotFoundException("No cancellation for event: " + eventId)));
+    }
+
+    /**
+     * Refund records of the event's latest cancellation, in id order from {@code afterId}.
+     */
+    public List<BookingCancellationResponse> refunds(Long eventId, long afterId, int limit) {
+        return shardRouter.read(shardRouter.shardForEvent(eventId), () -> {
+            EventCancellationJob job = jobRepository.findFirstByEventIdOrderByIdDesc(eventId)
+                    .orElseThrow(() -> new NotFoundException("No cancellation for event: " + eventId));
+            return bookingCancellationRepository
+                    .findByJobIdAndIdGreaterThanOrderByIdAsc(job.getId(), afterId, PageRequest.of(0, Math.max(1, Math.min(limit, 1000))))
+                    .stream()
+                    .map(this::toResponse)
+                    .toList();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunningJobs() {
+        for (EventCancellationJob job : shardRouter.readAll(() -> jobRepository.findByStatus(CancellationJobStatus.RUNNING))) {
+            if (eventOwnership.isLocal(job.getEventId())) {
+                log.info("Resuming event cancellation eventId={} jobId={}", job.getEventId(), job.getId());
+                submit(job.getEventId(), job.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long eventId, Long jobId) {
+        if (runningByEvent.putIfAbsent(eventId, jobId) != null) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                run(eventId, jobId);
+            } finally {
+                runningByEvent.remove(eventId);
+            }
+        });
+    }
+
+    private void run(Long eventId, Long jobId) {
+        int shard = shardRouter.shardForEvent(eventId);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                BookingService.CancellationChunk chunk = bookingService.cancelEventChunk(eventId, jobId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                shardRouter.write(shard, () -> jobRepository.addProgress(
+                        jobId, chunk.canceledBookings(), chunk.releasedHolds(), LocalDateTime.now()));
+                increment("ticketbooking.cancellation.bookings", chunk.canceledBookings());
+                increment("ticketbooking.cancellation.holds", chunk.releasedHolds());
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            finish(shard, jobId, CancellationJobStatus.COMPLETED, null);
+            log.info("Event cancellation completed eventId={} jobId={}", eventId, jobId);
+        } catch (RuntimeException ex) {
+            log.error("Event cancellation failed eventId={} jobId={}", eventId, jobId, ex);
+            finish(shard, jobId, CancellationJobStatus.FAILED, String.valueOf(ex.getMessage()));
+        }
+    }
+
+    private void finish(int shard, Long jobId, CancellationJobStatus status, String errorMessage) {
+        shardRouter.write(shard, () -> {
+            jobRepository.findById(jobId).ifPresent(job -> {
+                LocalDateTime now = LocalDateTime.now();
+                job.setStatus(status);
+                job.setErrorMessage(errorMessage == null ? null : errorMessage.substring(0, Math.min(errorMessage.length(), 1000)));
+                job.setUpdatedAt(now);
+                job.setFinishedAt(now);
+            });
+            return null;
+        });
+    }
+
+    private void increment(String name, int amount) {
+        if (meterRegistry != null && amount > 0) {
+            Counter.builder(name).register(meterRegistry).increment(amount);
+        }
+    }
+
+    private EventCancellationJobResponse toResponse(EventCancellationJob job) {
+        return new EventCancellationJobResponse(
+                job.getId(),
+                job.getEventId(),
+                job.getStatus(),
+                job.getReason(),
+                job.getTotalBookings(),
+                job.getCanceledBookings(),
+                job.getTotalHolds(),
+                job.getReleasedHolds(),
+                job.getStartedAt(),
+                job.getUpdatedAt(),
+                job.getFinishedAt(),
+                job.getErrorMessage()
+        );
+    }
+
+    private BookingCancellationResponse toResponse(BookingCancellation cancellation) {
+        return new BookingCancellationResponse(
+                cancellation.getId(),
+                cancellation.getBookingId(),
+                cancellation.getEventId(),
+                cancellation.getUserId(),
+                cancellation.getSeatCount(),
+                cancellation.getCanceledAt()
+        );
+    }
+}
@@ -0,0 +1,202 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.enums.ConcurrencyMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleStateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Runs event-scoped write transactions under the configured locking strategy.
+ * <p>
+ * In {@link ConcurrencyMode#OPTIMISTIC} mode the event row is only version-checked; version conflicts are
+ * retried with jittered exponential backoff. Events whose recent conflict rate crosses the configured
+ * threshold are switched to {@code PESSIMISTIC_WRITE} for a cooldown period, and a call that exhausts its
+ * optimistic attempts finishes with one pessimistic attempt.
+ * <p>
+ * In {@link ConcurrencyMode#CLAIM} mode the event row is not locked at all ({@link LockModeType#NONE}); seat
+ * conflicts are detected by the unique key on {@code seat_claims}. {@link ConcurrencyMode#ACTOR} mode runs the same
+ * way; there writes for one event are already serialized by {@link EventMailboxes}.
+ */
+@Component
+public class EventConcurrencyControl {
+
+    private static final Logger log = LoggerFactory.getLogger(EventConcurrencyControl.class);
+    private static final double STATS_DECAY = 0.9;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrencyMode mode;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final double conflictRateThreshold;
+    private final int minSamples;
+    private final Duration fallbackCooldown;
+    private final Map<Long, ConflictStats> statsByEvent = new ConcurrentHashMap<>();
+
+    public EventConcurrencyControl(PlatformTransactionManager transactionManager,
+                                   ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                   @Value("${ticketbooking.concurrency.mode:PESSIMISTIC}") ConcurrencyMode mode,
+                                   @Value("${ticketbooking.concurrency.optimistic.max-attempts:4}") int maxAttempts,
+                                   @Value("${ticketbooking.concurrency.optimistic.backoff-base:10ms}") Duration backoffBase,
+                                   @Value("${ticketbooking.concurrency.optimistic.backoff-max:200ms}") Duration backoffMax,
+                                   @Value("${ticketbooking.concurrency.optimistic.conflict-rate-threshold:0.3}") double conflictRateThreshold,
+                                   @Value("${ticketbooking.concurrency.optimistic.min-samples:20}") int minSamples,
+                                   @Value("${ticketbooking.concurrency.optimistic.fallback-cooldown:5m}") Duration fallbackCooldown) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+        this.mode = mode;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.conflictRateThreshold = conflictRateThreshold;
+        this.minSamples = minSamples;
+        this.fallbackCooldown = fallbackCooldown;
+
+        if (meterRegistry != null) {
+            Gauge.builder("ticketbooking.concurrency.pessimistic.events", this, EventConcurrencyControl::pessimisticEventCount)
+                    .description("Events currently forced to pessimistic locking")
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T execute(String operation, Long eventId, Function<LockModeType, T> work) {
+        if (mode == ConcurrencyMode.CLAIM || mode == ConcurrencyMode.ACTOR) {
+            return transactionTemplate.execute(status -> work.apply(LockModeType.NONE));
+        }
+        if (mode == ConcurrencyMode.PESSIMISTIC || isInFallback(eventId)) {
+            return transactionTemplate.execute(status -> work.apply(LockModeType.PESSIMISTIC_WRITE));
+        }
+
+        String fallbackReason = "retries_exhausted";
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> work.apply(LockModeType.OPTIMISTIC_FORCE_INCREMENT));
+                recordOutcome(eventId, false);
+                return result;
+            } catch (RuntimeException ex) {
+                if (!isVersionConflict(ex)) {
+                    throw ex;
+                }
+                increment("ticketbooking.concurrency.optimistic.conflicts", "operation", operation);
+                if (recordOutcome(eventId, true)) {
+                    fallbackReason = "conflict_rate";
+                    log.info("Event switched to pessimistic locking eventId={} cooldown={}", eventId, fallbackCooldown);
+                    break;
+                }
+                if (attempt < maxAttempts) {
+                    increment("ticketbooking.concurrency.optimistic.retries", "operation", operation);
+                    log.debug("Optimistic conflict, retrying operation={} eventId={} attempt={}", operation, eventId, attempt);
+                    backoff(attempt);
+                }
+            }
+        }
+
+        increment("ticketbooking.concurrency.fallbacks", "reason", fallbackReason);
+        log.info("Falling back to pessimistic locking operation={} eventId={} reason={}", operation, eventId, fallbackReason);
+        return transactionTemplate.execute(status -> work.apply(LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void pruneIdleStats() {
+        long idleCutoff = System.currentTimeMillis() - fallbackCooldown.toMillis() * 2;
+        statsByEvent.values().removeIf(stats -> stats.isIdleSince(idleCutoff));
+    }
+
+    private boolean isInFallback(Long eventId) {
+        ConflictStats stats = statsByEvent.get(eventId);
+        return stats != null && stats.isInFallback(System.currentTimeMillis());
+    }
+
+    private boolean recordOutcome(Long eventId, boolean conflict) {
+        ConflictStats stats = statsByEvent.computeIfAbsent(eventId, id -> new ConflictStats());
+        return stats.record(conflict, System.currentTimeMillis());
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(backoffMax.toMillis(), backoffBase.toMillis() << Math.min(attempt - 1, 16));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off optimistic retry", ex);
+        }
+    }
+
+    private boolean isVersionConflict(Throwable ex) {
+        for (Throwable current = ex; current != null; current = current.getCause()) {
+            if (current instanceof OptimisticLockingFailureException
+                    || current instanceof OptimisticLockException
+                    || current instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double pessimisticEventCount() {
+        long now = System.currentTimeMillis();
+        return statsByEvent.values().stream().filter(stats -> stats.isInFallback(now)).count();
+    }
+
+    private void increment(String name, String tagKey, String tagValue) {
+        if (meterRegistry != null) {
+            Counter.builder(name)
+                    .tag(tagKey, tagValue)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private final class ConflictStats {
+        private long samples;
+        private double attempts;
+        private double conflicts;
+        private long fallbackUntil;
+        private long lastUpdated;
+
+        synchronized boolean record(boolean conflict, long now) {
+            samples++;
+            attempts = attempts * STATS_DECAY + 1;
+            conflicts = conflicts * STATS_DECAY + (conflict ? 1 : 0);
+            lastUpdated = now;
+            if (conflict && samples >= minSamples
+                    && conflicts / attempts >= conflictRateThreshold
+                    && fallbackUntil <= now) {
+                fallbackUntil = now + fallbackCooldown.toMillis();
+                samples = 0;
+                attempts = 0;
+                conflicts = 0;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean isInFallback(long now) {
+            return fallbackUntil > now;
+        }
+
+        synchronized boolean isIdleSince(long cutoff) {
+            return lastUpdated < cutoff && fallbackUntil < cutoff;
+        }
+    }
+}
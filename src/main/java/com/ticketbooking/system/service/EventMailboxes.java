@@ -0,0 +1,281 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.config.SqlStatementCounter;
+import com.ticketbooking.system.enums.ConcurrencyMode;
+import com.ticketbooking.system.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer execution for {@link ConcurrencyMode#ACTOR}: every mutation of an event is queued on that
+ * event's mailbox and run by at most one worker at a time, so no database lock is taken on the event row.
+ * <p>
+ * A worker drains up to {@code batch-size} messages and runs them in one transaction, with a savepoint before
+ * each. A failing message is rolled back to its savepoint and its exception goes to its own caller only; it is
+ * not run again, and the rest of the batch still commits together. After one turn the mailbox goes to the back of the worker queue,
+ * so a hot event cannot starve the others. Mailboxes are bounded; a full mailbox rejects new work with
+ * {@link ServiceUnavailableException}.
+ * <p>
+ * Each message runs with the submitter's {@link SqlStatementCounter} tally bound and is flushed before the next
+ * one starts, so its statements, including the writes Hibernate would otherwise defer to the batch commit, count
+ * against the request that queued it.
+ */
+@Component
+public class EventMailboxes {
+
+    private static final Logger log = LoggerFactory.getLogger(EventMailboxes.class);
+
+    private final boolean enabled;
+    private final ShardRouter shardRouter;
+    private final EntityManager entityManager;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration retryAfter;
+    private final ExecutorService workers;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public EventMailboxes(@Value("${ticketbooking.concurrency.mode:PESSIMISTIC}") ConcurrencyMode mode,
+                          ShardRouter shardRouter,
+                          EntityManager entityManager,
+                          @Value("${ticketbooking.concurrency.actor.mailbox-capacity:256}") int capacity,
+                          @Value("${ticketbooking.concurrency.actor.batch-size:32}") int batchSize,
+                          @Value("${ticketbooking.concurrency.actor.workers:0}") int workers,
+                          @Value("${ticketbooking.concurrency.actor.retry-after:1s}") Duration retryAfter,
+                          ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = mode == ConcurrencyMode.ACTOR;
+        this.shardRouter = shardRouter;
+        this.entityManager = entityManager;
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.retryAfter = retryAfter;
+        int workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.workers = enabled
+                ? Executors.newFixedThreadPool(workerCount, runnable -> {
+                    Thread thread = new Thread(runnable, "event-mailbox");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+
+        if (meterRegistry != null && enabled) {
+            Gauge.builder("ticketbooking.actor.queued", mailboxes,
+                            boxes -> boxes.values().stream().mapToInt(mailbox -> mailbox.queue.size()).sum())
+                    .description("Messages waiting in event mailboxes")
+                    .register(meterRegistry);
+            Gauge.builder("ticketbooking.actor.mailboxes", mailboxes, Map::size).register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> CompletableFuture<T> submit(String operation, Long eventId, Supplier<T> work) {
+        int shard = shardRouter.shardForEvent(eventId);
+        SqlStatementCounter.Tally tally = SqlStatementCounter.current();
+        Envelope<T> envelope = new Envelope<>(operation, () -> SqlStatementCounter.callWith(tally, () -> {
+            T result = work.get();
+            entityManager.flush();
+            return result;
+        }), new CompletableFuture<>());
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(eventId, id -> new Mailbox(id, shard));
+            Offer offer = mailbox.offer(envelope);
+            if (offer == Offer.ACCEPTED) {
+                mailbox.schedule();
+                return envelope.future();
+            }
+            if (offer == Offer.FULL) {
+                increment("ticketbooking.actor.rejected", operation);
+                return CompletableFuture.failedFuture(new ServiceUnavailableException(
+                        "Too many pending requests for event " + eventId + ", retry later", retryAfter));
+            }
+            // Retired by pruneIdleMailboxes after we looked it up; it is already out of the map.
+        }
+    }
+
+    /**
+     * Removes idle mailboxes one key at a time. Retiring happens under the map's lock for that key, and a retired
+     * mailbox refuses new messages, so a concurrent {@link #submit} either lands in the mailbox before it is
+     * retired (keeping it alive) or retries against a fresh one; there is never a second live mailbox per event.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void pruneIdleMailboxes() {
+        for (Long eventId : mailboxes.keySet()) {
+            mailboxes.computeIfPresent(eventId, (id, mailbox) -> mailbox.retireIfIdle());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    private void increment(String name, String operation) {
+        if (meterRegistry != null) {
+            Counter.builder(name).tag("operation", operation).register(meterRegistry).increment();
+        }
+    }
+
+    private final class Mailbox {
+        private final long eventId;
+        private final int shard;
+        private final BlockingQueue<Envelope<?>> queue = new ArrayBlockingQueue<>(capacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private boolean retired;
+
+        Mailbox(long eventId, int shard) {
+            this.eventId = eventId;
+            this.shard = shard;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this::runTurn);
+            }
+        }
+
+        synchronized Offer offer(Envelope<?> envelope) {
+            if (retired) {
+                return Offer.RETIRED;
+            }
+            return queue.offer(envelope) ? Offer.ACCEPTED : Offer.FULL;
+        }
+
+        /**
+         * Returns {@code null} (dropping the mapping) once the mailbox is idle and retired, otherwise itself.
+         */
+        synchronized Mailbox retireIfIdle() {
+            if (queue.isEmpty() && !scheduled.get()) {
+                retired = true;
+                return null;
+            }
+            return this;
+        }
+
+        private void runTurn() {
+            try {
+                List<Envelope<?>> batch = new ArrayList<>(batchSize);
+                queue.drainTo(batch, batchSize);
+                if (!batch.isEmpty()) {
+                    if (meterRegistry != null) {
+                        DistributionSummary.builder("ticketbooking.actor.batch.size").register(meterRegistry).record(batch.size());
+                    }
+                    process(batch);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Mailbox turn failed eventId={}", eventId, ex);
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Runs the batch in one transaction, each message behind its own savepoint. A failing message is rolled
+         * back to its savepoint and completed with its exception; the others commit together.
+         */
+        private void process(List<Envelope<?>> batch) {
+            List<Envelope<?>> succeeded = new ArrayList<>(batch.size());
+            List<Object> results = new ArrayList<>(batch.size());
+            try {
+                shardRouter.write(shard, () -> {
+                    batch.forEach(envelope -> runAtSavepoint(envelope, succeeded, results));
+                    return null;
+                });
+            } catch (RuntimeException ex) {
+                // Commit itself failed: nothing was persisted, so run every message not yet answered on its own.
+                batch.stream().filter(envelope -> !envelope.future().isDone()).forEach(this::runAlone);
+                return;
+            }
+            completeAll(succeeded, results);
+        }
+
+        /**
+         * JPA's transaction manager cannot create savepoints with Hibernate, so this sets one on the transaction's
+         * JDBC connection. Rolling back to it does not undo the persistence context or the after-commit callbacks
+         * the message registered, so those are reset too; earlier messages were flushed and lose nothing.
+         */
+        private void runAtSavepoint(Envelope<?> envelope, List<Envelope<?>> succeeded, List<Object> results) {
+            Session session = entityManager.unwrap(Session.class);
+            Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            Object result;
+            try {
+                result = envelope.work().get();
+            } catch (RuntimeException ex) {
+                session.doWork(connection -> connection.rollback(savepoint));
+                entityManager.clear();
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationManager.initSynchronization();
+                synchronizations.forEach(TransactionSynchronizationManager::registerSynchronization);
+                envelope.future().completeExceptionally(ex);
+                return;
+            }
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+            succeeded.add(envelope);
+            results.add(result);
+        }
+
+        private void runAlone(Envelope<?> envelope) {
+            try {
+                Object result = shardRouter.write(shard, () -> envelope.work().get());
+                complete(envelope, result);
+            } catch (RuntimeException ex) {
+                envelope.future().completeExceptionally(ex);
+            }
+        }
+
+        private void completeAll(List<Envelope<?>> envelopes, List<Object> results) {
+            for (int i = 0; i < envelopes.size(); i++) {
+                complete(envelopes.get(i), results.get(i));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> void complete(Envelope<T> envelope, Object result) {
+            envelope.future().complete((T) result);
+        }
+    }
+
+    private enum Offer {
+        ACCEPTED, FULL, RETIRED
+    }
+
+    private record Envelope<T>(String operation, Supplier<T> work, CompletableFuture<T> future) {
+    }
+}
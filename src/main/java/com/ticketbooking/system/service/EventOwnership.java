@@ -0,0 +1,64 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.config.ClusterProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Assigns each event to one cluster member with a consistent-hash ring, so adding or removing a member only
+ * moves the events adjacent to its virtual nodes.
+ */
+@Component
+public class EventOwnership {
+
+    private final ClusterProperties properties;
+    private final NavigableMap<Long, ClusterProperties.Member> ring = new TreeMap<>();
+
+    public EventOwnership(ClusterProperties properties) {
+        this.properties = properties;
+        if (!properties.enabled()) {
+            return;
+        }
+        if (properties.members().stream().noneMatch(member -> member.id().equals(properties.nodeId()))) {
+            throw new IllegalStateException("ticketbooking.cluster.node-id " + properties.nodeId() + " is not a configured member");
+        }
+        for (ClusterProperties.Member member : properties.members()) {
+            for (int i = 0; i < properties.virtualNodes(); i++) {
+                ring.put(hash(member.id() + "#" + i), member);
+            }
+        }
+    }
+
+    public boolean isClustered() {
+        return properties.enabled();
+    }
+
+    public String localNodeId() {
+        return properties.nodeId();
+    }
+
+    public boolean isLocal(Long eventId) {
+        return !properties.enabled() || ownerOf(eventId).id().equals(properties.nodeId());
+    }
+
+    public ClusterProperties.Member ownerOf(Long eventId) {
+        Map.Entry<Long, ClusterProperties.Member> entry = ring.ceilingEntry(hash("event-" + eventId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
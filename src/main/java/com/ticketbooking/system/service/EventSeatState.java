@@ -0,0 +1,227 @@
+package com.ticketbooking.system.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Committed seat ownership of one event. Holds carry their expiry, so a lapsed hold reads as free even before
+ * the expiry sweeper has released it.
+ */
+public class EventSeatState {
+
+    public static final byte FREE = 0;
+    public static final byte HELD = 1;
+    public static final byte BOOKED = 2;
+
+    private final long eventId;
+    private final int totalSeats;
+    private final byte[] states;
+    private final long[] holdExpiry;
+    private final String[] holdOwner;
+    private final Map<String, HoldEntry> holds = new HashMap<>();
+    private final Map<Long, int[]> bookings = new HashMap<>();
+    private long version;
+
+    public EventSeatState(long eventId, int totalSeats) {
+        this.eventId = eventId;
+        this.totalSeats = totalSeats;
+        this.states = new byte[totalSeats];
+        this.holdExpiry = new long[totalSeats];
+        this.holdOwner = new String[totalSeats];
+    }
+
+    public long eventId() {
+        return eventId;
+    }
+
+    public int totalSeats() {
+        return totalSeats;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized byte stateOf(int seat, long nowMillis) {
+        int index = seat - 1;
+        if (states[index] == HELD && holdExpiry[index] <= nowMillis) {
+            return FREE;
+        }
+        return states[index];
+    }
+
+    public synchronized int bookedCount() {
+        int count = 0;
+        for (byte state : states) {
+            if (state == BOOKED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int heldCount(long nowMillis) {
+        int count = 0;
+        for (int index = 0; index < totalSeats; index++) {
+            if (states[index] == HELD && holdExpiry[index] > nowMillis) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized Integer firstUnavailable(List<Integer> seats, long nowMillis) {
+        for (Integer seat : seats) {
+            if (seat > totalSeats || stateOf(seat, nowMillis) != FREE) {
+                return seat;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void hold(String holdId, List<Integer> seats, long expiresAtMillis) {
+        int[] seatArray = seats.stream().mapToInt(Integer::intValue).filter(seat -> seat <= totalSeats).toArray();
+        for (int seat : seatArray) {
+            states[seat - 1] = HELD;
+            holdExpiry[seat - 1] = expiresAtMillis;
+            holdOwner[seat - 1] = holdId;
+        }
+        holds.put(holdId, new HoldEntry(seatArray, expiresAtMillis));
+        version++;
+    }
+
+    public synchronized void extendHold(String holdId, long expiresAtMillis) {
+        HoldEntry entry = holds.get(holdId);
+        if (entry == null) {
+            return;
+        }
+        for (int seat : entry.seats()) {
+            if (holdId.equals(holdOwner[seat - 1])) {
+                holdExpiry[seat - 1] = expiresAtMillis;
+            }
+        }
+        holds.put(holdId, new HoldEntry(entry.seats(), expiresAtMillis));
+        version++;
+    }
+
+    public synchronized void confirm(String holdId, long bookingId) {
+        HoldEntry entry = holds.remove(holdId);
+        if (entry == null) {
+            return;
+        }
+        for (int seat : entry.seats()) {
+            states[seat - 1] = BOOKED;
+            holdExpiry[seat - 1] = 0;
+            holdOwner[seat - 1] = null;
+        }
+        bookings.put(bookingId, entry.seats());
+        version++;
+    }
+
+    public synchronized void book(long bookingId, List<Integer> seats) {
+        int[] seatArray = seats.stream().mapToInt(Integer::intValue).filter(seat -> seat <= totalSeats).toArray();
+        for (int seat : seatArray) {
+            states[seat - 1] = BOOKED;
+            holdExpiry[seat - 1] = 0;
+            holdOwner[seat - 1] = null;
+        }
+        bookings.put(bookingId, seatArray);
+        version++;
+    }
+
+    public synchronized void releaseHold(String holdId) {
+        HoldEntry entry = holds.remove(holdId);
+        if (entry == null) {
+            return;
+        }
+        freeHeldSeats(holdId, entry.seats());
+        version++;
+    }
+
+    public synchronized void releaseBooking(long bookingId) {
+        int[] seats = bookings.remove(bookingId);
+        if (seats == null) {
+            return;
+        }
+        for (int seat : seats) {
+            states[seat - 1] = FREE;
+        }
+        version++;
+    }
+
+    /**
+     * Writes bookings and unexpired holds; seat states are derived from them again by {@link #readFrom}. Unexpired
+     * holds never share a seat, so the order they are read back in does not matter.
+     */
+    public synchronized void writeTo(DataOutput out, long nowMillis) throws IOException {
+        out.writeLong(eventId);
+        out.writeInt(totalSeats);
+        out.writeLong(version);
+        out.writeInt(bookings.size());
+        for (Map.Entry<Long, int[]> booking : bookings.entrySet()) {
+            out.writeLong(booking.getKey());
+            writeSeats(out, booking.getValue());
+        }
+        List<Map.Entry<String, HoldEntry>> liveHolds = holds.entrySet().stream()
+                .filter(hold -> hold.getValue().expiresAtMillis() > nowMillis)
+                .toList();
+        out.writeInt(liveHolds.size());
+        for (Map.Entry<String, HoldEntry> hold : liveHolds) {
+            out.writeUTF(hold.getKey());
+            out.writeLong(hold.getValue().expiresAtMillis());
+            writeSeats(out, hold.getValue().seats());
+        }
+    }
+
+    public static EventSeatState readFrom(DataInput in) throws IOException {
+        EventSeatState state = new EventSeatState(in.readLong(), in.readInt());
+        long version = in.readLong();
+        int bookingCount = in.readInt();
+        for (int i = 0; i < bookingCount; i++) {
+            long bookingId = in.readLong();
+            state.book(bookingId, readSeats(in));
+        }
+        int holdCount = in.readInt();
+        for (int i = 0; i < holdCount; i++) {
+            String holdId = in.readUTF();
+            long expiresAtMillis = in.readLong();
+            state.hold(holdId, readSeats(in), expiresAtMillis);
+        }
+        state.version = version;
+        return state;
+    }
+
+    private static void writeSeats(DataOutput out, int[] seats) throws IOException {
+        out.writeInt(seats.length);
+        for (int seat : seats) {
+            out.writeInt(seat);
+        }
+    }
+
+    private static List<Integer> readSeats(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<Integer> seats = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            seats.add(in.readInt());
+        }
+        return seats;
+    }
+
+    private void freeHeldSeats(String holdId, int[] seats) {
+        for (int seat : seats) {
+            if (holdId.equals(holdOwner[seat - 1])) {
+                states[seat - 1] = FREE;
+                holdExpiry[seat - 1] = 0;
+                holdOwner[seat - 1] = null;
+            }
+        }
+    }
+
+    private record HoldEntry(int[] seats, long expiresAtMillis) {
+    }
+}
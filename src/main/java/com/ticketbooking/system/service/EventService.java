@@ -10,33 +10,47 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class EventService {
 
     private static final Logger log = LoggerFactory.getLogger(EventService.class);
     private final EventRepository eventRepository;
-
-    public EventService(EventRepository eventRepository) {
+    private final ShardRouter shardRouter;
+    private final SeatInventory seatInventory;
+    private final CacheInvalidations cacheInvalidations;
+
+    public EventService(EventRepository eventRepository,
+                        ShardRouter shardRouter,
+                        SeatInventory seatInventory,
+                        CacheInvalidations cacheInvalidations) {
         this.eventRepository = eventRepository;
+        this.shardRouter = shardRouter;
+        this.seatInventory = seatInventory;
+        this.cacheInvalidations = cacheInvalidations;
     }
 
     public EventResponse create(EventRequest request) {
         EventRequest normalized = normalize(request);
 
-        return eventRepository.findByNameIgnoreCaseAndEventDateAndLocationIgnoreCase(
+        Optional<EventResponse> existing = shardRouter.findFirst(() -> eventRepository
+                .findByNameIgnoreCaseAndEventDateAndLocationIgnoreCase(
                         normalized.name(), normalized.eventDate(), normalized.location())
-                .map(existing -> {
-                    log.info("Event create deduplicated eventId={} name={}", existing.getId(), existing.getName());
-                    return toResponse(existing);
-                })
-                .orElseGet(() -> {
-                    Event event = toEntity(normalized);
-                    Event saved = eventRepository.save(event);
-                    log.info("Event created eventId={} name={}", saved.getId(), saved.getName());
-                    return toResponse(saved);
-                });
+                .map(this::toResponse));
+        if (existing.isPresent()) {
+            log.info("Event create deduplicated eventId={} name={}", existing.get().id(), existing.get().name());
+            return existing.get();
+        }
+
+        int shard = shardRouter.shardForNewEvent(normalized.name(), normalized.eventDate(), normalized.location());
+        return shardRouter.write(shard, () -> {
+            Event saved = eventRepository.save(toEntity(normalized));
+            log.info("Event created eventId={} name={} shard={}", saved.getId(), saved.getName(), shard);
+            return toResponse(saved);
+        });
     }
 
     public List<EventResponse> createAll(List<EventRequest> requests) {
@@ -46,36 +60,53 @@ public class EventService {
 
     public List<EventResponse> list() {
         log.info("Listing events");
-        return eventRepository.findAll().stream().map(this::toResponse).toList();
+        return shardRouter.readAll(() -> eventRepository.findAll().stream().map(this::toResponse).toList())
+                .stream()
+                .sorted(Comparator.comparing(EventResponse::id))
+                .toList();
     }
 
     public EventResponse get(Long id) {
         log.info("Getting event eventId={}", id);
-        return toResponse(getEntity(id));
+        return shardRouter.read(shardRouter.shardForEvent(id), () -> toResponse(getEntity(id)));
     }
 
     public EventResponse update(Long id, EventRequest request) {
         log.info("Updating event eventId={}", id);
-        Event event = getEntity(id);
+        int shard = shardRouter.shardForEvent(id);
         EventRequest normalized = normalize(request);
 
-        if (eventRepository.existsByNameIgnoreCaseAndEventDateAndLocationIgnoreCaseAndIdNot(
-                normalized.name(), normalized.eventDate(), normalized.location(), id)) {
+        boolean duplicate = shardRouter.findFirst(() -> eventRepository
+                .existsByNameIgnoreCaseAndEventDateAndLocationIgnoreCaseAndIdNot(
+                        normalized.name(), normalized.eventDate(), normalized.location(), id)
+                ? Optional.of(Boolean.TRUE) : Optional.<Boolean>empty()).isPresent();
+        if (duplicate) {
             throw new ConflictException("Another event already exists with same name, date, and location");
         }
 
-        event.setName(normalized.name());
-        event.setEventDate(normalized.eventDate());
-        event.setLocation(normalized.location());
-        event.setTotalSeats(normalized.totalSeats());
-        Event saved = eventRepository.save(event);
-        log.info("Event updated eventId={} name={}", saved.getId(), saved.getName());
-        return toResponse(saved);
+        EventResponse updated = shardRouter.write(shard, () -> {
+            Event event = getEntity(id);
+            event.setName(normalized.name());
+            event.setEventDate(normalized.eventDate());
+            event.setLocation(normalized.location());
+            event.setTotalSeats(normalized.totalSeats());
+            event.setHoldTtlSeconds(normalized.holdTtlSeconds());
+            Event saved = eventRepository.save(event);
+            seatInventory.evict(id);
+            log.info("Event updated eventId={} name={}", saved.getId(), saved.getName());
+            return toResponse(saved);
+        });
+        cacheInvalidations.eventChanged(id);
+        return updated;
     }
 
     public void delete(Long id) {
-        Event event = getEntity(id);
-        eventRepository.delete(event);
+        shardRouter.write(shardRouter.shardForEvent(id), () -> {
+            eventRepository.delete(getEntity(id));
+            seatInventory.evict(id);
+            return null;
+        });
+        cacheInvalidations.eventChanged(id);
         log.info("Event deleted eventId={}", id);
     }
 
@@ -89,7 +120,8 @@ public class EventService {
                 request.name().trim(),
                 request.eventDate(),
                 request.location().trim(),
-                request.totalSeats()
+                request.totalSeats(),
+                request.holdTtlSeconds()
         );
     }
 
@@ -99,6 +131,7 @@ public class EventService {
         event.setEventDate(request.eventDate());
         event.setLocation(request.location());
         event.setTotalSeats(request.totalSeats());
+        event.setHoldTtlSeconds(request.holdTtlSeconds());
         return event;
     }
 
@@ -108,7 +141,8 @@ public class EventService {
                 event.getName(),
                 event.getEventDate(),
                 event.getLocation(),
-                event.getTotalSeats()
+                event.getTotalSeats(),
+                event.getHoldTtlSeconds()
         );
     }
 }
@@ -0,0 +1,36 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.BookingLifecycleEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * POSTs each relayed batch as a JSON array to {@code ticketbooking.outbox.http.url} through the shared
+ * {@link RestTemplate}. Any non-2xx response or I/O error fails the batch, which is then retried.
+ */
+@Component
+@ConditionalOnProperty(name = "ticketbooking.outbox.http.url")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestTemplate restTemplate;
+    private final String url;
+
+    public HttpOutboxSink(RestTemplate restTemplate, @Value("${ticketbooking.outbox.http.url}") String url) {
+        this.restTemplate = restTemplate;
+        this.url = url;
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public void deliver(List<BookingLifecycleEvent> events) {
+        restTemplate.postForEntity(url, events, Void.class);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.BookingLifecycleEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes relayed events as Spring application events, for listeners inside this application.
+ */
+@Component
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InProcessOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void deliver(List<BookingLifecycleEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,186 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.entity.Event;
+import com.ticketbooking.system.entity.SeatClaim;
+import com.ticketbooking.system.repository.EventRepository;
+import com.ticketbooking.system.repository.SeatClaimRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Warms {@link SeatInventory} for upcoming events before the node reports ready. For each event the newest
+ * usable source is taken: its snapshot plus the journal records after it, the journal alone while it has never
+ * been truncated, or otherwise a full read of {@code seat_claims}. Snapshot and journal based states are then
+ * reconciled with claims written after the snapshot and checked against the live claim count; a mismatch falls
+ * back to the full read. Events are warmed in parallel, bounded by the number of cores.
+ */
+@Component
+public class InventoryRecovery implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryRecovery.class);
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(5);
+
+    private final BookingJournal journal;
+    private final InventorySnapshots snapshots;
+    private final SeatInventory seatInventory;
+    private final EventRepository eventRepository;
+    private final SeatClaimRepository seatClaimRepository;
+    private final ShardRouter shardRouter;
+    private final Duration horizon;
+    private final int parallelism;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean ready;
+
+    public InventoryRecovery(BookingJournal journal,
+                             InventorySnapshots snapshots,
+                             SeatInventory seatInventory,
+                             EventRepository eventRepository,
+                             SeatClaimRepository seatClaimRepository,
+                             ShardRouter shardRouter,
+                             @Value("${ticketbooking.warmup.horizon:30d}") Duration horizon,
+                             @Value("${ticketbooking.warmup.parallelism:0}") int parallelism,
+                             ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.journal = journal;
+        this.snapshots = snapshots;
+        this.seatInventory = seatInventory;
+        this.eventRepository = eventRepository;
+        this.seatClaimRepository = seatClaimRepository;
+        this.shardRouter = shardRouter;
+        this.horizon = horizon;
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.parallelism = parallelism > 0 ? Math.min(parallelism, cores) : cores;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!seatInventory.isEnabled()) {
+            ready = true;
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<Long, InventorySnapshots.Snapshot> snapshotsByEvent = snapshots.loadAll();
+        boolean journalComplete = journal.isEnabled() && journal.firstRetainedSequence() == 1;
+        long firstRetained = journal.firstRetainedSequence();
+        snapshotsByEvent.values().removeIf(snapshot -> journal.isEnabled() && snapshot.journalSequence() + 1 < firstRetained);
+
+        long replayAfter = snapshotsByEvent.values().stream()
+                .mapToLong(InventorySnapshots.Snapshot::journalSequence)
+                .min()
+                .orElse(0);
+        Map<Long, List<SequencedChange>> changesByEvent = new HashMap<>();
+        journal.replay(journalComplete ? 0 : replayAfter, (sequence, eventId, change) ->
+                changesByEvent.computeIfAbsent(eventId, id -> new ArrayList<>()).add(new SequencedChange(sequence, change)));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Event> upcoming = shardRouter.readAll(() -> eventRepository.findByEventDateBetween(now, now.plus(horizon)));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "inventory-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (Event event : upcoming) {
+                tasks.add(CompletableFuture.runAsync(() -> warm(event.getId(),
+                        snapshotsByEvent.get(event.getId()),
+                        changesByEvent.getOrDefault(event.getId(), List.of()),
+                        journalComplete), executor));
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        ready = true;
+        log.info("Inventory warm-up finished events={} snapshots={} parallelism={} elapsedMs={}",
+                upcoming.size(), snapshotsByEvent.size(), parallelism, System.currentTimeMillis() - start);
+    }
+
+    private void warm(Long eventId, InventorySnapshots.Snapshot snapshot, List<SequencedChange> changes, boolean journalComplete) {
+        EventSeatState state = shardRouter.read(shardRouter.shardForEvent(eventId), () -> {
+            if (snapshot != null) {
+                EventSeatState restored = snapshot.state();
+                changes.stream()
+                        .filter(change -> change.sequence() > snapshot.journalSequence())
+                        .forEach(change -> change.change().applyTo(restored));
+                return reconcile(restored, snapshot.takenAtMillis(), "snapshot");
+            }
+            if (journalComplete && !changes.isEmpty()) {
+                EventSeatState replayed = new EventSeatState(eventId, eventRepository.findById(eventId).orElseThrow().getTotalSeats());
+                changes.forEach(change -> change.change().applyTo(replayed));
+                return reconcile(replayed, 0, "journal");
+            }
+            record("database");
+            return seatInventory.load(eventId);
+        });
+        seatInventory.put(state);
+    }
+
+    /**
+     * Applies claims written after {@code sinceMillis} that the snapshot and journal missed, then compares the
+     * number of occupied seats with the live claims in the database.
+     */
+    private EventSeatState reconcile(EventSeatState state, long sinceMillis, String source) {
+        long nowMillis = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceMillis), ZoneId.systemDefault()).minus(CLOCK_SKEW);
+        Map<Long, List<Integer>> bookingSeats = new HashMap<>();
+        Map<String, List<Integer>> holdSeats = new HashMap<>();
+        Map<String, LocalDateTime> holdExpiry = new HashMap<>();
+        for (SeatClaim claim : seatClaimRepository.findByEventIdAndClaimedAtAfter(state.eventId(), since)) {
+            if (claim.getBookingId() != null) {
+                if (state.stateOf(claim.getSeatNumber(), nowMillis) != EventSeatState.BOOKED) {
+                    bookingSeats.computeIfAbsent(claim.getBookingId(), id -> new ArrayList<>()).add(claim.getSeatNumber());
+                }
+            } else if (claim.getHoldId() != null && state.stateOf(claim.getSeatNumber(), nowMillis) == EventSeatState.FREE) {
+                holdSeats.computeIfAbsent(claim.getHoldId(), id -> new ArrayList<>()).add(claim.getSeatNumber());
+                holdExpiry.put(claim.getHoldId(), claim.getExpiresAt());
+            }
+        }
+        bookingSeats.forEach(state::book);
+        holdSeats.forEach((holdId, seats) -> state.hold(holdId, seats, SeatInventory.toMillis(holdExpiry.get(holdId))));
+
+        long occupied = state.bookedCount() + state.heldCount(nowMillis);
+        long liveClaims = seatClaimRepository.countLiveClaims(state.eventId(), LocalDateTime.now());
+        if (occupied != liveClaims) {
+            log.info("Inventory reconciliation mismatch eventId={} source={} occupied={} liveClaims={}",
+                    state.eventId(), source, occupied, liveClaims);
+            record("database");
+            return seatInventory.load(state.eventId());
+        }
+        record(source);
+        return state;
+    }
+
+    private void record(String source) {
+        if (meterRegistry != null) {
+            Counter.builder("ticketbooking.inventory.warmup").tag("source", source).register(meterRegistry).increment();
+        }
+    }
+
+    private record SequencedChange(long sequence, SeatChange change) {
+    }
+}
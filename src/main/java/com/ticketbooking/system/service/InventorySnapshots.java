@@ -0,0 +1,153 @@
+package com.ticketbooking.system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Periodically writes the cached seat state of every event to one compact file per event. A snapshot records
+ * the journal sequence and wall-clock time it was taken at, so startup can replay only what came after it.
+ * Once every cached event has been written, journal segments older than the run are truncated.
+ */
+@Component
+public class InventorySnapshots {
+
+    private static final Logger log = LoggerFactory.getLogger(InventorySnapshots.class);
+    private static final int MAGIC = 0x53454154;
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_PREFIX = "event-";
+    private static final String FILE_SUFFIX = ".snap";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final SeatInventory seatInventory;
+    private final BookingJournal journal;
+    private final MeterRegistry meterRegistry;
+
+    public InventorySnapshots(@Value("${ticketbooking.snapshot.enabled:false}") boolean enabled,
+                              @Value("${ticketbooking.snapshot.directory:./data/snapshots}") Path directory,
+                              SeatInventory seatInventory,
+                              BookingJournal journal,
+                              ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.seatInventory = seatInventory;
+        this.journal = journal;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${ticketbooking.snapshot.interval-ms:60000}",
+            initialDelayString = "${ticketbooking.snapshot.interval-ms:60000}")
+    public void snapshotAll() {
+        if (!enabled || !seatInventory.isEnabled()) {
+            return;
+        }
+        long journalSequence = journal.lastSequence();
+        long takenAtMillis = System.currentTimeMillis();
+        int written = 0;
+        try {
+            Files.createDirectories(directory);
+            for (EventSeatState state : seatInventory.snapshotView().values()) {
+                write(state, journalSequence, takenAtMillis);
+                written++;
+            }
+            journal.truncateThrough(journalSequence);
+        } catch (IOException ex) {
+            log.warn("Inventory snapshot failed after events={}", written, ex);
+            return;
+        }
+        if (meterRegistry != null) {
+            Counter.builder("ticketbooking.inventory.snapshots").register(meterRegistry).increment(written);
+        }
+        log.debug("Inventory snapshot written events={} journalSequence={}", written, journalSequence);
+    }
+
+    public Map<Long, Snapshot> loadAll() throws IOException {
+        Map<Long, Snapshot> snapshots = new HashMap<>();
+        if (!enabled || !Files.isDirectory(directory)) {
+            return snapshots;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX)).toList()) {
+                read(file).ifPresent(snapshot -> snapshots.put(snapshot.state().eventId(), snapshot));
+            }
+        }
+        return snapshots;
+    }
+
+    private void write(EventSeatState state, long journalSequence, long takenAtMillis) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(journalSequence);
+            out.writeLong(takenAtMillis);
+            out.writeInt(state.bookedCount());
+            out.writeInt(state.heldCount(takenAtMillis));
+            state.writeTo(out, takenAtMillis);
+        }
+        byte[] body = bytes.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+
+        Path target = directory.resolve(FILE_PREFIX + state.eventId() + FILE_SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.write(body);
+            out.writeInt((int) crc.getValue());
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Optional<Snapshot> read(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        if (content.length < 4) {
+            return Optional.empty();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(content, 0, content.length - 4);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+        in.skipNBytes(content.length - 4);
+        if ((int) crc.getValue() != in.readInt()) {
+            log.warn("Ignoring corrupt inventory snapshot file={}", file);
+            return Optional.empty();
+        }
+
+        in = new DataInputStream(new ByteArrayInputStream(content, 0, content.length - 4));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            log.warn("Ignoring inventory snapshot with unknown format file={}", file);
+            return Optional.empty();
+        }
+        long journalSequence = in.readLong();
+        long takenAtMillis = in.readLong();
+        int bookedSeats = in.readInt();
+        int heldSeats = in.readInt();
+        return Optional.of(new Snapshot(EventSeatState.readFrom(in), journalSequence, takenAtMillis, bookedSeats, heldSeats));
+    }
+
+    public record Snapshot(EventSeatState state, long journalSequence, long takenAtMillis, int bookedSeats, int heldSeats) {
+    }
+}
@@ -0,0 +1,303 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.exception.LeaseLostException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Leader election for scheduled jobs through the {@code job_leases} table on shard 0, so that only one node of a
+ * cluster runs each job at a time. A node takes a job's lease when the row is missing, already its own, or
+ * expired; the {@code token} goes up on every change of owner. Leases this node holds are renewed every
+ * {@code renew-interval} on a dedicated thread, so a long run does not let its lease lapse. When a node dies,
+ * its leases expire after {@code ttl} and the next node to try takes over. Leases are released on shutdown.
+ * <p>
+ * The token doubles as a fencing token. A job started by {@link #runIfLeader} checks it before each batch it
+ * commits; the check fails once renewal has failed, or once the row no longer carries this node's owner and the
+ * token the run started with, so a node that stalled past {@code ttl} stops instead of writing next to the new
+ * leader. Batches written through {@link #writeFenced} on shard 0, where {@code job_leases} lives, check the
+ * token with {@code select ... for update} inside their own transaction: a new leader cannot take the row until
+ * the batch has committed, so the fence is exact. {@link #checkFence()} on its own, and batches on other shards,
+ * check in a separate transaction just before the write; that is best-effort, since a stall between the check and
+ * the commit can still overlap with a new leader.
+ * <p>
+ * Expiry is compared against the clock of the node writing the row, so node clocks must agree to well within
+ * {@code ttl}.
+ */
+@Component
+public class JobLeases {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLeases.class);
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final String owner;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LocalDateTime> held = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> known = new ConcurrentHashMap<>();
+    private final ThreadLocal<Run> currentRun = new ThreadLocal<>();
+    private final ScheduledExecutorService renewer;
+
+    public JobLeases(@Value("${ticketbooking.leases.enabled:true}") boolean enabled,
+                     JdbcTemplate jdbcTemplate,
+                     ShardRouter shardRouter,
+                     @Value("${ticketbooking.leases.owner:}") String owner,
+                     @Value("${ticketbooking.cluster.node-id:node-1}") String nodeId,
+                     @Value("${ticketbooking.leases.ttl:15s}") Duration ttl,
+                     @Value("${ticketbooking.leases.renew-interval:5s}") Duration renewInterval,
+                     ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        // node-id alone is not unique when cluster mode is off, so the process is part of the default owner
+        this.owner = owner.isBlank() ? nodeId + "/" + ManagementFactory.getRuntimeMXBean().getName() : owner;
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+        this.renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            long period = Math.max(1, renewInterval.toMillis());
+            renewer.scheduleWithFixedDelay(this::renewHeld, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    /**
+     * Runs {@code task} if this node holds, or can take, the lease for {@code job}; returns whether it ran.
+     */
+    public boolean runIfLeader(String job, Runnable task) {
+        if (!enabled) {
+            task.run();
+            return true;
+        }
+        OptionalLong token = tryAcquire(job);
+        if (token.isEmpty()) {
+            log.debug("Skipping job={}, lease held by another node", job);
+            return false;
+        }
+        Run previous = currentRun.get();
+        currentRun.set(new Run(job, token.getAsLong()));
+        try {
+            task.run();
+        } catch (LeaseLostException ex) {
+            log.warn("Job aborted, lease lost job={} owner={}", job, owner);
+        } finally {
+            if (previous == null) {
+                currentRun.remove();
+            } else {
+                currentRun.set(previous);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifies that the job run on this thread still holds its lease under the token it started with, and
+     * throws {@link LeaseLostException} otherwise. A no-op outside {@link #runIfLeader}, e.g. when a job is run
+     * directly. Best-effort: the check commits before the caller's next write starts.
+     */
+    public void checkFence() {
+        Run run = currentRun.get();
+        if (run != null) {
+            verify(run, false);
+        }
+    }
+
+    /**
+     * Runs {@code work} in a write transaction on {@code shard}, fenced by the lease of the job run on this
+     * thread. On shard 0 the lease row is locked and checked in that same transaction; on other shards the check
+     * runs just before it, as in {@link #checkFence()}.
+     */
+    public <T> T writeFenced(int shard, Supplier<T> work) {
+        Run run = currentRun.get();
+        if (run == null || shard != 0) {
+            checkFence();
+            return shardRouter.write(shard, work);
+        }
+        return shardRouter.write(0, () -> {
+            verify(run, true);
+            return work.get();
+        });
+    }
+
+    private void verify(Run run, boolean lock) {
+        if (isLeader(run.job())) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Long> tokens = shardRouter.write(0, () -> jdbcTemplate.queryForList(
+                    "select token from job_leases where job_name = ? and owner = ? and expires_at > ?"
+                            + (lock ? " for update" : ""),
+                    Long.class, run.job(), owner, now));
+            if (tokens.contains(run.token())) {
+                return;
+            }
+        }
+        lose(run.job());
+        throw new LeaseLostException("Lease for job " + run.job() + " is no longer held with token " + run.token());
+    }
+
+    /**
+     * Whether this node currently believes it holds the lease for {@code job}.
+     */
+    public boolean isLeader(String job) {
+        LocalDateTime expiresAt = held.get(job);
+        return expiresAt != null && expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Takes or renews the lease for {@code job}; returns its fencing token if this node holds it afterwards.
+     * <p>
+     * A missing row is inserted with {@code insert ... where not exists}, so the common lost race is a plain
+     * zero-row insert. Two nodes inserting the very first row at once can still collide on the primary key; that
+     * error rolls the whole transaction back and is treated as not acquired.
+     */
+    public OptionalLong tryAcquire(String job) {
+        register(job);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        OptionalLong token;
+        try {
+            token = shardRouter.write(0, () -> {
+                int updated = jdbcTemplate.update("""
+                                update job_leases
+                                set token = case when owner = ? then token else token + 1 end,
+                                    acquired_at = case when owner = ? then acquired_at else ? end,
+                                    owner = ?, renewed_at = ?, expires_at = ?
+                                where job_name = ? and (owner = ? or expires_at < ?)
+                                """,
+                        owner, owner, Timestamp.valueOf(now), owner, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt),
+                        job, owner, Timestamp.valueOf(now));
+                if (updated == 0) {
+                    updated = jdbcTemplate.update("""
+                                    insert into job_leases (job_name, owner, token, acquired_at, renewed_at, expires_at)
+                                    select cast(? as varchar(100)), cast(? as varchar(255)), 1,
+                                           cast(? as timestamp(6)), cast(? as timestamp(6)), cast(? as timestamp(6))
+                                    where not exists (select 1 from job_leases where job_name = ?)
+                                    """,
+                            job, owner, Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(expiresAt), job);
+                }
+                if (updated == 0) {
+                    return OptionalLong.empty();
+                }
+                return OptionalLong.of(jdbcTemplate.queryForObject(
+                        "select token from job_leases where job_name = ? and owner = ?", Long.class, job, owner));
+            });
+        } catch (DuplicateKeyException ex) {
+            log.debug("Lease row for job={} was created by another node concurrently", job);
+            token = OptionalLong.empty();
+        } catch (RuntimeException ex) {
+            log.warn("Lease acquisition failed job={}", job, ex);
+            token = OptionalLong.empty();
+        }
+        if (token.isPresent()) {
+            if (held.put(job, expiresAt) == null) {
+                log.info("Lease acquired job={} owner={}", job, owner);
+                increment("ticketbooking.leases.acquired", job);
+            }
+        } else {
+            lose(job);
+        }
+        return token;
+    }
+
+    void renewHeld() {
+        for (String job : List.copyOf(held.keySet())) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plus(ttl);
+            try {
+                int renewed = shardRouter.write(0, () -> jdbcTemplate.update(
+                        "update job_leases set renewed_at = ?, expires_at = ? where job_name = ? and owner = ?",
+                        Timestamp.valueOf(now), Timestamp.valueOf(expiresAt), job, owner));
+                if (renewed == 1) {
+                    held.put(job, expiresAt);
+                } else {
+                    lose(job);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Lease renewal failed job={}", job, ex);
+                if (!isLeader(job)) {
+                    lose(job);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops renewing and gives up every lease this node holds, so another node can take over at once.
+     */
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+        if (held.isEmpty()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            shardRouter.write(0, () -> {
+                for (String job : held.keySet()) {
+                    jdbcTemplate.update("update job_leases set expires_at = ? where job_name = ? and owner = ?",
+                            Timestamp.valueOf(now), job, owner);
+                }
+                return null;
+            });
+            log.info("Leases released jobs={} owner={}", held.keySet(), owner);
+        } catch (RuntimeException ex) {
+            log.warn("Releasing leases failed owner={}", owner, ex);
+        }
+        held.clear();
+    }
+
+    private void lose(String job) {
+        if (held.remove(job) != null) {
+            log.warn("Lease lost job={} owner={}", job, owner);
+            increment("ticketbooking.leases.lost", job);
+        }
+    }
+
+    private void register(String job) {
+        if (meterRegistry != null && known.putIfAbsent(job, Boolean.TRUE) == null) {
+            Gauge.builder("ticketbooking.leases.leader", this, leases -> leases.isLeader(job) ? 1 : 0)
+                    .description("1 while this node holds the job's lease")
+                    .tag("job", job)
+                    .tag("owner", owner)
+                    .register(meterRegistry);
+        }
+    }
+
+    private void increment(String name, String job) {
+        if (meterRegistry != null) {
+            Counter.builder(name).tag("job", job).register(meterRegistry).increment();
+        }
+    }
+
+    private record Run(String job, long token) {
+    }
+}
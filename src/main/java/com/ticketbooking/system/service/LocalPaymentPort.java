@@ -0,0 +1,46 @@
+package com.ticketbooking.system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in payment provider for development and tests: approves every authorization after
+ * {@code ticketbooking.payment.local.latency}, except for users listed in {@code decline-users}.
+ */
+@Component
+@ConditionalOnProperty(name = "ticketbooking.payment.provider", havingValue = "local", matchIfMissing = true)
+public class LocalPaymentPort implements PaymentPort {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalPaymentPort.class);
+
+    private final Duration latency;
+    private final List<String> declineUsers;
+
+    public LocalPaymentPort(@Value("${ticketbooking.payment.local.latency:200ms}") Duration latency,
+                            @Value("${ticketbooking.payment.local.decline-users:}") List<String> declineUsers) {
+        this.latency = latency;
+        this.declineUsers = declineUsers;
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> authorize(PaymentRequest request) {
+        String reference = "local-" + request.holdId();
+        return CompletableFuture.supplyAsync(() -> declineUsers.contains(request.userId())
+                        ? PaymentResult.declined(reference, "Card declined")
+                        : PaymentResult.approved(reference),
+                CompletableFuture.delayedExecutor(latency.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void voidAuthorization(String reference) {
+        log.info("Payment authorization voided reference={}", reference);
+    }
+}
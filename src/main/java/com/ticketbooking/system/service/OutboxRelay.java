@@ -0,0 +1,191 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.BookingLifecycleEvent;
+import com.ticketbooking.system.entity.OutboxMessage;
+import com.ticketbooking.system.exception.LeaseLostException;
+import com.ticketbooking.system.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers committed outbox messages to every {@link OutboxSink} in batches, oldest first. A message is marked
+ * published only after all sinks accepted it. When a batch fails it is retried event by event, so one failing
+ * event backs off (exponentially, up to {@code max-backoff}) without holding up the others, and later messages
+ * of that event wait behind it.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final boolean enabled;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final List<OutboxSink> sinks;
+    private final ShardRouter shardRouter;
+    private final JobLeases jobLeases;
+    private final int batchSize;
+    private final Duration retention;
+    private final Duration maxBackoff;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+
+    public OutboxRelay(@Value("${ticketbooking.outbox.enabled:false}") boolean enabled,
+                       OutboxMessageRepository outboxMessageRepository,
+                       List<OutboxSink> sinks,
+                       ShardRouter shardRouter,
+                       JobLeases jobLeases,
+                       @Value("${ticketbooking.outbox.batch-size:200}") int batchSize,
+                       @Value("${ticketbooking.outbox.retention:1d}") Duration retention,
+                       @Value("${ticketbooking.outbox.max-backoff:5m}") Duration maxBackoff,
+                       ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.sinks = sinks;
+        this.shardRouter = shardRouter;
+        this.jobLeases = jobLeases;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.maxBackoff = maxBackoff;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+
+        if (meterRegistry != null) {
+            Gauge.builder("ticketbooking.outbox.lag", lagMillis, AtomicLong::get)
+                    .description("Age in milliseconds of the oldest undelivered outbox message")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("ticketbooking.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticketbooking.outbox.relay-interval-ms:500}")
+    public synchronized void relay() {
+        if (enabled) {
+            jobLeases.runIfLeader("outbox-relay", this::relayAll);
+        }
+    }
+
+    private void relayAll() {
+        long oldestMillis = 0;
+        long pendingTotal = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            try {
+                relayShard(shard);
+            } catch (LeaseLostException ex) {
+                throw ex;
+            } catch (RuntimeException ex) {
+                log.warn("Outbox relay failed shard={}", shard, ex);
+            }
+            int current = shard;
+            LocalDateTime now = LocalDateTime.now();
+            oldestMillis = Math.max(oldestMillis, shardRouter.write(current, () -> outboxMessageRepository.findOldestPendingOccurredAt())
+                    .map(oldest -> Duration.between(oldest, now).toMillis())
+                    .orElse(0L));
+            pendingTotal += shardRouter.write(current, outboxMessageRepository::countByPublishedAtIsNull);
+        }
+        lagMillis.set(oldestMillis);
+        pending.set(pendingTotal);
+    }
+
+    @Scheduled(fixedDelayString = "${ticketbooking.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        if (!enabled) {
+            return;
+        }
+        jobLeases.runIfLeader("outbox-purge", () -> {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                jobLeases.writeFenced(shard, () -> outboxMessageRepository.deletePublishedBefore(cutoff));
+            }
+        });
+    }
+
+    private void relayShard(int shard) {
+        List<OutboxMessage> batch;
+        while (!(batch = shardRouter.write(shard, () ->
+                outboxMessageRepository.findDeliverable(LocalDateTime.now(), PageRequest.of(0, batchSize)))).isEmpty()) {
+            jobLeases.checkFence();
+            if (deliver(batch)) {
+                markPublished(shard, batch);
+            } else {
+                deliverPerEvent(shard, batch);
+                return;
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void deliverPerEvent(int shard, List<OutboxMessage> batch) {
+        Map<Long, List<OutboxMessage>> byEvent = new LinkedHashMap<>();
+        batch.forEach(message -> byEvent.computeIfAbsent(message.getEventId(), id -> new ArrayList<>()).add(message));
+        for (List<OutboxMessage> messages : byEvent.values()) {
+            if (deliver(messages)) {
+                markPublished(shard, messages);
+            } else {
+                markFailed(shard, messages);
+            }
+        }
+    }
+
+    private boolean deliver(List<OutboxMessage> messages) {
+        List<BookingLifecycleEvent> events = messages.stream().map(OutboxRelay::toEvent).toList();
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(events);
+                increment("ticketbooking.outbox.delivered", sink.name(), events.size());
+            } catch (RuntimeException ex) {
+                increment("ticketbooking.outbox.failures", sink.name(), 1);
+                log.warn("Outbox delivery failed sink={} messages={} firstId={}", sink.name(), events.size(),
+                        events.get(0).messageId(), ex);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markPublished(int shard, List<OutboxMessage> messages) {
+        List<Long> ids = messages.stream().map(OutboxMessage::getId).toList();
+        shardRouter.write(shard, () -> outboxMessageRepository.markPublished(ids, LocalDateTime.now()));
+    }
+
+    private void markFailed(int shard, List<OutboxMessage> messages) {
+        int attempts = messages.get(0).getAttempts() + 1;
+        long backoffMs = Math.min(maxBackoff.toMillis(), 1000L << Math.min(attempts - 1, 20));
+        List<Long> ids = messages.stream().map(OutboxMessage::getId).toList();
+        shardRouter.write(shard, () -> outboxMessageRepository.markFailed(ids, LocalDateTime.now().plus(Duration.ofMillis(backoffMs))));
+    }
+
+    private static BookingLifecycleEvent toEvent(OutboxMessage message) {
+        List<Integer> seats = message.getSeatNumbers() == null || message.getSeatNumbers().isEmpty()
+                ? List.of()
+                : Arrays.stream(message.getSeatNumbers().split(",")).map(Integer::valueOf).toList();
+        return new BookingLifecycleEvent(message.getId(), message.getEventType(), message.getEventId(),
+                message.getEventSequence(), message.getHoldId(),
+                message.getBookingId(), message.getUserId(), seats, message.getOccurredAt());
+    }
+
+    private void increment(String name, String sink, double amount) {
+        if (meterRegistry != null) {
+            Counter.builder(name).tag("sink", sink).register(meterRegistry).increment(amount);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.BookingLifecycleEvent;
+
+import java.util.List;
+
+/**
+ * Destination for booking lifecycle events relayed from the outbox. Delivery is at-least-once: a batch that
+ * throws is delivered again later, possibly after other sinks already received it, so implementations should
+ * deduplicate on {@link BookingLifecycleEvent#messageId()}. Events of one event id arrive in the order their
+ * changes committed, in every concurrency mode, and carry a per-event {@link BookingLifecycleEvent#sequence()}
+ * that increases in that order. A redelivered batch may repeat sequences already seen; numbers can be skipped.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    void deliver(List<BookingLifecycleEvent> events);
+}
@@ -0,0 +1,107 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.entity.Booking;
+import com.ticketbooking.system.entity.BookingSeat;
+import com.ticketbooking.system.entity.OutboxMessage;
+import com.ticketbooking.system.entity.SeatHold;
+import com.ticketbooking.system.entity.SeatHoldItem;
+import com.ticketbooking.system.enums.OutboxEventType;
+import com.ticketbooking.system.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adds booking lifecycle messages to {@code booking_outbox}. Must be called inside the transaction that makes the
+ * change, so the message is committed or rolled back together with it. Does nothing (and touches no lazy
+ * associations) while the outbox is disabled.
+ * <p>
+ * Every message gets the next sequence number of its event. Reserving it locks the event's row until commit,
+ * also in CLAIM mode and in the shard-wide expiry sweep, so a later-numbered message of an event can never commit
+ * before an earlier one.
+ */
+@Component
+public class OutboxWriter {
+
+    private final boolean enabled;
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    public OutboxWriter(@Value("${ticketbooking.outbox.enabled:false}") boolean enabled,
+                        OutboxMessageRepository outboxMessageRepository) {
+        this.enabled = enabled;
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    public void holdCreated(Long eventId, SeatHold hold, List<Integer> seats) {
+        if (enabled) {
+            save(OutboxEventType.HOLD_CREATED, eventId, hold.getId(), null, hold.getUserId(), seats);
+        }
+    }
+
+    public void holdExpired(SeatHold hold) {
+        if (enabled) {
+            save(OutboxEventType.HOLD_EXPIRED, hold.getEvent().getId(), hold.getId(), null, hold.getUserId(),
+                    hold.getSeats().stream().map(SeatHoldItem::getSeatNumber).toList());
+        }
+    }
+
+    public void holdReleased(SeatHold hold) {
+        if (enabled) {
+            save(OutboxEventType.HOLD_RELEASED, hold.getEvent().getId(), hold.getId(), null, hold.getUserId(),
+                    hold.getSeats().stream().map(SeatHoldItem::getSeatNumber).toList());
+        }
+    }
+
+    public void bookingConfirmed(Long eventId, Booking booking, List<Integer> seats) {
+        if (enabled) {
+            save(OutboxEventType.BOOKING_CONFIRMED, eventId, booking.getHoldId(), booking.getId(), booking.getUserId(), seats);
+        }
+    }
+
+    public void bookingCanceled(Booking booking) {
+        if (enabled) {
+            save(OutboxEventType.BOOKING_CANCELED, booking.getEvent().getId(), booking.getHoldId(), booking.getId(),
+                    booking.getUserId(), booking.getSeats().stream().map(BookingSeat::getSeatNumber).toList());
+        }
+    }
+
+    /**
+     * Writes one message per booking in {@code bookingIds} that was canceled at {@code canceledAt}.
+     */
+    public void bookingsCanceled(Long eventId, Collection<Long> bookingIds, LocalDateTime canceledAt) {
+        if (enabled && !bookingIds.isEmpty()) {
+            outboxMessageRepository.insertBookingsCanceled(bookingIds, reserve(eventId, bookingIds.size()), canceledAt);
+        }
+    }
+
+    public void holdsReleased(Long eventId, Collection<String> holdIds) {
+        if (enabled && !holdIds.isEmpty()) {
+            outboxMessageRepository.insertHoldsReleased(holdIds, reserve(eventId, holdIds.size()), LocalDateTime.now());
+        }
+    }
+
+    private void save(OutboxEventType type, Long eventId, String holdId, Long bookingId, String userId, List<Integer> seats) {
+        OutboxMessage message = new OutboxMessage();
+        message.setEventType(type);
+        message.setEventId(eventId);
+        message.setEventSequence(reserve(eventId, 1));
+        message.setHoldId(holdId);
+        message.setBookingId(bookingId);
+        message.setUserId(userId);
+        message.setSeatNumbers(seats.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        message.setOccurredAt(LocalDateTime.now());
+        outboxMessageRepository.save(message);
+    }
+
+    /**
+     * Returns the first of {@code count} new sequence numbers; a bulk insert that writes fewer rows leaves a gap.
+     */
+    private long reserve(Long eventId, int count) {
+        outboxMessageRepository.reserveSequence(eventId, count);
+        return outboxMessageRepository.findLastSequence(eventId) - count + 1;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ticketbooking.system.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payment provider used by the two-phase checkout. {@link #authorize} is called after the hold has been marked
+ * {@code PAYMENT_PENDING} and its transaction committed, so no lock is held while it runs. The hold id is the
+ * idempotency key: the same hold may be authorized again after a retry. An approved authorization whose hold can
+ * no longer be booked is voided.
+ */
+public interface PaymentPort {
+
+    record PaymentRequest(String holdId, Long eventId, String userId, int seatCount) {
+    }
+
+    record PaymentResult(boolean approved, String reference, String declineReason) {
+
+        public static PaymentResult approved(String reference) {
+            return new PaymentResult(true, reference, null);
+        }
+
+        public static PaymentResult declined(String reference, String reason) {
+            return new PaymentResult(false, reference, reason);
+        }
+    }
+
+    CompletableFuture<PaymentResult> authorize(PaymentRequest request);
+
+    void voidAuthorization(String reference);
+}
@@ -0,0 +1,47 @@
+package com.ticketbooking.system.service;
+
+import java.util.List;
+
+/**
+ * A committed change to the seat ownership of one event, applied to {@link EventSeatState} and written to the
+ * {@link BookingJournal}.
+ */
+public sealed interface SeatChange {
+
+    void applyTo(EventSeatState state);
+
+    record Held(String holdId, List<Integer> seats, long expiresAtMillis) implements SeatChange {
+        @Override
+        public void applyTo(EventSeatState state) {
+            state.hold(holdId, seats, expiresAtMillis);
+        }
+    }
+
+    record HoldExtended(String holdId, long expiresAtMillis) implements SeatChange {
+        @Override
+        public void applyTo(EventSeatState state) {
+            state.extendHold(holdId, expiresAtMillis);
+        }
+    }
+
+    record Confirmed(String holdId, long bookingId) implements SeatChange {
+        @Override
+        public void applyTo(EventSeatState state) {
+            state.confirm(holdId, bookingId);
+        }
+    }
+
+    record HoldReleased(String holdId) implements SeatChange {
+        @Override
+        public void applyTo(EventSeatState state) {
+            state.releaseHold(holdId);
+        }
+    }
+
+    record BookingCanceled(long bookingId) implements SeatChange {
+        @Override
+        public void applyTo(EventSeatState state) {
+            state.releaseBooking(bookingId);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.entity.Event;
+import com.ticketbooking.system.entity.SeatClaim;
+import com.ticketbooking.system.repository.EventRepository;
+import com.ticketbooking.system.repository.SeatClaimRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of committed seat ownership per event, used to reject taken seats without touching the
+ * database. It is only correct on a node that sees every write for the events it caches, i.e. a single node or
+ * the owning node in cluster mode, hence disabled by default. State is loaded lazily from {@code seat_claims}
+ * inside the caller's transaction and updated after commit; every committed change is also appended to the
+ * {@link BookingJournal} so the state can be rebuilt at startup without replaying the tables.
+ */
+@Component
+public class SeatInventory {
+
+    private final boolean enabled;
+    private final EventRepository eventRepository;
+    private final SeatClaimRepository seatClaimRepository;
+    private final BookingJournal journal;
+    private final Map<Long, EventSeatState> states = new ConcurrentHashMap<>();
+
+    public SeatInventory(@Value("${ticketbooking.inventory.enabled:false}") boolean enabled,
+                         EventRepository eventRepository,
+                         SeatClaimRepository seatClaimRepository,
+                         BookingJournal journal,
+                         ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.enabled = enabled;
+        this.eventRepository = eventRepository;
+        this.seatClaimRepository = seatClaimRepository;
+        this.journal = journal;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            Gauge.builder("ticketbooking.inventory.events", states, Map::size).register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<EventSeatState> cached(Long eventId) {
+        return Optional.ofNullable(states.get(eventId));
+    }
+
+    /**
+     * Must be called inside a transaction on the event's shard.
+     */
+    public EventSeatState stateFor(Long eventId) {
+        EventSeatState state = states.get(eventId);
+        if (state != null) {
+            return state;
+        }
+        EventSeatState loaded = load(eventId);
+        EventSeatState raced = states.putIfAbsent(eventId, loaded);
+        return raced == null ? loaded : raced;
+    }
+
+    public void put(EventSeatState state) {
+        states.put(state.eventId(), state);
+    }
+
+    public void evict(Long eventId) {
+        states.remove(eventId);
+    }
+
+    public Map<Long, EventSeatState> snapshotView() {
+        return Map.copyOf(states);
+    }
+
+    public void afterCommit(Long eventId, SeatChange change) {
+        if (!enabled && !journal.isEnabled()) {
+            return;
+        }
+        Runnable apply = () -> {
+            if (enabled) {
+                EventSeatState state = states.get(eventId);
+                if (state != null) {
+                    change.applyTo(state);
+                }
+            }
+            journal.append(eventId, change);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Reads the full seat state of an event from {@code seat_claims}. Must be called inside a transaction on the
+     * event's shard.
+     */
+    public EventSeatState load(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalStateException("Event not found while loading inventory: " + eventId));
+        EventSeatState state = new EventSeatState(eventId, event.getTotalSeats());
+        List<SeatClaim> claims = seatClaimRepository.findByEventId(eventId);
+        Map<String, List<Integer>> holdSeats = new HashMap<>();
+        Map<String, LocalDateTime> holdExpiry = new HashMap<>();
+        Map<Long, List<Integer>> bookingSeats = new HashMap<>();
+        for (SeatClaim claim : claims) {
+            if (claim.getBookingId() != null) {
+                bookingSeats.computeIfAbsent(claim.getBookingId(), id -> new ArrayList<>()).add(claim.getSeatNumber());
+            } else if (claim.getHoldId() != null) {
+                holdSeats.computeIfAbsent(claim.getHoldId(), id -> new ArrayList<>()).add(claim.getSeatNumber());
+                holdExpiry.put(claim.getHoldId(), claim.getExpiresAt());
+            }
+        }
+        bookingSeats.forEach(state::book);
+        holdSeats.forEach((holdId, seats) -> state.hold(holdId, seats, toMillis(holdExpiry.get(holdId))));
+        return state;
+    }
+}
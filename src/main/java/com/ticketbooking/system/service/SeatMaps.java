@@ -0,0 +1,200 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.SeatMapDeltaResponse;
+import com.ticketbooking.system.dto.SeatMapResponse;
+import com.ticketbooking.system.dto.SeatNumbersJson;
+import com.ticketbooking.system.entity.Event;
+import com.ticketbooking.system.enums.BookingStatus;
+import com.ticketbooking.system.enums.HoldStatus;
+import com.ticketbooking.system.exception.NotFoundException;
+import com.ticketbooking.system.repository.BookingSeatRepository;
+import com.ticketbooking.system.repository.EventRepository;
+import com.ticketbooking.system.repository.SeatHoldItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-seat state maps for seating charts, packed at 2 bits per seat (a 60,000-seat event is 15 KB). Each event
+ * keeps its last {@code history} distinct maps; a map gets a new version only when its content changes, so a
+ * client polling with {@code since} receives just the seats that changed. Versions are local to this node and
+ * start at a random offset, so a version from another node or before a restart is not found in the history and
+ * the client simply gets the full map again.
+ * <p>
+ * Maps are read from the cached {@link SeatInventory} state when the event is cached, otherwise from the booking
+ * and hold tables, and are reused for up to {@code max-age-ms}.
+ */
+@Component
+public class SeatMaps {
+
+    private final ShardRouter shardRouter;
+    private final EventRepository eventRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final SeatHoldItemRepository seatHoldItemRepository;
+    private final SeatInventory seatInventory;
+    private final int history;
+    private final long maxAgeMillis;
+    private final Map<Long, EventHistory> histories;
+
+    public SeatMaps(ShardRouter shardRouter,
+                    EventRepository eventRepository,
+                    BookingSeatRepository bookingSeatRepository,
+                    SeatHoldItemRepository seatHoldItemRepository,
+                    SeatInventory seatInventory,
+                    @Value("${ticketbooking.seat-map.history:32}") int history,
+                    @Value("${ticketbooking.seat-map.max-age-ms:1000}") long maxAgeMillis,
+                    @Value("${ticketbooking.seat-map.max-events:1000}") int maxEvents) {
+        this.shardRouter = shardRouter;
+        this.eventRepository = eventRepository;
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.seatHoldItemRepository = seatHoldItemRepository;
+        this.seatInventory = seatInventory;
+        this.history = Math.max(1, history);
+        this.maxAgeMillis = maxAgeMillis;
+        this.histories = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EventHistory> eldest) {
+                return size() > Math.max(1, maxEvents);
+            }
+        };
+    }
+
+    public record Snapshot(Long eventId, int totalSeats, long version, byte[] packed) {
+    }
+
+    public Snapshot current(Long eventId) {
+        EventHistory eventHistory;
+        synchronized (histories) {
+            eventHistory = histories.computeIfAbsent(eventId, id -> new EventHistory());
+        }
+        synchronized (eventHistory) {
+            long now = System.currentTimeMillis();
+            Snapshot latest = eventHistory.versions.peekLast();
+            if (latest != null && now - eventHistory.builtAtMillis < maxAgeMillis) {
+                return latest;
+            }
+            Snapshot built = build(eventId, latest);
+            eventHistory.builtAtMillis = now;
+            if (latest == null || !Arrays.equals(latest.packed(), built.packed())) {
+                eventHistory.versions.addLast(built);
+                if (eventHistory.versions.size() > history) {
+                    eventHistory.versions.removeFirst();
+                }
+                return built;
+            }
+            return latest;
+        }
+    }
+
+    /**
+     * Makes the next read of {@code eventId} rebuild its map regardless of {@code max-age-ms}.
+     */
+    public void invalidate(Long eventId) {
+        EventHistory eventHistory;
+        synchronized (histories) {
+            eventHistory = histories.get(eventId);
+        }
+        if (eventHistory != null) {
+            synchronized (eventHistory) {
+                eventHistory.builtAtMillis = 0;
+            }
+        }
+    }
+
+    public SeatMapResponse full(Long eventId) {
+        Snapshot snapshot = current(eventId);
+        return new SeatMapResponse(snapshot.eventId(), snapshot.totalSeats(), snapshot.version(),
+                Base64.getEncoder().encodeToString(snapshot.packed()));
+    }
+
+    /**
+     * Changes since {@code sinceVersion}, or {@code null} when that version is no longer (or never was) in the
+     * history and the caller must fall back to the full map.
+     */
+    public SeatMapDeltaResponse delta(Long eventId, long sinceVersion) {
+        Snapshot snapshot = current(eventId);
+        Snapshot since = null;
+        EventHistory eventHistory;
+        synchronized (histories) {
+            eventHistory = histories.get(eventId);
+        }
+        if (eventHistory != null) {
+            synchronized (eventHistory) {
+                for (Snapshot candidate : eventHistory.versions) {
+                    if (candidate.version() == sinceVersion) {
+                        since = candidate;
+                    }
+                }
+            }
+        }
+        if (since == null || since.totalSeats() != snapshot.totalSeats()) {
+            return null;
+        }
+        List<List<Integer>> changed = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int seat = 1; seat <= snapshot.totalSeats(); seat++) {
+            int state = stateOf(snapshot.packed(), seat);
+            if (state != stateOf(since.packed(), seat)) {
+                changed.get(state).add(seat);
+            }
+        }
+        return new SeatMapDeltaResponse(eventId, snapshot.totalSeats(), sinceVersion, snapshot.version(),
+                SeatNumbersJson.toRanges(changed.get(EventSeatState.FREE)),
+                SeatNumbersJson.toRanges(changed.get(EventSeatState.HELD)),
+                SeatNumbersJson.toRanges(changed.get(EventSeatState.BOOKED)));
+    }
+
+    private Snapshot build(Long eventId, Snapshot previous) {
+        return shardRouter.read(shardRouter.shardForEvent(eventId), () -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
+            int totalSeats = event.getTotalSeats();
+            byte[] packed = new byte[(totalSeats + 3) / 4];
+            EventSeatState cached = seatInventory.isEnabled() ? seatInventory.cached(eventId).orElse(null) : null;
+            if (cached != null && cached.totalSeats() == totalSeats) {
+                long nowMillis = System.currentTimeMillis();
+                for (int seat = 1; seat <= totalSeats; seat++) {
+                    setState(packed, seat, cached.stateOf(seat, nowMillis));
+                }
+            } else {
+                LocalDateTime now = LocalDateTime.now();
+                for (Integer seat : seatHoldItemRepository.findSeatNumbersForActiveHolds(eventId, HoldStatus.HOLDING_SEATS, now)) {
+                    setState(packed, seat, EventSeatState.HELD);
+                }
+                for (Integer seat : bookingSeatRepository.findSeatNumbersForBookingStatus(eventId, BookingStatus.CONFIRMED)) {
+                    setState(packed, seat, EventSeatState.BOOKED);
+                }
+            }
+            long version = previous == null ? ThreadLocalRandom.current().nextLong(1, 1L << 52) : previous.version() + 1;
+            return new Snapshot(eventId, totalSeats, version, packed);
+        });
+    }
+
+    private static void setState(byte[] packed, int seat, int state) {
+        if (seat < 1 || seat > packed.length * 4) {
+            return;
+        }
+        int index = seat - 1;
+        int shift = (index % 4) * 2;
+        packed[index / 4] = (byte) ((packed[index / 4] & ~(3 << shift)) | (state << shift));
+    }
+
+    private static int stateOf(byte[] packed, int seat) {
+        int index = seat - 1;
+        return (packed[index / 4] >> ((index % 4) * 2)) & 3;
+    }
+
+    private static final class EventHistory {
+        private final Deque<Snapshot> versions = new ArrayDeque<>();
+        private long builtAtMillis;
+    }
+}
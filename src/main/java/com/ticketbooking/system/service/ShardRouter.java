@@ -0,0 +1,154 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.config.ShardContext;
+import com.ticketbooking.system.config.ShardingProperties;
+import com.ticketbooking.system.config.SqlStatementCounter;
+import com.ticketbooking.system.exception.NotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps events (and everything owned by an event) to a shard and runs work against it. Transactions are always
+ * opened after the shard is selected, so callers must go through {@link #read}/{@link #write} rather than
+ * {@code @Transactional}. With sharding disabled there is a single shard and every call runs locally.
+ */
+@Component
+public class ShardRouter {
+
+    public static final long SHARD_ID_SPAN = 1L << 40;
+
+    private final int shardCount;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardRouter(PlatformTransactionManager transactionManager, ShardingProperties properties) {
+        this.shardCount = properties.enabled() ? Math.max(1, properties.shards().size()) : 1;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.fanOutExecutor = shardCount > 1
+                ? Executors.newFixedThreadPool(shardCount, runnable -> {
+                    Thread thread = new Thread(runnable, "shard-fan-out");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    public static long firstIdForShard(int shard) {
+        return shard * SHARD_ID_SPAN + 1;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardForEvent(Long eventId) {
+        return shardForId(eventId).orElseThrow(() -> new NotFoundException("Event not found: " + eventId));
+    }
+
+    public int shardForBooking(Long bookingId) {
+        return shardForId(bookingId).orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
+    }
+
+    public int shardForNewEvent(String name, LocalDateTime eventDate, String location) {
+        String businessKey = name.toLowerCase(Locale.ROOT) + '|' + eventDate + '|' + location.toLowerCase(Locale.ROOT);
+        return Math.floorMod(businessKey.hashCode(), shardCount);
+    }
+
+    public <T> T inShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        if (previous != null && previous != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction bound to shard " + previous);
+        }
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public <T> T read(int shard, Supplier<T> work) {
+        return inShard(shard, () -> readTemplate.execute(status -> work.get()));
+    }
+
+    public <T> T write(int shard, Supplier<T> work) {
+        return inShard(shard, () -> writeTemplate.execute(status -> work.get()));
+    }
+
+    public void writeEach(IntFunction<?> work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            write(current, () -> work.apply(current));
+        }
+    }
+
+    public <T> List<T> readAll(Supplier<List<T>> work) {
+        return fanOut(shard -> read(shard, work));
+    }
+
+    public <T> Optional<T> findFirst(Supplier<Optional<T>> work) {
+        return fanOut(shard -> read(shard, work).map(value -> List.of(value)).orElse(List.of())).stream().findFirst();
+    }
+
+    /**
+     * Runs {@code work} once per shard (in parallel when there is more than one) and concatenates the results in
+     * shard order.
+     */
+    public <T> List<T> fanOut(IntFunction<List<T>> work) {
+        if (shardCount == 1) {
+            return new ArrayList<>(work.apply(0));
+        }
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        SqlStatementCounter.Tally tally = SqlStatementCounter.current();
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> SqlStatementCounter.callWith(tally, () -> work.apply(current)), fanOutExecutor));
+        }
+        List<T> merged = new ArrayList<>();
+        try {
+            futures.forEach(future -> merged.addAll(future.join()));
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+
+    private Optional<Integer> shardForId(Long id) {
+        Objects.requireNonNull(id, "id");
+        if (shardCount == 1) {
+            return Optional.of(0);
+        }
+        long shard = (id - 1) / SHARD_ID_SPAN;
+        return id < 1 || shard >= shardCount ? Optional.empty() : Optional.of((int) shard);
+    }
+}
@@ -0,0 +1,178 @@
+package com.ticketbooking.system.service;
+
+import com.ticketbooking.system.dto.BookingResponse;
+import com.ticketbooking.system.dto.CursorPage;
+import com.ticketbooking.system.dto.HoldResponse;
+import com.ticketbooking.system.entity.Booking;
+import com.ticketbooking.system.entity.BookingSeat;
+import com.ticketbooking.system.entity.SeatHold;
+import com.ticketbooking.system.entity.SeatHoldItem;
+import com.ticketbooking.system.enums.HoldStatus;
+import com.ticketbooking.system.exception.ValidationException;
+import com.ticketbooking.system.repository.BookingRepository;
+import com.ticketbooking.system.repository.BookingSeatRepository;
+import com.ticketbooking.system.repository.SeatHoldItemRepository;
+import com.ticketbooking.system.repository.SeatHoldRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A user's bookings and holds, newest first, with keyset pagination on ({@code created_at}, {@code id}). Every
+ * shard returns at most one page from the user's index position and the pages are merged, so a request costs
+ * O(page size) per shard however long the user's history is. Seats are loaded for the whole page in one query.
+ * Archived bookings are not included.
+ */
+@Component
+public class UserHistory {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final LocalDateTime NEWEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final ShardRouter shardRouter;
+    private final BookingRepository bookingRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final SeatHoldItemRepository seatHoldItemRepository;
+
+    public UserHistory(ShardRouter shardRouter,
+                       BookingRepository bookingRepository,
+                       BookingSeatRepository bookingSeatRepository,
+                       SeatHoldRepository seatHoldRepository,
+                       SeatHoldItemRepository seatHoldItemRepository) {
+        this.shardRouter = shardRouter;
+        this.bookingRepository = bookingRepository;
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatHoldItemRepository = seatHoldItemRepository;
+    }
+
+    public CursorPage<BookingResponse> bookings(String userId, String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        Position after = Position.decode(cursor, String.valueOf(Long.MAX_VALUE));
+        long afterId = parseBookingId(after.id());
+        List<Row<BookingResponse>> rows = shardRouter.readAll(() -> {
+            List<Booking> bookings = bookingRepository.findUserPageBefore(userId, after.createdAt(), afterId,
+                    PageRequest.of(0, pageSize + 1));
+            if (bookings.isEmpty()) {
+                return List.<Row<BookingResponse>>of();
+            }
+            Map<Long, List<Integer>> seats = group(bookingSeatRepository.findByBookingIds(bookings.stream().map(Booking::getId).toList()),
+                    seat -> seat.getBooking().getId(), BookingSeat::getSeatNumber);
+            return bookings.stream()
+                    .map(booking -> new Row<>(booking.getCreatedAt(), String.valueOf(booking.getId()),
+                            new BookingResponse(
+                                    booking.getId(),
+                                    booking.getEvent().getId(),
+                                    booking.getUserId(),
+                                    booking.getStatus(),
+                                    booking.getCreatedAt(),
+                                    booking.getCanceledAt(),
+                                    seats.getOrDefault(booking.getId(), List.of())
+                            )))
+                    .toList();
+        });
+        return page(rows, pageSize, Comparator.comparingLong(Long::parseLong));
+    }
+
+    public CursorPage<HoldResponse> holds(String userId, HoldStatus status, String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        Position after = Position.decode(cursor, "\uFFFF");
+        List<Row<HoldResponse>> rows = shardRouter.readAll(() -> {
+            List<SeatHold> holds = seatHoldRepository.findUserPageBefore(userId, status, after.createdAt(), after.id(),
+                    PageRequest.of(0, pageSize + 1));
+            if (holds.isEmpty()) {
+                return List.<Row<HoldResponse>>of();
+            }
+            Map<String, List<Integer>> seats = group(seatHoldItemRepository.findByHoldIds(holds.stream().map(SeatHold::getId).toList()),
+                    item -> item.getHold().getId(), SeatHoldItem::getSeatNumber);
+            return holds.stream()
+                    .map(hold -> new Row<>(hold.getCreatedAt(), hold.getId(),
+                            new HoldResponse(
+                                    hold.getId(),
+                                    hold.getEvent().getId(),
+                                    hold.getUserId(),
+                                    hold.getExpiresAt(),
+                                    seats.getOrDefault(hold.getId(), List.of())
+                            )))
+                    .toList();
+        });
+        return page(rows, pageSize, Comparator.naturalOrder());
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static long parseBookingId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private static <T, K> Map<K, List<Integer>> group(List<T> items, Function<T, K> key, Function<T, Integer> seat) {
+        Map<K, List<Integer>> grouped = new HashMap<>();
+        for (T item : items) {
+            grouped.computeIfAbsent(key.apply(item), ignored -> new ArrayList<>()).add(seat.apply(item));
+        }
+        grouped.values().forEach(seats -> seats.sort(Comparator.naturalOrder()));
+        return grouped;
+    }
+
+    /**
+     * Merges the per-shard pages, newest first, and cuts the result at {@code pageSize}.
+     */
+    private static <T> CursorPage<T> page(List<Row<T>> rows, int pageSize, Comparator<String> idOrder) {
+        List<Row<T>> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.<Row<T>, LocalDateTime>comparing(Row::createdAt)
+                .thenComparing(Row::id, idOrder)
+                .reversed());
+        List<Row<T>> pageRows = sorted.subList(0, Math.min(pageSize, sorted.size()));
+        String nextCursor = null;
+        if (sorted.size() > pageSize) {
+            Row<T> last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new Position(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPage<>(pageRows.stream().map(Row::item).toList(), nextCursor);
+    }
+
+    private record Row<T>(LocalDateTime createdAt, String id, T item) {
+    }
+
+    /**
+     * Opaque cursor: the ({@code createdAt}, {@code id}) of the last item returned.
+     */
+    private record Position(LocalDateTime createdAt, String id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor, String newestId) {
+            if (cursor == null || cursor.isBlank()) {
+                return new Position(NEWEST, newestId);
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('|');
+                return new Position(LocalDateTime.parse(decoded.substring(0, separator)), decoded.substring(separator + 1));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+    }
+}
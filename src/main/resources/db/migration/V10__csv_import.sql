@@ -0,0 +1,25 @@
+create table import_jobs (
+    id bigint generated by default as identity primary key,
+    kind varchar(32) not null,
+    source_name varchar(255),
+    status varchar(32) not null,
+    checkpoint_line bigint default 0 not null,
+    imported_rows bigint default 0 not null,
+    skipped_rows bigint default 0 not null,
+    failed_rows bigint default 0 not null,
+    started_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    finished_at timestamp(6),
+    error_message varchar(1000)
+);
+
+create table import_errors (
+    id bigint generated by default as identity primary key,
+    job_id bigint not null,
+    line_number bigint not null,
+    message varchar(1000) not null,
+    raw_line varchar(2000),
+    constraint fk_import_errors_job foreign key (job_id) references import_jobs (id)
+);
+
+create index idx_import_errors_job_line on import_errors (job_id, line_number);
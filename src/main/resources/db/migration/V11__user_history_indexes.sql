@@ -0,0 +1,5 @@
+-- BookingRepository.findUserPageBefore (newest first, keyset on created_at, id)
+create index idx_bookings_user_created on bookings (user_id, created_at, id);
+
+-- SeatHoldRepository.findUserPageBefore
+create index idx_seat_holds_user_status_created on seat_holds (user_id, status, created_at, id);
@@ -0,0 +1,8 @@
+create table job_leases (
+    job_name varchar(100) primary key,
+    owner varchar(255) not null,
+    token bigint not null,
+    acquired_at timestamp(6) not null,
+    renewed_at timestamp(6) not null,
+    expires_at timestamp(6) not null
+);
@@ -0,0 +1,9 @@
+create table cache_invalidations (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null,
+    kind varchar(32) not null,
+    origin varchar(255) not null,
+    created_at timestamp(6) not null
+);
+
+create index idx_cache_invalidations_created on cache_invalidations (created_at);
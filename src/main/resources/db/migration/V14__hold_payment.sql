@@ -0,0 +1,2 @@
+alter table seat_holds add column payment_reference varchar(100);
+alter table seat_holds add column payment_failure varchar(255);
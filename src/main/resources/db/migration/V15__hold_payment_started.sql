@@ -0,0 +1,4 @@
+alter table seat_holds add column payment_started_at timestamp(6);
+
+-- SeatHoldRepository.findByStatusAndPaymentStartedAtBefore
+create index idx_seat_holds_status_payment_started on seat_holds (status, payment_started_at);
@@ -0,0 +1,5 @@
+-- Last outbox sequence number handed out per event; advanced with an update, so its row lock orders the writers.
+alter table events add column outbox_sequence bigint default 0 not null;
+
+alter table booking_outbox add column event_sequence bigint;
+create unique index ux_booking_outbox_event_sequence on booking_outbox (event_id, event_sequence);
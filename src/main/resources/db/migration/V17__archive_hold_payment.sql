@@ -0,0 +1,4 @@
+-- Payment state of archived holds, copied by BookingArchive alongside the other hold columns.
+alter table seat_holds_archive add column payment_reference varchar(100);
+alter table seat_holds_archive add column payment_failure varchar(255);
+alter table seat_holds_archive add column payment_started_at timestamp(6);
@@ -0,0 +1,60 @@
+create table events (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null,
+    event_date timestamp(6) not null,
+    location varchar(255) not null,
+    total_seats integer not null,
+    version bigint,
+    constraint uk_event_business_key unique (name, event_date, location)
+);
+
+create table seat_holds (
+    id varchar(36) primary key,
+    event_id bigint not null,
+    user_id varchar(255) not null,
+    status varchar(32) not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    constraint fk_seat_holds_event foreign key (event_id) references events (id)
+);
+
+create table seat_hold_items (
+    id bigint generated by default as identity primary key,
+    hold_id varchar(36) not null,
+    seat_number integer not null,
+    constraint uk_hold_seat unique (hold_id, seat_number),
+    constraint fk_seat_hold_items_hold foreign key (hold_id) references seat_holds (id)
+);
+
+create table bookings (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null,
+    user_id varchar(255) not null,
+    status varchar(32) not null,
+    created_at timestamp(6) not null,
+    canceled_at timestamp(6),
+    hold_id varchar(36) not null,
+    constraint fk_bookings_event foreign key (event_id) references events (id)
+);
+
+create table booking_seats (
+    id bigint generated by default as identity primary key,
+    booking_id bigint not null,
+    seat_number integer not null,
+    constraint uk_booking_seat unique (booking_id, seat_number),
+    constraint fk_booking_seats_booking foreign key (booking_id) references bookings (id)
+);
+
+create table seat_claims (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null,
+    seat_number integer not null,
+    hold_id varchar(36),
+    booking_id bigint,
+    claimed_at timestamp(6) not null,
+    expires_at timestamp(6),
+    constraint uk_seat_claim unique (event_id, seat_number)
+);
+
+create index idx_seat_claim_hold on seat_claims (hold_id);
+create index idx_seat_claim_booking on seat_claims (booking_id);
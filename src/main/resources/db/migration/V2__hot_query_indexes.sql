@@ -0,0 +1,20 @@
+-- SeatHoldItemRepository active-hold joins, SeatHoldRepository.findByStatusAndEventId
+create index idx_seat_holds_event_status_expires on seat_holds (event_id, status, expires_at);
+
+-- SeatHoldRepository.findByStatusAndExpiresAtBefore (expiry sweeper), findByStatus
+create index idx_seat_holds_status_expires on seat_holds (status, expires_at);
+
+-- SeatHoldRepository.findByStatusAndUserId
+create index idx_seat_holds_status_user on seat_holds (status, user_id);
+
+-- SeatHoldRepository.findHoldIdsForEventAndUser, findByStatusAndEventIdAndUserId
+create index idx_seat_holds_event_user_status on seat_holds (event_id, user_id, status);
+
+-- BookingSeatRepository joins, BookingRepository.existsByEventIdAndUserIdAndStatus
+create index idx_bookings_event_status_user on bookings (event_id, status, user_id);
+
+-- BookingRepository.existsByHoldIdAndUserIdAndStatus
+create index idx_bookings_hold_user_status on bookings (hold_id, user_id, status);
+
+-- SeatClaimRepository.deleteExpiredHoldClaims
+create index idx_seat_claim_expires on seat_claims (expires_at);
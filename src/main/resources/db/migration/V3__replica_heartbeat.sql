@@ -0,0 +1,6 @@
+create table replica_heartbeat (
+    id integer primary key,
+    beat_at timestamp(6) not null
+);
+
+insert into replica_heartbeat (id, beat_at) values (1, current_timestamp);
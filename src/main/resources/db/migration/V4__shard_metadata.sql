@@ -0,0 +1,5 @@
+create table shard_metadata (
+    id integer primary key,
+    shard_index integer not null,
+    id_range_start bigint not null
+);
@@ -0,0 +1,16 @@
+create table booking_outbox (
+    id bigint generated by default as identity primary key,
+    event_type varchar(32) not null,
+    event_id bigint not null,
+    hold_id varchar(36),
+    booking_id bigint,
+    user_id varchar(255),
+    seat_numbers clob,
+    occurred_at timestamp not null,
+    published_at timestamp,
+    attempts integer default 0 not null,
+    next_attempt_at timestamp
+);
+
+create index idx_booking_outbox_pending on booking_outbox (published_at, id);
+create index idx_booking_outbox_event_pending on booking_outbox (event_id, published_at, next_attempt_at);
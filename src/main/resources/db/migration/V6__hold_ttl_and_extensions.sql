@@ -0,0 +1,3 @@
+alter table events add column hold_ttl_seconds integer;
+
+alter table seat_holds add column extension_count integer default 0 not null;
@@ -0,0 +1,15 @@
+create table waitlist_entries (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null,
+    user_id varchar(255) not null,
+    seat_numbers clob,
+    seat_count integer not null,
+    status varchar(32) not null,
+    hold_id varchar(36),
+    created_at timestamp not null,
+    fulfilled_at timestamp,
+    constraint fk_waitlist_event foreign key (event_id) references events (id)
+);
+
+create index idx_waitlist_event_status on waitlist_entries (event_id, status, id);
+create index idx_waitlist_status_event on waitlist_entries (status, event_id);
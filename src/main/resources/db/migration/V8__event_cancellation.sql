@@ -0,0 +1,34 @@
+alter table events add column canceled_at timestamp(6);
+
+create table event_cancellation_jobs (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null,
+    status varchar(32) not null,
+    reason varchar(500),
+    total_bookings integer default 0 not null,
+    canceled_bookings integer default 0 not null,
+    total_holds integer default 0 not null,
+    released_holds integer default 0 not null,
+    started_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    finished_at timestamp(6),
+    error_message varchar(1000),
+    constraint fk_cancellation_jobs_event foreign key (event_id) references events (id)
+);
+
+create index idx_cancellation_jobs_event on event_cancellation_jobs (event_id, id);
+create index idx_cancellation_jobs_status on event_cancellation_jobs (status);
+
+-- One row per booking canceled by an event cancellation; the refund feed.
+create table booking_cancellations (
+    id bigint generated by default as identity primary key,
+    job_id bigint not null,
+    booking_id bigint not null,
+    event_id bigint not null,
+    user_id varchar(255) not null,
+    seat_count integer not null,
+    canceled_at timestamp(6) not null,
+    constraint uk_booking_cancellation_booking unique (booking_id)
+);
+
+create index idx_booking_cancellations_job on booking_cancellations (job_id, id);
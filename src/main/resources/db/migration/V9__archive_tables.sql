@@ -0,0 +1,32 @@
+-- Cold copies of holds and bookings moved out of the hot tables by BookingArchive. Seat numbers are stored
+-- denormalized as a comma-separated list, so an archived row needs no child table.
+create table seat_holds_archive (
+    id varchar(36) primary key,
+    event_id bigint not null,
+    user_id varchar(255) not null,
+    status varchar(32) not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    extension_count integer not null,
+    seat_numbers clob,
+    archived_at timestamp(6) not null
+);
+
+create index idx_seat_holds_archive_event_user on seat_holds_archive (event_id, user_id);
+
+create table bookings_archive (
+    id bigint primary key,
+    event_id bigint not null,
+    user_id varchar(255) not null,
+    status varchar(32) not null,
+    created_at timestamp(6) not null,
+    canceled_at timestamp(6),
+    hold_id varchar(36) not null,
+    seat_numbers clob,
+    archived_at timestamp(6) not null
+);
+
+create index idx_bookings_archive_event_user on bookings_archive (event_id, user_id);
+
+-- BookingArchive candidate scans
+create index idx_events_event_date on events (event_date);
@@ -0,0 +1,224 @@
+package com.ticketbooking.system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketbooking.system.config.SqlStatementBudgetFilter;
+import com.ticketbooking.system.dto.*;
+import com.ticketbooking.system.exception.ConflictException;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventMailboxes;
+import com.ticketbooking.system.service.EventService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:actor-mode;DB_CLOSE_DELAY=-1",
+        "ticketbooking.concurrency.mode=ACTOR",
+        "ticketbooking.inventory.enabled=true"
+})
+@AutoConfigureMockMvc
+class ActorModeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementBudgetFilter sqlStatementBudget;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventMailboxes eventMailboxes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void competingHoldsOnOneEventAreSerializedAndOnlyOneWins() {
+        EventResponse event = eventService.create(new EventRequest("Actor Show", LocalDateTime.now().plusDays(4), "Hall A", 30));
+
+        List<CompletableFuture<HoldResponse>> attempts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            attempts.add(bookingService.holdSeatsAsync(event.id(), new HoldSeatsRequest("user-" + i, List.of(7, 8))));
+        }
+        attempts.add(bookingService.holdSeatsAsync(event.id(), new HoldSeatsRequest("user-other", List.of(9))));
+
+        int succeeded = 0;
+        int conflicts = 0;
+        for (CompletableFuture<HoldResponse> attempt : attempts) {
+            try {
+                attempt.join();
+                succeeded++;
+            } catch (CompletionException ex) {
+                Assertions.assertInstanceOf(ConflictException.class, ex.getCause());
+                conflicts++;
+            }
+        }
+        Assertions.assertEquals(2, succeeded);
+        Assertions.assertEquals(19, conflicts);
+
+        HoldResponse winner = attempts.stream().filter(attempt -> !attempt.isCompletedExceptionally())
+                .map(CompletableFuture::join)
+                .filter(hold -> hold.seats().contains(7))
+                .findFirst()
+                .orElseThrow();
+        BookingResponse booking = bookingService.confirmBooking(new ConfirmBookingRequest(winner.holdId()));
+        Assertions.assertEquals("CONFIRMED", booking.status().toString());
+        Assertions.assertEquals(27, bookingService.availability(event.id()).availableSeats());
+    }
+
+    @Test
+    void pruningIdleMailboxesWhileSubmittingNeverRunsOneEventTwiceAtOnce() throws Exception {
+        EventResponse event = eventService.create(new EventRequest("Prune Race", LocalDateTime.now().plusDays(4), "Hall P", 10));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicBoolean pruning = new AtomicBoolean(true);
+        Thread pruner = new Thread(() -> {
+            while (pruning.get()) {
+                eventMailboxes.pruneIdleMailboxes();
+            }
+        });
+        pruner.start();
+
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> rounds = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                rounds.add(submitters.submit(() -> {
+                    for (int n = 0; n < 250; n++) {
+                        // Joining each message lets the mailbox go idle between submissions, so the pruner races them.
+                        eventMailboxes.submit("test", event.id(), () -> {
+                            if (running.incrementAndGet() > 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            LockSupport.parkNanos(50_000);
+                            running.decrementAndGet();
+                            return completed.incrementAndGet();
+                        }).join();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> round : rounds) {
+                round.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pruning.set(false);
+            pruner.join();
+            submitters.shutdownNow();
+        }
+
+        Assertions.assertEquals(1000, completed.get());
+        Assertions.assertEquals(0, overlaps.get(), "two mailboxes ran the same event concurrently");
+    }
+
+    @Test
+    void failingMessageIsRolledBackAloneAndRunsOnce() throws Exception {
+        EventResponse event = eventService.create(new EventRequest("Savepoint Show", LocalDateTime.now().plusDays(4), "Hall S", 10));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = eventMailboxes.submit("test", event.id(), () -> {
+            awaitQuietly(release);
+            return null;
+        });
+        AtomicInteger[] runs = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        IllegalStateException failure = new IllegalStateException("rejected");
+        CompletableFuture<Integer> first = eventMailboxes.submit("test", event.id(), () -> {
+            runs[0].incrementAndGet();
+            return jdbcTemplate.update("update events set location = 'first' where id = ?", event.id());
+        });
+        CompletableFuture<Integer> failing = eventMailboxes.submit("test", event.id(), () -> {
+            runs[1].incrementAndGet();
+            jdbcTemplate.update("update events set location = 'failing' where id = ?", event.id());
+            throw failure;
+        });
+        CompletableFuture<Integer> last = eventMailboxes.submit("test", event.id(), () -> {
+            runs[2].incrementAndGet();
+            return jdbcTemplate.update("update events set name = 'Savepoint Show, last' where id = ?", event.id());
+        });
+        release.countDown();
+        blocker.join();
+
+        Assertions.assertEquals(1, first.join());
+        Assertions.assertEquals(1, last.join());
+        CompletionException rejected = Assertions.assertThrows(CompletionException.class, failing::join);
+        Assertions.assertSame(failure, rejected.getCause());
+        for (AtomicInteger count : runs) {
+            Assertions.assertEquals(1, count.get(), "every message runs exactly once");
+        }
+        Map<String, Object> row = jdbcTemplate.queryForMap("select name, location from events where id = ?", event.id());
+        Assertions.assertEquals("first", row.get("LOCATION"));
+        Assertions.assertEquals("Savepoint Show, last", row.get("NAME"));
+    }
+
+    @Test
+    void statementsRunOnTheMailboxCountAgainstTheRequest() throws Exception {
+        EventResponse event = eventService.create(new EventRequest("Counted Show", LocalDateTime.now().plusDays(4), "Hall C", 10));
+
+        MvcResult hold = performPost("/api/events/" + event.id() + "/holds",
+                Map.of("userId", "user-counted", "seatNumbers", List.of(1, 2)));
+        Assertions.assertEquals(201, hold.getResponse().getStatus());
+        int holdStatements = sqlStatementBudget.lastStatementCount("POST", "/api/events/{eventId}/holds").orElseThrow();
+
+        String holdId = objectMapper.readTree(hold.getResponse().getContentAsString()).get("holdId").asText();
+        MvcResult booking = performPost("/api/bookings/confirm", Map.of("holdId", holdId));
+        Assertions.assertEquals(201, booking.getResponse().getStatus());
+        int confirmStatements = sqlStatementBudget.lastStatementCount("POST", "/api/bookings/confirm").orElseThrow();
+
+        // Locking the event, inserting the hold and its seats and claims all run on a mailbox worker.
+        Assertions.assertTrue(holdStatements >= 3 && holdStatements <= 25, "hold ran " + holdStatements + " statements");
+        Assertions.assertTrue(confirmStatements >= 3 && confirmStatements <= 25, "confirm ran " + confirmStatements + " statements");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MvcResult performPost(String uri, Object body) throws Exception {
+        MvcResult result = mockMvc.perform(post(uri)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body))
+                        .header("X-Correlation-Id", UUID.randomUUID().toString())
+                        .header("X-Idempotency-Key", UUID.randomUUID().toString()))
+                .andReturn();
+        return result.getRequest().isAsyncStarted()
+                ? mockMvc.perform(asyncDispatch(result)).andReturn()
+                : result;
+    }
+}
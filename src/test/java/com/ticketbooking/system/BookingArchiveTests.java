@@ -0,0 +1,66 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.*;
+import com.ticketbooking.system.service.BookingArchive;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-archive;DB_CLOSE_DELAY=-1",
+        "ticketbooking.archive.hold-retention=1d",
+        "ticketbooking.archive.booking-retention=1d",
+        "ticketbooking.archive.chunk-size=1"
+})
+class BookingArchiveTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingArchive bookingArchive;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void oldHoldsAndPastEventBookingsMoveToArchiveAndStayReadable() {
+        EventResponse event = eventService.create(new EventRequest("Archive Show", LocalDateTime.now().plusDays(4), "Hall Z", 20));
+        HoldResponse confirmedHold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-1", List.of(1, 2)));
+        BookingResponse booking = bookingService.confirmBooking(new ConfirmBookingRequest(confirmedHold.holdId()));
+        HoldResponse activeHold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-2", List.of(3)));
+
+        Timestamp longAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(10));
+        jdbcTemplate.update("update events set event_date = ? where id = ?", longAgo, event.id());
+        jdbcTemplate.update("update seat_holds set expires_at = ?, payment_reference = 'pay-archived', payment_started_at = ? where id = ?",
+                longAgo, longAgo, confirmedHold.holdId());
+
+        BookingArchive.ArchiveResult result = bookingArchive.archive();
+
+        Assertions.assertEquals(1, result.holds());
+        Assertions.assertEquals(1, result.bookings());
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("select count(*) from bookings", Integer.class));
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("select count(*) from seat_holds", Integer.class));
+        Map<String, Object> archivedHold = jdbcTemplate.queryForMap(
+                "select payment_reference, payment_started_at from seat_holds_archive where id = ?", confirmedHold.holdId());
+        Assertions.assertEquals("pay-archived", archivedHold.get("PAYMENT_REFERENCE"));
+        Assertions.assertNotNull(archivedHold.get("PAYMENT_STARTED_AT"));
+
+        BookingWithHoldsResponse archived = bookingService.viewBooking(booking.bookingId());
+        Assertions.assertEquals(List.of(1, 2), archived.seats());
+        Assertions.assertEquals(List.of(1, 2), bookingService.viewHold(confirmedHold.holdId()).seats());
+        Assertions.assertEquals(List.of(3), bookingService.viewHold(activeHold.holdId()).seats());
+    }
+}
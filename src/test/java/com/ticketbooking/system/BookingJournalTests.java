@@ -0,0 +1,108 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.service.BookingJournal;
+import com.ticketbooking.system.service.EventSeatState;
+import com.ticketbooking.system.service.SeatChange;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class BookingJournalTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRecordsAcrossSegmentsAndReopens() throws Exception {
+        BookingJournal journal = open(128);
+        journal.append(1L, new SeatChange.Held("hold-1", List.of(1, 2, 3), 1_000L));
+        journal.append(1L, new SeatChange.Confirmed("hold-1", 7L));
+        journal.append(2L, new SeatChange.Held("hold-2", List.of(4), 2_000L));
+        journal.append(2L, new SeatChange.HoldReleased("hold-2"));
+        journal.append(1L, new SeatChange.BookingCanceled(7L));
+        journal.close();
+
+        BookingJournal reopened = open(128);
+        Assertions.assertEquals(5L, reopened.lastSequence());
+        Assertions.assertTrue(segments().size() > 1, "small segments should have rolled");
+
+        List<SeatChange> replayed = new ArrayList<>();
+        reopened.replay(0, (sequence, eventId, change) -> replayed.add(change));
+        Assertions.assertEquals(List.of(
+                new SeatChange.Held("hold-1", List.of(1, 2, 3), 1_000L),
+                new SeatChange.Confirmed("hold-1", 7L),
+                new SeatChange.Held("hold-2", List.of(4), 2_000L),
+                new SeatChange.HoldReleased("hold-2"),
+                new SeatChange.BookingCanceled(7L)), replayed);
+
+        reopened.truncateThrough(3);
+        List<Long> retained = new ArrayList<>();
+        reopened.replay(3, (sequence, eventId, change) -> retained.add(sequence));
+        Assertions.assertEquals(List.of(4L, 5L), retained);
+        reopened.close();
+    }
+
+    @Test
+    void stopsReplayAtTornRecord() throws Exception {
+        BookingJournal journal = open(4096);
+        journal.append(1L, new SeatChange.Held("hold-1", List.of(1), 1_000L));
+        journal.append(1L, new SeatChange.HoldReleased("hold-1"));
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(60);
+            file.writeInt(0xDEADBEEF);
+        }
+
+        BookingJournal reopened = open(4096);
+        List<Long> sequences = new ArrayList<>();
+        reopened.replay(0, (sequence, eventId, change) -> sequences.add(sequence));
+        Assertions.assertEquals(List.of(1L), sequences);
+        Assertions.assertEquals(2L, reopened.append(1L, new SeatChange.HoldReleased("hold-1")));
+        reopened.close();
+    }
+
+    @Test
+    void seatStateSurvivesSnapshotRoundTrip() throws Exception {
+        EventSeatState state = new EventSeatState(5L, 10);
+        state.book(11L, List.of(1, 2));
+        state.hold("live", List.of(3, 4), Long.MAX_VALUE);
+        state.hold("lapsed", List.of(5), 1L);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        state.writeTo(new DataOutputStream(bytes), 100L);
+        EventSeatState restored = EventSeatState.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        Assertions.assertEquals(state.version(), restored.version());
+        Assertions.assertEquals(2, restored.bookedCount());
+        Assertions.assertEquals(2, restored.heldCount(100L));
+        Assertions.assertEquals(EventSeatState.FREE, restored.stateOf(5, 100L));
+        Assertions.assertEquals(EventSeatState.HELD, restored.stateOf(4, 100L));
+    }
+
+    private BookingJournal open(int segmentBytes) throws Exception {
+        BookingJournal journal = new BookingJournal(true, directory, segmentBytes,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        journal.open();
+        return journal;
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
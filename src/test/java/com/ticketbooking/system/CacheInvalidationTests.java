@@ -0,0 +1,77 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.dto.EventResponse;
+import com.ticketbooking.system.dto.HoldSeatsRequest;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventService;
+import com.ticketbooking.system.service.SeatInventory;
+import com.ticketbooking.system.service.SeatMaps;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Two application contexts on one database stand in for two nodes.
+ */
+class CacheInvalidationTests {
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private ConfigurableApplicationContext node(String nodeId) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EventTicketBookingSystemApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:cache-invalidation;DB_CLOSE_DELAY=-1",
+                        "server.port=0",
+                        "ticketbooking.cluster.node-id=" + nodeId,
+                        "ticketbooking.inventory.enabled=true",
+                        "ticketbooking.invalidation.enabled=true",
+                        "ticketbooking.invalidation.poll-interval=50ms",
+                        "ticketbooking.seat-map.max-age-ms=600000")
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    @Test
+    void changesOnOneNodeEvictCachesOnTheOther() throws InterruptedException {
+        ConfigurableApplicationContext nodeA = node("node-a");
+        ConfigurableApplicationContext nodeB = node("node-b");
+
+        EventResponse event = nodeA.getBean(EventService.class)
+                .create(new EventRequest("Coherence Night", LocalDateTime.now().plusDays(3), "Hall C", 10));
+        nodeB.getBean(BookingService.class).holdSeats(event.id(), new HoldSeatsRequest("user-b", List.of(5)));
+        SeatInventory inventoryB = nodeB.getBean(SeatInventory.class);
+        SeatMaps seatMapsB = nodeB.getBean(SeatMaps.class);
+        Assertions.assertTrue(inventoryB.cached(event.id()).isPresent());
+        long versionBefore = seatMapsB.current(event.id()).version();
+
+        nodeA.getBean(BookingService.class).holdSeats(event.id(), new HoldSeatsRequest("user-a", List.of(1, 2)));
+        awaitTrue(() -> inventoryB.cached(event.id()).isEmpty());
+        awaitTrue(() -> seatMapsB.current(event.id()).version() != versionBefore);
+
+        nodeA.getBean(EventService.class).update(event.id(),
+                new EventRequest("Coherence Night", event.eventDate(), "Hall C", 12));
+        awaitTrue(() -> seatMapsB.current(event.id()).totalSeats() == 12);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "invalidation did not arrive in time");
+            Thread.sleep(20);
+        }
+    }
+}
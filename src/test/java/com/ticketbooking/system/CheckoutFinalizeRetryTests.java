@@ -0,0 +1,137 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.*;
+import com.ticketbooking.system.enums.CheckoutStatus;
+import com.ticketbooking.system.exception.ServiceUnavailableException;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventMailboxes;
+import com.ticketbooking.system.service.EventService;
+import com.ticketbooking.system.service.PaymentPort;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A one-slot mailbox is kept full while the payment completes, so the finalize is rejected as a temporary
+ * overload and has to be retried instead of voiding the approved payment.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:checkout-finalize-retry;DB_CLOSE_DELAY=-1",
+        "ticketbooking.concurrency.mode=ACTOR",
+        "ticketbooking.concurrency.actor.mailbox-capacity=1",
+        "ticketbooking.concurrency.actor.batch-size=1",
+        "ticketbooking.payment.provider=gated",
+        "ticketbooking.payment.finalize-max-backoff=200ms",
+        "ticketbooking.payment.recovery-initial-delay-ms=3600000",
+        "ticketbooking.payment.recovery-interval-ms=3600000"
+})
+class CheckoutFinalizeRetryTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventMailboxes eventMailboxes;
+
+    @Autowired
+    private GatedPaymentPort paymentPort;
+
+    @Test
+    void approvedPaymentRejectedByAFullMailboxIsBookedOnceThereIsRoom() throws Exception {
+        EventResponse event = eventService.create(new EventRequest("Busy Night", LocalDateTime.now().plusDays(5), "Hall R", 10));
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-waiting", List.of(1, 2)));
+        Assertions.assertEquals(CheckoutStatus.PAYMENT_PENDING,
+                bookingService.checkoutAsync(new ConfirmBookingRequest(hold.holdId())).join().status());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = eventMailboxes.submit("test", event.id(), () -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        fillMailbox(event.id());
+
+        paymentPort.pending.get(hold.holdId()).complete(PaymentPort.PaymentResult.approved("gated-" + hold.holdId()));
+        Thread.sleep(500);
+        Assertions.assertEquals(CheckoutStatus.PAYMENT_PENDING, bookingService.checkoutStatus(hold.holdId()).status());
+        Assertions.assertTrue(paymentPort.voided.isEmpty());
+
+        release.countDown();
+        blocker.join();
+        CheckoutResponse checkout = awaitCheckout(hold.holdId());
+        Assertions.assertEquals(CheckoutStatus.CONFIRMED, checkout.status());
+        Assertions.assertNotNull(checkout.bookingId());
+        Assertions.assertTrue(paymentPort.voided.isEmpty());
+    }
+
+    private void fillMailbox(Long eventId) {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            CompletableFuture<Object> filler = eventMailboxes.submit("test", eventId, () -> null);
+            if (filler.isCompletedExceptionally()) {
+                CompletionException full = Assertions.assertThrows(CompletionException.class, filler::join);
+                Assertions.assertInstanceOf(ServiceUnavailableException.class, full.getCause());
+                return;
+            }
+        }
+        throw new AssertionError("mailbox never filled up");
+    }
+
+    private CheckoutResponse awaitCheckout(String holdId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            CheckoutResponse checkout = bookingService.checkoutStatus(holdId);
+            if (checkout.status() != CheckoutStatus.PAYMENT_PENDING) {
+                return checkout;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Checkout still pending for hold " + holdId);
+    }
+
+    @TestConfiguration
+    static class GatedPaymentPortConfig {
+        @Bean
+        GatedPaymentPort gatedPaymentPort() {
+            return new GatedPaymentPort();
+        }
+    }
+
+    /**
+     * Leaves every authorization pending until the test completes it.
+     */
+    static class GatedPaymentPort implements PaymentPort {
+        final Map<String, CompletableFuture<PaymentResult>> pending = new ConcurrentHashMap<>();
+        final List<String> voided = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<PaymentResult> authorize(PaymentRequest request) {
+            return pending.computeIfAbsent(request.holdId(), holdId -> new CompletableFuture<>());
+        }
+
+        @Override
+        public void voidAuthorization(String reference) {
+            voided.add(reference);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.*;
+import com.ticketbooking.system.enums.CheckoutStatus;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventService;
+import com.ticketbooking.system.service.PaymentPort;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A crash between the two checkout phases is simulated by moving a hold to {@code PAYMENT_PENDING} directly, so no
+ * authorization is in flight for it on this node.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:checkout-recovery;DB_CLOSE_DELAY=-1",
+        "ticketbooking.payment.provider=recording",
+        "ticketbooking.payment.stale-after=30s",
+        "ticketbooking.payment.recovery-initial-delay-ms=3600000",
+        "ticketbooking.payment.recovery-interval-ms=3600000"
+})
+class CheckoutRecoveryTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RecordingPaymentPort paymentPort;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void staleApprovedCheckoutIsBookedAndFreshOneIsLeftAlone() throws Exception {
+        EventResponse event = createEvent("Recovery Night");
+        HoldResponse stale = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-crashed", List.of(1, 2)));
+        HoldResponse fresh = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-paying", List.of(3)));
+        LocalDateTime now = LocalDateTime.now();
+        markPaymentPending(stale.holdId(), now.minusMinutes(1), now.plusMinutes(1));
+        markPaymentPending(fresh.holdId(), now, now.plusMinutes(2));
+
+        bookingService.recoverStaleCheckouts();
+
+        CheckoutResponse recovered = awaitCheckout(stale.holdId());
+        Assertions.assertEquals(CheckoutStatus.CONFIRMED, recovered.status());
+        Assertions.assertNotNull(recovered.bookingId());
+        Assertions.assertEquals("recorded-" + stale.holdId(), recovered.paymentReference());
+        Assertions.assertFalse(paymentPort.authorized.contains(fresh.holdId()));
+        Assertions.assertEquals(CheckoutStatus.PAYMENT_PENDING, bookingService.checkoutStatus(fresh.holdId()).status());
+        Assertions.assertFalse(paymentPort.voided.contains("recorded-" + stale.holdId()));
+    }
+
+    @Test
+    void staleCheckoutPastItsTimeoutIsVoidedAndReleased() throws Exception {
+        EventResponse event = createEvent("Timeout Night");
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-timed-out", List.of(4)));
+        LocalDateTime now = LocalDateTime.now();
+        markPaymentPending(hold.holdId(), now.minusMinutes(3), now.minusSeconds(1));
+
+        bookingService.recoverStaleCheckouts();
+
+        Assertions.assertEquals(CheckoutStatus.FAILED, awaitCheckout(hold.holdId()).status());
+        Assertions.assertTrue(paymentPort.voided.contains("recorded-" + hold.holdId()));
+        bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-next", List.of(4)));
+    }
+
+    @Test
+    void staleDeclinedCheckoutIsReleased() throws Exception {
+        EventResponse event = createEvent("Declined Night");
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-declined", List.of(5)));
+        LocalDateTime now = LocalDateTime.now();
+        markPaymentPending(hold.holdId(), now.minusMinutes(1), now.plusMinutes(1));
+
+        bookingService.recoverStaleCheckouts();
+
+        CheckoutResponse released = awaitCheckout(hold.holdId());
+        Assertions.assertEquals(CheckoutStatus.FAILED, released.status());
+        Assertions.assertEquals("Card declined", released.failureReason());
+        bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-next", List.of(5)));
+    }
+
+    @Test
+    void authorizationThatThrowsReleasesTheHold() throws Exception {
+        EventResponse event = createEvent("Broken Gateway Night");
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-throws", List.of(6, 7)));
+
+        CheckoutResponse started = bookingService.checkoutAsync(new ConfirmBookingRequest(hold.holdId())).join();
+
+        Assertions.assertEquals(CheckoutStatus.PAYMENT_PENDING, started.status());
+        CheckoutResponse failed = awaitCheckout(hold.holdId());
+        Assertions.assertEquals(CheckoutStatus.FAILED, failed.status());
+        Assertions.assertEquals("Payment authorization failed", failed.failureReason());
+        bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-next", List.of(6, 7)));
+    }
+
+    private EventResponse createEvent(String name) {
+        return eventService.create(new EventRequest(name, LocalDateTime.now().plusDays(5), "Hall P", 10));
+    }
+
+    private void markPaymentPending(String holdId, LocalDateTime startedAt, LocalDateTime expiresAt) {
+        jdbcTemplate.update("update seat_holds set status = 'PAYMENT_PENDING', payment_started_at = ?, expires_at = ? where id = ?",
+                startedAt, expiresAt, holdId);
+    }
+
+    private CheckoutResponse awaitCheckout(String holdId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            CheckoutResponse checkout = bookingService.checkoutStatus(holdId);
+            if (checkout.status() != CheckoutStatus.PAYMENT_PENDING) {
+                return checkout;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Checkout still pending for hold " + holdId);
+    }
+
+    @TestConfiguration
+    static class RecordingPaymentPortConfig {
+        @Bean
+        RecordingPaymentPort recordingPaymentPort() {
+            return new RecordingPaymentPort();
+        }
+    }
+
+    /**
+     * Answers at once, declines {@code user-declined} and throws for {@code user-throws} instead of returning a
+     * future.
+     */
+    static class RecordingPaymentPort implements PaymentPort {
+        final List<String> authorized = new CopyOnWriteArrayList<>();
+        final List<String> voided = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<PaymentResult> authorize(PaymentRequest request) {
+            if ("user-throws".equals(request.userId())) {
+                throw new IllegalStateException("gateway unavailable");
+            }
+            authorized.add(request.holdId());
+            String reference = "recorded-" + request.holdId();
+            return CompletableFuture.completedFuture("user-declined".equals(request.userId())
+                    ? PaymentResult.declined(reference, "Card declined")
+                    : PaymentResult.approved(reference));
+        }
+
+        @Override
+        public void voidAuthorization(String reference) {
+            voided.add(reference);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ticketbooking.system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketbooking.system.dto.BookingResponse;
+import com.ticketbooking.system.dto.ConfirmBookingRequest;
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.dto.EventResponse;
+import com.ticketbooking.system.dto.HoldResponse;
+import com.ticketbooking.system.dto.HoldSeatsRequest;
+import com.ticketbooking.system.exception.ConflictException;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * In CLAIM mode nothing checks seats before inserting them, so every conflict below is raised by the unique key on
+ * {@code seat_claims (event_id, seat_number)}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:claim-mode;DB_CLOSE_DELAY=-1",
+        "ticketbooking.concurrency.mode=CLAIM"
+})
+@AutoConfigureMockMvc
+class ClaimModeTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void concurrentHoldsOnTheSameSeatsHaveOneWinner() throws Exception {
+        EventResponse event = createEvent("Claim Show");
+        int contenders = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(contenders);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HoldResponse>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < contenders; i++) {
+                String userId = "user-" + i;
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    return bookingService.holdSeats(event.id(), new HoldSeatsRequest(userId, List.of(5, 6)));
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<HoldResponse> attempt : attempts) {
+                try {
+                    attempt.get();
+                    succeeded++;
+                } catch (ExecutionException ex) {
+                    ConflictException conflict = Assertions.assertInstanceOf(ConflictException.class, ex.getCause());
+                    Assertions.assertEquals("One or more requested seats are not available", conflict.getMessage());
+                }
+            }
+            Assertions.assertEquals(1, succeeded);
+        } finally {
+            pool.shutdownNow();
+        }
+        Assertions.assertEquals(2, claimCount(event.id()));
+
+        MvcResult started = mockMvc.perform(post("/api/events/" + event.id() + "/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", "user-late", "seatNumbers", List.of(6, 7))))
+                        .header("X-Correlation-Id", UUID.randomUUID().toString())
+                        .header("X-Idempotency-Key", UUID.randomUUID().toString()))
+                .andReturn();
+        Assertions.assertTrue(started.getRequest().isAsyncStarted());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("One or more requested seats are not available"));
+    }
+
+    @Test
+    void releasedAndExpiredHoldsGiveTheirClaimsBack() {
+        EventResponse event = createEvent("Claim Release Show");
+        HoldResponse released = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-a", List.of(1, 2)));
+        bookingService.releaseHoldAsync(released.holdId()).join();
+        Assertions.assertEquals(0, claimCount(event.id()));
+
+        HoldResponse expiring = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-b", List.of(1, 2)));
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        jdbcTemplate.update("update seat_holds set expires_at = ? where id = ?", past, expiring.holdId());
+        jdbcTemplate.update("update seat_claims set expires_at = ? where hold_id = ?", past, expiring.holdId());
+        bookingService.releaseExpiredHolds();
+        Assertions.assertEquals("EXPIRED", jdbcTemplate.queryForObject(
+                "select status from seat_holds where id = ?", String.class, expiring.holdId()));
+        Assertions.assertEquals(0, claimCount(event.id()));
+
+        HoldResponse again = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-c", List.of(1, 2)));
+        Assertions.assertEquals(List.of(1, 2), again.seats());
+        Assertions.assertEquals(2, claimCount(event.id()));
+    }
+
+    @Test
+    void concurrentCancelsOfOneBookingHaveOneWinner() throws Exception {
+        EventResponse event = createEvent("Claim Cancel Show");
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-cancel", List.of(3, 4)));
+        BookingResponse booking = bookingService.confirmBooking(new ConfirmBookingRequest(hold.holdId()));
+        int contenders = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(contenders);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingResponse>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < contenders; i++) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    return bookingService.cancelBooking(booking.bookingId());
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<BookingResponse> attempt : attempts) {
+                try {
+                    attempt.get();
+                    succeeded++;
+                } catch (ExecutionException ex) {
+                    Assertions.assertTrue(ex.getCause() instanceof ConflictException
+                            || ex.getCause() instanceof ConcurrencyFailureException, ex.getCause().toString());
+                }
+            }
+            Assertions.assertEquals(1, succeeded);
+        } finally {
+            pool.shutdownNow();
+        }
+        Assertions.assertEquals("CANCELED", jdbcTemplate.queryForObject(
+                "select status from bookings where id = ?", String.class, booking.bookingId()));
+        Assertions.assertEquals(0, claimCount(event.id()));
+    }
+
+    @Test
+    void holdChangesLosingTheRaceToAConfirmAreRejected() {
+        EventResponse event = createEvent("Claim Stale Show");
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-stale", List.of(8, 9)));
+        BookingResponse booking = bookingService.confirmBooking(new ConfirmBookingRequest(hold.holdId()));
+        // What a release or extend that read the hold before the confirm committed would still see.
+        jdbcTemplate.update("update seat_holds set status = 'ACTIVE' where id = ?", hold.holdId());
+
+        CompletionException release = Assertions.assertThrows(CompletionException.class,
+                () -> bookingService.releaseHoldAsync(hold.holdId()).join());
+        Assertions.assertInstanceOf(ConflictException.class, release.getCause());
+        CompletionException extend = Assertions.assertThrows(CompletionException.class,
+                () -> bookingService.extendHoldAsync(hold.holdId()).join());
+        Assertions.assertInstanceOf(ConflictException.class, extend.getCause());
+
+        Assertions.assertEquals("ACTIVE", jdbcTemplate.queryForObject(
+                "select status from seat_holds where id = ?", String.class, hold.holdId()));
+        Assertions.assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from seat_claims where booking_id = ?", Integer.class, booking.bookingId()));
+    }
+
+    private EventResponse createEvent(String name) {
+        return eventService.create(new EventRequest(name, LocalDateTime.now().plusDays(3), "Hall C", 20));
+    }
+
+    private int claimCount(Long eventId) {
+        return jdbcTemplate.queryForObject("select count(*) from seat_claims where event_id = ?", Integer.class, eventId);
+    }
+}
@@ -0,0 +1,145 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.dto.EventResponse;
+import com.ticketbooking.system.dto.HoldResponse;
+import com.ticketbooking.system.dto.HoldSeatsRequest;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventOwnership;
+import com.ticketbooking.system.service.EventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Two application contexts on real ports share one ring and one database, so a write sent to the node that does
+ * not own the event has to travel to the owner over HTTP.
+ */
+class ClusterForwardingTests {
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final RestTemplate client = new RestTemplate();
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private int portA;
+    private int portB;
+
+    @BeforeEach
+    void startNodes() throws IOException {
+        portA = freePort();
+        portB = freePort();
+        nodeA = node("node-a", portA);
+        nodeB = node("node-b", portB);
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void bothNodesAgreeOnEveryOwner() {
+        EventOwnership ownershipA = nodeA.getBean(EventOwnership.class);
+        EventOwnership ownershipB = nodeB.getBean(EventOwnership.class);
+
+        int ownedByA = 0;
+        for (long eventId = 1; eventId <= 500; eventId++) {
+            String owner = ownershipA.ownerOf(eventId).id();
+            Assertions.assertEquals(owner, ownershipB.ownerOf(eventId).id(), "owner of event " + eventId);
+            Assertions.assertEquals(ownershipA.isLocal(eventId), !ownershipB.isLocal(eventId));
+            Assertions.assertEquals(owner, ownershipA.ownerOf(eventId).id(), "ownership is stable across calls");
+            if ("node-a".equals(owner)) {
+                ownedByA++;
+            }
+        }
+        Assertions.assertTrue(ownedByA > 0 && ownedByA < 500, "both nodes own part of the ring");
+    }
+
+    @Test
+    void holdSentToTheOtherNodeIsForwardedToTheOwner() {
+        EventResponse event = nodeA.getBean(EventService.class)
+                .create(new EventRequest("Ring Night", LocalDateTime.now().plusDays(3), "Hall R", 10));
+        boolean ownedByA = nodeA.getBean(EventOwnership.class).isLocal(event.id());
+        ConfigurableApplicationContext owner = ownedByA ? nodeA : nodeB;
+        ConfigurableApplicationContext other = ownedByA ? nodeB : nodeA;
+        String ownerId = ownedByA ? "node-a" : "node-b";
+        int otherPort = ownedByA ? portB : portA;
+
+        ResponseEntity<HoldResponse> response = postHold(otherPort, event.id(),
+                new HoldSeatsRequest("user-forwarded", List.of(3, 4)));
+
+        Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        HoldResponse hold = response.getBody();
+        Assertions.assertNotNull(hold);
+        Assertions.assertEquals(event.id(), hold.eventId());
+        Assertions.assertEquals("user-forwarded", hold.userId());
+        Assertions.assertEquals(List.of(3, 4), hold.seats());
+        Assertions.assertEquals(hold.seats(), other.getBean(BookingService.class).viewHold(hold.holdId()).seats());
+        Assertions.assertEquals(1.0, forwards(other, ownerId));
+        Assertions.assertEquals(0.0, forwards(owner, ownerId));
+
+        HttpClientErrorException conflict = Assertions.assertThrows(HttpClientErrorException.class,
+                () -> postHold(otherPort, event.id(), new HoldSeatsRequest("user-late", List.of(4))));
+        Assertions.assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+        Assertions.assertEquals(2.0, forwards(other, ownerId));
+    }
+
+    private ResponseEntity<HoldResponse> postHold(int port, Long eventId, HoldSeatsRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Correlation-Id", UUID.randomUUID().toString());
+        headers.set("X-Idempotency-Key", UUID.randomUUID().toString());
+        return client.postForEntity("http://localhost:" + port + "/api/events/" + eventId + "/holds",
+                new HttpEntity<>(request, headers), HoldResponse.class);
+    }
+
+    private static double forwards(ConfigurableApplicationContext node, String ownerId) {
+        Counter counter = node.getBean(MeterRegistry.class).find("ticketbooking.cluster.forwards")
+                .tag("outcome", "forwarded")
+                .tag("owner", ownerId)
+                .counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private ConfigurableApplicationContext node(String nodeId, int port) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EventTicketBookingSystemApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:cluster-forwarding;DB_CLOSE_DELAY=-1",
+                        "server.port=" + port,
+                        "ticketbooking.cluster.enabled=true",
+                        "ticketbooking.cluster.node-id=" + nodeId,
+                        "ticketbooking.cluster.members[0].id=node-a",
+                        "ticketbooking.cluster.members[0].url=http://localhost:" + portA,
+                        "ticketbooking.cluster.members[1].id=node-b",
+                        "ticketbooking.cluster.members[1].url=http://localhost:" + portB)
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
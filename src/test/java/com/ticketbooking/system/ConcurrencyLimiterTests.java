@@ -0,0 +1,69 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.exception.ServiceUnavailableException;
+import com.ticketbooking.system.service.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class ConcurrencyLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConcurrencyLimiter limiter(int initial, int min, int max, double holdShare) {
+        return new ConcurrencyLimiter(true, initial, min, max, holdShare, 1.5, Duration.ofSeconds(2),
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void holdsAreShedBeforeConfirms() {
+        ConcurrencyLimiter limiter = limiter(4, 4, 4, 0.5);
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        permits.add(limiter.acquire("hold"));
+        permits.add(limiter.acquire("hold"));
+
+        ServiceUnavailableException shed = Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> limiter.acquire("hold"));
+        Assertions.assertEquals(Duration.ofSeconds(2), shed.getRetryAfter());
+
+        permits.add(limiter.acquire("confirm"));
+        permits.add(limiter.acquire("confirm"));
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> limiter.acquire("confirm"));
+        // Unlimited operations are never shed.
+        limiter.acquire("cancel").release();
+
+        Assertions.assertEquals(4, limiter.inFlight());
+        Assertions.assertEquals(4.0, meterRegistry.get("ticketbooking.limiter.inflight").gauge().value());
+        Assertions.assertEquals(1.0, meterRegistry.get("ticketbooking.limiter.rejected").tag("operation", "hold").counter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("ticketbooking.limiter.rejected").tag("operation", "confirm").counter().count());
+
+        permits.forEach(ConcurrencyLimiter.Permit::release);
+        Assertions.assertEquals(0, limiter.inFlight());
+        limiter.acquire("hold").release();
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRisesAndStaysWithinBounds() throws InterruptedException {
+        ConcurrencyLimiter limiter = limiter(40, 5, 100, 1.0);
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire("confirm").release();
+        }
+        Assertions.assertTrue(limiter.limit() <= 40, "an idle limiter must not grow: " + limiter.limit());
+
+        for (int i = 0; i < 30; i++) {
+            ConcurrencyLimiter.Permit permit = limiter.acquire("confirm");
+            Thread.sleep(5);
+            permit.release();
+        }
+        Assertions.assertTrue(limiter.limit() < 40, "limit should shrink under rising latency: " + limiter.limit());
+        Assertions.assertTrue(limiter.limit() >= 5);
+        Assertions.assertEquals(limiter.limit(), (int) meterRegistry.get("ticketbooking.limiter.limit").gauge().value());
+    }
+}
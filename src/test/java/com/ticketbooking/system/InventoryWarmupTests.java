@@ -0,0 +1,186 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.config.InventoryWarmupHealthIndicator;
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.dto.EventResponse;
+import com.ticketbooking.system.dto.HoldSeatsRequest;
+import com.ticketbooking.system.repository.EventRepository;
+import com.ticketbooking.system.repository.SeatClaimRepository;
+import com.ticketbooking.system.service.BookingJournal;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventSeatState;
+import com.ticketbooking.system.service.EventService;
+import com.ticketbooking.system.service.InventoryRecovery;
+import com.ticketbooking.system.service.InventorySnapshots;
+import com.ticketbooking.system.service.SeatInventory;
+import com.ticketbooking.system.service.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Each test first moves earlier events past the warm-up horizon, so the warm-up counters only see the event the
+ * test works on.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory-warmup;DB_CLOSE_DELAY=-1",
+        "ticketbooking.inventory.enabled=true",
+        "ticketbooking.journal.enabled=true",
+        "ticketbooking.snapshot.enabled=true",
+        "ticketbooking.warmup.horizon=30d"
+})
+class InventoryWarmupTests {
+
+    @TempDir
+    static Path dataDirectory;
+
+    @DynamicPropertySource
+    static void dataDirectories(DynamicPropertyRegistry registry) {
+        registry.add("ticketbooking.journal.directory", () -> dataDirectory.resolve("journal").toString());
+        registry.add("ticketbooking.snapshot.directory", () -> dataDirectory.resolve("snapshots").toString());
+    }
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private InventorySnapshots snapshots;
+
+    @Autowired
+    private InventoryRecovery inventoryRecovery;
+
+    @Autowired
+    private BookingJournal journal;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SeatClaimRepository seatClaimRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void moveEarlierEventsPastTheHorizon() {
+        jdbcTemplate.update("update events set event_date = ?", LocalDateTime.now().plusYears(1));
+    }
+
+    @Test
+    void warmsFromSnapshotPlusJournalTail() throws Exception {
+        EventResponse event = createEvent("Snapshot Night");
+        bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-before", List.of(1, 2)));
+        snapshots.snapshotAll();
+        bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-after", List.of(5)));
+        seatInventory.evict(event.id());
+        double fromSnapshot = warmups("snapshot");
+        double fromDatabase = warmups("database");
+
+        inventoryRecovery.run(null);
+
+        EventSeatState state = seatInventory.cached(event.id()).orElseThrow();
+        long now = System.currentTimeMillis();
+        Assertions.assertEquals(EventSeatState.HELD, state.stateOf(1, now));
+        Assertions.assertEquals(EventSeatState.HELD, state.stateOf(2, now));
+        Assertions.assertEquals(EventSeatState.HELD, state.stateOf(5, now));
+        Assertions.assertEquals(EventSeatState.FREE, state.stateOf(3, now));
+        Assertions.assertEquals(fromSnapshot + 1, warmups("snapshot"));
+        Assertions.assertEquals(fromDatabase, warmups("database"));
+    }
+
+    @Test
+    void reconcilesClaimsTheSnapshotAndJournalMissed() throws Exception {
+        EventResponse event = createEvent("Reconcile Night");
+        bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-local", List.of(1)));
+        snapshots.snapshotAll();
+        // A claim written by another node never reaches this node's journal.
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("""
+                insert into seat_claims (event_id, seat_number, hold_id, claimed_at, expires_at)
+                values (?, ?, ?, ?, ?)
+                """, event.id(), 7, "hold-from-another-node", now.plusSeconds(1), now.plusMinutes(10));
+        seatInventory.evict(event.id());
+        double fromSnapshot = warmups("snapshot");
+
+        inventoryRecovery.run(null);
+
+        EventSeatState state = seatInventory.cached(event.id()).orElseThrow();
+        Assertions.assertEquals(EventSeatState.HELD, state.stateOf(7, System.currentTimeMillis()));
+        Assertions.assertEquals(EventSeatState.HELD, state.stateOf(1, System.currentTimeMillis()));
+        Assertions.assertEquals(fromSnapshot + 1, warmups("snapshot"));
+    }
+
+    @Test
+    void fallsBackToTheDatabaseWhenTheCountsDisagree() throws Exception {
+        EventResponse event = createEvent("Mismatch Night");
+        bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-mismatch", List.of(1, 2)));
+        snapshots.snapshotAll();
+        jdbcTemplate.update("delete from seat_claims where event_id = ? and seat_number = ?", event.id(), 2);
+        seatInventory.evict(event.id());
+        double fromSnapshot = warmups("snapshot");
+        double fromDatabase = warmups("database");
+
+        inventoryRecovery.run(null);
+
+        EventSeatState state = seatInventory.cached(event.id()).orElseThrow();
+        Assertions.assertEquals(EventSeatState.HELD, state.stateOf(1, System.currentTimeMillis()));
+        Assertions.assertEquals(EventSeatState.FREE, state.stateOf(2, System.currentTimeMillis()));
+        Assertions.assertEquals(fromSnapshot, warmups("snapshot"));
+        Assertions.assertEquals(fromDatabase + 1, warmups("database"));
+    }
+
+    @Test
+    void reportsOutOfServiceUntilWarmUpFinishes() throws Exception {
+        createEvent("Readiness Night");
+        InventoryRecovery recovery = new InventoryRecovery(journal, snapshots, seatInventory, eventRepository,
+                seatClaimRepository, shardRouter, Duration.ofDays(30), 1, meterRegistryProvider);
+        InventoryWarmupHealthIndicator indicator = new InventoryWarmupHealthIndicator(recovery);
+
+        Assertions.assertFalse(recovery.isReady());
+        Assertions.assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        recovery.run(null);
+
+        Assertions.assertTrue(recovery.isReady());
+        Assertions.assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    private EventResponse createEvent(String name) {
+        return eventService.create(new EventRequest(name, LocalDateTime.now().plusDays(5), "Hall W", 10));
+    }
+
+    private double warmups(String source) {
+        Counter counter = meterRegistry.find("ticketbooking.inventory.warmup").tag("source", source).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+}
@@ -0,0 +1,162 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.service.JobLeases;
+import com.ticketbooking.system.service.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:job-leases;DB_CLOSE_DELAY=-1")
+class JobLeasesTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<JobLeases> nodes = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(JobLeases::shutdown);
+    }
+
+    private JobLeases node(String owner, Duration renewInterval) {
+        JobLeases leases = new JobLeases(true, jdbcTemplate, shardRouter, owner, "node-1", Duration.ofMillis(300), renewInterval,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+        nodes.add(leases);
+        return leases;
+    }
+
+    @Test
+    void onlyOneNodeRunsAJobAndAnotherTakesOverWhenItsLeaseExpires() throws InterruptedException {
+        JobLeases nodeA = node("node-a", Duration.ofHours(1));
+        JobLeases nodeB = node("node-b", Duration.ofHours(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        Assertions.assertTrue(nodeA.runIfLeader("failover-job", runs::incrementAndGet));
+        Assertions.assertFalse(nodeB.runIfLeader("failover-job", runs::incrementAndGet));
+        Assertions.assertEquals(1, runs.get());
+        Assertions.assertEquals(1.0, meterRegistry.get("ticketbooking.leases.leader")
+                .tag("job", "failover-job").tag("owner", "node-a").gauge().value());
+
+        // node-a never renews, as if it had died
+        Thread.sleep(500);
+        Assertions.assertEquals(OptionalLong.of(2), nodeB.tryAcquire("failover-job"));
+        Assertions.assertTrue(nodeA.tryAcquire("failover-job").isEmpty());
+        Assertions.assertFalse(nodeA.isLeader("failover-job"));
+        Assertions.assertEquals(2L, jdbcTemplate.queryForObject(
+                "select token from job_leases where job_name = 'failover-job'", Long.class));
+        Assertions.assertEquals("node-b", jdbcTemplate.queryForObject(
+                "select owner from job_leases where job_name = 'failover-job'", String.class));
+        Assertions.assertEquals(1.0, meterRegistry.get("ticketbooking.leases.lost").tag("job", "failover-job").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get("ticketbooking.leases.leader")
+                .tag("job", "failover-job").tag("owner", "node-a").gauge().value());
+    }
+
+    @Test
+    void renewedLeaseIsKeptUntilReleasedOnShutdown() throws InterruptedException {
+        JobLeases nodeC = node("node-c", Duration.ofMillis(50));
+        JobLeases nodeD = node("node-d", Duration.ofHours(1));
+
+        Assertions.assertEquals(OptionalLong.of(1), nodeC.tryAcquire("renewed-job"));
+        Thread.sleep(700);
+        Assertions.assertTrue(nodeD.tryAcquire("renewed-job").isEmpty());
+        Assertions.assertTrue(nodeC.isLeader("renewed-job"));
+
+        nodeC.shutdown();
+        Assertions.assertEquals(OptionalLong.of(2), nodeD.tryAcquire("renewed-job"));
+    }
+
+    @Test
+    void runStopsAtTheFenceOnceAnotherNodeTookOver() {
+        JobLeases nodeE = node("node-e", Duration.ofHours(1));
+        JobLeases nodeF = node("node-f", Duration.ofHours(1));
+        List<Integer> batches = new ArrayList<>();
+
+        Assertions.assertTrue(nodeE.runIfLeader("fenced-job", () -> {
+            nodeE.checkFence();
+            batches.add(1);
+            // node-e stalls past its ttl and node-f takes over
+            while (nodeF.tryAcquire("fenced-job").isEmpty()) {
+                LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+            }
+            nodeE.checkFence();
+            batches.add(2);
+        }));
+
+        Assertions.assertEquals(List.of(1), batches);
+        Assertions.assertFalse(nodeE.isLeader("fenced-job"));
+        Assertions.assertTrue(nodeF.isLeader("fenced-job"));
+        // Outside a run there is nothing to fence.
+        nodeE.checkFence();
+    }
+
+    @Test
+    void runStopsAtTheFenceWhenRenewalFails() {
+        JobLeases nodeG = node("node-g", Duration.ofMillis(50));
+        List<Integer> batches = new ArrayList<>();
+
+        Assertions.assertTrue(nodeG.runIfLeader("renewal-job", () -> {
+            nodeG.checkFence();
+            batches.add(1);
+            jdbcTemplate.update("update job_leases set owner = 'intruder', token = token + 1 where job_name = 'renewal-job'");
+            while (nodeG.isLeader("renewal-job")) {
+                LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+            }
+            nodeG.checkFence();
+            batches.add(2);
+        }));
+
+        Assertions.assertEquals(List.of(1), batches);
+        Assertions.assertEquals(1.0, meterRegistry.get("ticketbooking.leases.lost").tag("job", "renewal-job").counter().count());
+    }
+
+    @Test
+    void fencedBatchOnShardZeroHoldsOffATakeoverUntilItCommits() throws Exception {
+        JobLeases nodeJ = node("node-j", Duration.ofHours(1));
+        JobLeases nodeK = node("node-k", Duration.ofHours(1));
+        CompletableFuture<OptionalLong> takeover = new CompletableFuture<>();
+
+        Assertions.assertTrue(nodeJ.runIfLeader("locked-job", () -> nodeJ.writeFenced(0, () -> {
+            // node-j stalls past its ttl inside the batch; node-k has to wait for the lease row
+            LockSupport.parkNanos(Duration.ofMillis(400).toNanos());
+            CompletableFuture.runAsync(() -> takeover.complete(nodeK.tryAcquire("locked-job")));
+            LockSupport.parkNanos(Duration.ofMillis(200).toNanos());
+            Assertions.assertFalse(takeover.isDone());
+            return null;
+        })));
+
+        Assertions.assertEquals(OptionalLong.of(2), takeover.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void missingLeaseRowIsInsertedOnce() {
+        JobLeases nodeH = node("node-h", Duration.ofHours(1));
+        JobLeases nodeI = node("node-i", Duration.ofHours(1));
+
+        Assertions.assertEquals(OptionalLong.of(1), nodeH.tryAcquire("inserted-job"));
+        Assertions.assertTrue(nodeI.tryAcquire("inserted-job").isEmpty());
+        Assertions.assertEquals(OptionalLong.of(1), nodeH.tryAcquire("inserted-job"));
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from job_leases where job_name = 'inserted-job'", Integer.class));
+    }
+}
@@ -0,0 +1,158 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.dto.EventResponse;
+import com.ticketbooking.system.dto.HoldResponse;
+import com.ticketbooking.system.dto.HoldSeatsRequest;
+import com.ticketbooking.system.enums.ConcurrencyMode;
+import com.ticketbooking.system.exception.ConflictException;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventConcurrencyControl;
+import com.ticketbooking.system.service.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:optimistic-mode;DB_CLOSE_DELAY=-1",
+        "ticketbooking.concurrency.mode=OPTIMISTIC",
+        "ticketbooking.concurrency.optimistic.backoff-base=1ms",
+        "ticketbooking.concurrency.optimistic.backoff-max=5ms"
+})
+class OptimisticLockingTests {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentHoldsOnTheSameSeatsHaveOneWinner() throws Exception {
+        EventResponse event = eventService.create(new EventRequest("Optimistic Show", LocalDateTime.now().plusDays(4), "Hall B", 20));
+        int contenders = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(contenders);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HoldResponse>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < contenders; i++) {
+                String userId = "user-" + i;
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    return bookingService.holdSeats(event.id(), new HoldSeatsRequest(userId, List.of(3, 4)));
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<HoldResponse> attempt : attempts) {
+                try {
+                    attempt.get();
+                    succeeded++;
+                } catch (ExecutionException ex) {
+                    Assertions.assertInstanceOf(ConflictException.class, ex.getCause());
+                }
+            }
+            Assertions.assertEquals(1, succeeded);
+        } finally {
+            pool.shutdownNow();
+        }
+        Assertions.assertEquals(18, bookingService.availability(event.id()).availableSeats());
+    }
+
+    @Test
+    void versionConflictsAreRetriedThenFinishPessimistically() {
+        EventConcurrencyControl control = control(1000);
+        List<LockModeType> lockModes = new ArrayList<>();
+
+        String result = control.execute("hold", 41L, lockMode -> {
+            lockModes.add(lockMode);
+            if (lockMode == LockModeType.OPTIMISTIC_FORCE_INCREMENT) {
+                throw new OptimisticLockException("forced version conflict");
+            }
+            return "held";
+        });
+
+        Assertions.assertEquals("held", result);
+        Assertions.assertEquals(List.of(LockModeType.OPTIMISTIC_FORCE_INCREMENT, LockModeType.OPTIMISTIC_FORCE_INCREMENT,
+                LockModeType.OPTIMISTIC_FORCE_INCREMENT, LockModeType.PESSIMISTIC_WRITE), lockModes);
+        Assertions.assertEquals(MAX_ATTEMPTS, counter("ticketbooking.concurrency.optimistic.conflicts", "operation", "hold"));
+        Assertions.assertEquals(MAX_ATTEMPTS - 1, counter("ticketbooking.concurrency.optimistic.retries", "operation", "hold"));
+        Assertions.assertEquals(1, counter("ticketbooking.concurrency.fallbacks", "reason", "retries_exhausted"));
+    }
+
+    @Test
+    void singleConflictIsRetriedOptimistically() {
+        EventConcurrencyControl control = control(1000);
+        List<LockModeType> lockModes = new ArrayList<>();
+
+        control.execute("confirm", 42L, lockMode -> {
+            lockModes.add(lockMode);
+            if (lockModes.size() == 1) {
+                throw new OptimisticLockException("forced version conflict");
+            }
+            return null;
+        });
+
+        Assertions.assertEquals(List.of(LockModeType.OPTIMISTIC_FORCE_INCREMENT, LockModeType.OPTIMISTIC_FORCE_INCREMENT), lockModes);
+        Assertions.assertEquals(1, counter("ticketbooking.concurrency.optimistic.retries", "operation", "confirm"));
+        Assertions.assertNull(meterRegistry.find("ticketbooking.concurrency.fallbacks").counter());
+    }
+
+    @Test
+    void highConflictRateKeepsEventPessimisticForTheCooldown() {
+        EventConcurrencyControl control = control(2);
+        List<LockModeType> lockModes = new ArrayList<>();
+        control.execute("hold", 43L, lockMode -> {
+            lockModes.add(lockMode);
+            if (lockMode == LockModeType.OPTIMISTIC_FORCE_INCREMENT) {
+                throw new OptimisticLockException("forced version conflict");
+            }
+            return null;
+        });
+        Assertions.assertEquals(List.of(LockModeType.OPTIMISTIC_FORCE_INCREMENT, LockModeType.OPTIMISTIC_FORCE_INCREMENT,
+                LockModeType.PESSIMISTIC_WRITE), lockModes);
+        Assertions.assertEquals(1, counter("ticketbooking.concurrency.fallbacks", "reason", "conflict_rate"));
+
+        lockModes.clear();
+        control.execute("hold", 43L, lockMode -> lockModes.add(lockMode));
+        Assertions.assertEquals(List.of(LockModeType.PESSIMISTIC_WRITE), lockModes);
+        Assertions.assertEquals(1.0, meterRegistry.get("ticketbooking.concurrency.pessimistic.events").gauge().value());
+    }
+
+    private EventConcurrencyControl control(int minSamples) {
+        return new EventConcurrencyControl(transactionManager,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                ConcurrencyMode.OPTIMISTIC, MAX_ATTEMPTS, Duration.ofMillis(1), Duration.ofMillis(2),
+                0.3, minSamples, Duration.ofMinutes(5));
+    }
+
+    private double counter(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.*;
+import com.ticketbooking.system.enums.OutboxEventType;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventService;
+import com.ticketbooking.system.service.OutboxRelay;
+import com.ticketbooking.system.service.OutboxSink;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-relay;DB_CLOSE_DELAY=-1",
+        "ticketbooking.outbox.enabled=true",
+        "ticketbooking.outbox.relay-interval-ms=3600000"
+})
+class OutboxRelayTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lifecycleEventsAreDeliveredInOrderAndRetriedAfterFailure() {
+        EventResponse event = eventService.create(new EventRequest("Outbox Show", LocalDateTime.now().plusDays(5), "Hall O", 10));
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-o", List.of(1, 2)));
+        BookingResponse booking = bookingService.confirmBooking(new ConfirmBookingRequest(hold.holdId()));
+        bookingService.cancelBooking(booking.bookingId());
+
+        recordingSink.failing = true;
+        outboxRelay.relay();
+        Assertions.assertTrue(recordingSink.received.isEmpty());
+        Assertions.assertEquals(3, jdbcTemplate.queryForObject(
+                "select count(*) from booking_outbox where published_at is null", Integer.class));
+
+        recordingSink.failing = false;
+        jdbcTemplate.update("update booking_outbox set next_attempt_at = null");
+        outboxRelay.relay();
+
+        List<OutboxEventType> types = recordingSink.received.stream()
+                .filter(received -> received.eventId().equals(event.id()))
+                .map(BookingLifecycleEvent::type)
+                .toList();
+        Assertions.assertEquals(List.of(OutboxEventType.HOLD_CREATED, OutboxEventType.BOOKING_CONFIRMED,
+                OutboxEventType.BOOKING_CANCELED), types);
+        Assertions.assertEquals(List.of(1, 2), recordingSink.received.get(1).seats());
+        Assertions.assertEquals(List.of(1L, 2L, 3L), recordingSink.received.stream()
+                .filter(received -> received.eventId().equals(event.id()))
+                .map(BookingLifecycleEvent::sequence)
+                .toList());
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from booking_outbox where published_at is null", Integer.class));
+    }
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements OutboxSink {
+        final List<BookingLifecycleEvent> received = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(List<BookingLifecycleEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            received.addAll(events);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.config.ReplicaLagMonitor;
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.repository.EventRepository;
+import com.ticketbooking.system.service.EventService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1",
+        "ticketbooking.datasource.replica.enabled=true",
+        "ticketbooking.datasource.replica.url=jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1",
+        "ticketbooking.datasource.replica.max-staleness=5s",
+        "ticketbooking.datasource.replica.heartbeat-interval-ms=3600000"
+})
+class ReadReplicaRoutingTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsUseReplicaOnlyWhileItIsFreshEnough() {
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        eventService.create(new EventRequest("Replica Show", LocalDateTime.now().plusDays(3), "Hall R", 10));
+
+        replica.update("update replica_heartbeat set beat_at = ? where id = 1", Timestamp.valueOf(LocalDateTime.now().plusSeconds(1)));
+        replicaLagMonitor.probe();
+        Assertions.assertTrue(replicaLagMonitor.isReplicaUsable());
+        Assertions.assertEquals(0L, readOnly.execute(status -> eventRepository.count()));
+
+        replica.update("update replica_heartbeat set beat_at = ? where id = 1", Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+        replicaLagMonitor.probe();
+        Assertions.assertFalse(replicaLagMonitor.isReplicaUsable());
+        Assertions.assertEquals(1L, readOnly.execute(status -> eventRepository.count()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.ticketbooking.system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ticketbooking.system.dto.BookingWithHoldsResponse;
+import com.ticketbooking.system.dto.HoldResponse;
+import com.ticketbooking.system.dto.SeatNumbersJson;
+import com.ticketbooking.system.enums.BookingStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes and serialization time per response for the available encodings: a box-office hold of 500 seats and a
+ * listing of 1000 bookings. Results are logged; the assertions only check that the compact forms are smaller and
+ * read back to the same seats.
+ */
+class ResponseEncodingBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseEncodingBenchmarkTests.class);
+    private static final int ITERATIONS = 200;
+
+    private final ObjectMapper json = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void compactSeatRangesShrinkLargeHoldsAndListings() throws IOException {
+        HoldResponse hold = new HoldResponse(UUID.randomUUID().toString(), 1L, "box-office", LocalDateTime.now(),
+                IntStream.rangeClosed(1, 500).boxed().toList());
+        List<BookingWithHoldsResponse> listing = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            int first = (int) (id * 4);
+            listing.add(new BookingWithHoldsResponse(id, 1L, "user-" + id, BookingStatus.CONFIRMED,
+                    LocalDateTime.now(), null, List.of(first, first + 1, first + 2, first + 3), 1,
+                    List.of(UUID.randomUUID().toString())));
+        }
+
+        Map<String, Long> holdBytes = measure("hold(500 seats)", hold);
+        Map<String, Long> listingBytes = measure("listing(1000 bookings)", listing);
+
+        Assertions.assertTrue(holdBytes.get("json+ranges") * 10 < holdBytes.get("json"), holdBytes.toString());
+        Assertions.assertTrue(listingBytes.get("json+ranges") < listingBytes.get("json"), listingBytes.toString());
+        Assertions.assertTrue(listingBytes.get("json+gzip") < listingBytes.get("json"), listingBytes.toString());
+        Assertions.assertTrue(listingBytes.get("cbor") < listingBytes.get("json"), listingBytes.toString());
+        Assertions.assertTrue(listingBytes.get("smile") < listingBytes.get("json"), listingBytes.toString());
+
+        requestRanges();
+        HoldResponse read = json.readValue(json.writeValueAsBytes(hold), HoldResponse.class);
+        Assertions.assertEquals(hold.seats(), read.seats());
+    }
+
+    private Map<String, Long> measure(String name, Object response) throws IOException {
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", json);
+        mappers.put("cbor", configure(new MappingJackson2CborHttpMessageConverter().getObjectMapper()));
+        mappers.put("smile", configure(new MappingJackson2SmileHttpMessageConverter().getObjectMapper()));
+
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        for (boolean ranges : List.of(false, true)) {
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                String encoding = mapper.getKey() + (ranges ? "+ranges" : "");
+                if (ranges) {
+                    requestRanges();
+                } else {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+                byte[] body = mapper.getValue().writeValueAsBytes(response);
+                long started = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    mapper.getValue().writeValueAsBytes(response);
+                }
+                long micros = (System.nanoTime() - started) / ITERATIONS / 1000;
+                bytes.put(encoding, (long) body.length);
+                log.info("{} {} bytes={} serializeMicros={}", name, encoding, body.length, micros);
+
+                started = System.nanoTime();
+                byte[] compressed = gzip(body);
+                log.info("{} {}+gzip bytes={} gzipMicros={}", name, encoding, compressed.length,
+                        (System.nanoTime() - started) / 1000);
+                bytes.put(encoding + "+gzip", (long) compressed.length);
+            }
+        }
+        return bytes;
+    }
+
+    private ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static void requestRanges() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter(SeatNumbersJson.SEAT_FORMAT_PARAM, SeatNumbersJson.RANGES);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
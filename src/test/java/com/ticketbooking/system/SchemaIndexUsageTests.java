@@ -0,0 +1,178 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.config.SqlStatementCounter;
+import com.ticketbooking.system.enums.BookingStatus;
+import com.ticketbooking.system.enums.CancellationJobStatus;
+import com.ticketbooking.system.enums.HoldStatus;
+import com.ticketbooking.system.enums.WaitlistStatus;
+import com.ticketbooking.system.repository.BookingCancellationRepository;
+import com.ticketbooking.system.repository.BookingRepository;
+import com.ticketbooking.system.repository.BookingSeatRepository;
+import com.ticketbooking.system.repository.EventCancellationJobRepository;
+import com.ticketbooking.system.repository.OutboxMessageRepository;
+import com.ticketbooking.system.repository.SeatClaimRepository;
+import com.ticketbooking.system.repository.SeatHoldItemRepository;
+import com.ticketbooking.system.repository.SeatHoldRepository;
+import com.ticketbooking.system.repository.WaitlistEntryRepository;
+import com.ticketbooking.system.service.BookingArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Explains the SQL Hibernate actually generates for the hot repository methods, captured through
+ * {@link SqlStatementCounter}, so a query that drifts away from its index fails here. Parameters are bound to
+ * null; H2 picks the plan without evaluating them.
+ */
+@SpringBootTest
+class SchemaIndexUsageTests {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SeatHoldRepository seatHolds;
+
+    @Autowired
+    private SeatHoldItemRepository seatHoldItems;
+
+    @Autowired
+    private BookingRepository bookings;
+
+    @Autowired
+    private BookingSeatRepository bookingSeats;
+
+    @Autowired
+    private SeatClaimRepository seatClaims;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntries;
+
+    @Autowired
+    private EventCancellationJobRepository cancellationJobs;
+
+    @Autowired
+    private BookingCancellationRepository bookingCancellations;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessages;
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("SeatHoldRepository.findByStatusInAndExpiresAtBefore",
+                        t -> t.seatHolds.findByStatusInAndExpiresAtBefore(HoldStatus.HOLDING_SEATS, AT)),
+                query("SeatHoldRepository.findHoldIdsForEventAndUser",
+                        t -> t.seatHolds.findHoldIdsForEventAndUser(1L, "user-1", HoldStatus.ACTIVE)),
+                query("SeatHoldRepository.findByStatus", t -> t.seatHolds.findByStatus(HoldStatus.ACTIVE)),
+                query("SeatHoldRepository.findByStatusAndEventId", t -> t.seatHolds.findByStatusAndEventId(HoldStatus.ACTIVE, 1L)),
+                query("SeatHoldRepository.findByStatusAndUserId", t -> t.seatHolds.findByStatusAndUserId(HoldStatus.ACTIVE, "user-1")),
+                query("SeatHoldRepository.findByStatusAndEventIdAndUserId",
+                        t -> t.seatHolds.findByStatusAndEventIdAndUserId(HoldStatus.ACTIVE, 1L, "user-1")),
+                query("SeatHoldRepository.findByStatusAndPaymentStartedAtBefore",
+                        t -> t.seatHolds.findByStatusAndPaymentStartedAtBefore(HoldStatus.PAYMENT_PENDING, AT)),
+                query("SeatHoldRepository.findByUserIdsAndStatus",
+                        t -> t.seatHolds.findByUserIdsAndStatus(List.of("user-1", "user-2"), HoldStatus.ACTIVE)),
+                query("SeatHoldRepository.findUserPageBefore",
+                        t -> t.seatHolds.findUserPageBefore("user-1", HoldStatus.ACTIVE, AT, "z", PageRequest.of(0, 21))),
+                query("SeatHoldItemRepository.findSeatNumbersForActiveHolds",
+                        t -> t.seatHoldItems.findSeatNumbersForActiveHolds(1L, HoldStatus.HOLDING_SEATS, AT)),
+                query("SeatHoldItemRepository.countForActiveHolds",
+                        t -> t.seatHoldItems.countForActiveHolds(1L, HoldStatus.HOLDING_SEATS, AT)),
+                query("BookingSeatRepository.findSeatNumbersForBookingStatus",
+                        t -> t.bookingSeats.findSeatNumbersForBookingStatus(1L, BookingStatus.CONFIRMED)),
+                query("BookingSeatRepository.countForBookingStatus",
+                        t -> t.bookingSeats.countForBookingStatus(1L, BookingStatus.CONFIRMED)),
+                query("BookingRepository.existsByEventIdAndUserIdAndStatus",
+                        t -> t.bookings.existsByEventIdAndUserIdAndStatus(1L, "user-1", BookingStatus.CONFIRMED)),
+                query("BookingRepository.existsByHoldIdAndUserIdAndStatus",
+                        t -> t.bookings.existsByHoldIdAndUserIdAndStatus("hold-1", "user-1", BookingStatus.CONFIRMED)),
+                query("BookingRepository.findUserPageBefore",
+                        t -> t.bookings.findUserPageBefore("user-1", AT, 10L, PageRequest.of(0, 21))),
+                query("SeatClaimRepository.deleteStaleHoldClaims",
+                        t -> t.seatClaims.deleteStaleHoldClaims(1L, List.of(1, 2), AT)),
+                query("SeatClaimRepository.transferToBooking", t -> t.seatClaims.transferToBooking("hold-1", 1L)),
+                query("SeatClaimRepository.deleteHoldClaims", t -> t.seatClaims.deleteHoldClaims(List.of("hold-1"))),
+                query("SeatClaimRepository.releaseBooking", t -> t.seatClaims.releaseBooking(1L)),
+                query("SeatClaimRepository.deleteExpiredHoldClaims", t -> t.seatClaims.deleteExpiredHoldClaims(AT)),
+                query("WaitlistEntryRepository.findByEventIdAndStatusOrderByIdAsc",
+                        t -> t.waitlistEntries.findByEventIdAndStatusOrderByIdAsc(1L, WaitlistStatus.WAITING, PageRequest.of(0, 100))),
+                query("WaitlistEntryRepository.findEventIdsByStatus",
+                        t -> t.waitlistEntries.findEventIdsByStatus(WaitlistStatus.WAITING)),
+                query("EventCancellationJobRepository.findFirstByEventIdOrderByIdDesc",
+                        t -> t.cancellationJobs.findFirstByEventIdOrderByIdDesc(1L)),
+                query("EventCancellationJobRepository.findByStatus",
+                        t -> t.cancellationJobs.findByStatus(CancellationJobStatus.RUNNING)),
+                query("BookingCancellationRepository.findByJobIdAndIdGreaterThanOrderByIdAsc",
+                        t -> t.bookingCancellations.findByJobIdAndIdGreaterThanOrderByIdAsc(1L, 0L, PageRequest.of(0, 500))),
+                query("OutboxMessageRepository.findDeliverable",
+                        t -> t.outboxMessages.findDeliverable(AT, PageRequest.of(0, 200)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositoryQueries")
+    void repositoryQueriesUseIndexes(Consumer<SchemaIndexUsageTests> call) {
+        String sql = generatedSql(call);
+        List<String> plan = jdbcTemplate.query("explain " + sql, statement -> {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+        }, (rs, row) -> rs.getString(1));
+        assertNoTableScan(sql, plan);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {BookingArchive.SELECT_HOLDS, BookingArchive.SELECT_BOOKINGS})
+    void archiveQueriesUseIndexes(String sql) {
+        List<String> plan = new NamedParameterJdbcTemplate(jdbcTemplate).queryForList("explain " + sql,
+                new MapSqlParameterSource().addValue("cutoff", AT).addValue("limit", 500), String.class);
+        assertNoTableScan(sql, plan);
+    }
+
+    /**
+     * Runs {@code call} in a rolled-back transaction and returns the first statement Hibernate prepared for it.
+     */
+    private String generatedSql(Consumer<SchemaIndexUsageTests> call) {
+        SqlStatementCounter.Tally tally = SqlStatementCounter.Tally.recording();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SqlStatementCounter.callWith(tally, () -> {
+                call.accept(this);
+                return null;
+            });
+            status.setRollbackOnly();
+        });
+        List<String> statements = tally.recordedStatements();
+        Assertions.assertFalse(statements.isEmpty(), "No SQL statement was captured");
+        return statements.get(0);
+    }
+
+    private static void assertNoTableScan(String sql, List<String> plan) {
+        String text = String.join("\n", plan);
+        Assertions.assertFalse(text.contains("tableScan"), () -> "Full table scan for\n" + sql + "\nplan:\n" + text);
+    }
+
+    private static Arguments query(String name, Consumer<SchemaIndexUsageTests> call) {
+        return Arguments.of(Named.of(name, call));
+    }
+}
@@ -0,0 +1,53 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.dto.BookingResponse;
+import com.ticketbooking.system.dto.ConfirmBookingRequest;
+import com.ticketbooking.system.dto.EventRequest;
+import com.ticketbooking.system.dto.EventResponse;
+import com.ticketbooking.system.dto.HoldResponse;
+import com.ticketbooking.system.dto.HoldSeatsRequest;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventService;
+import com.ticketbooking.system.service.SeatMaps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs with the default {@code max-age-ms}: a map built just before a local write must not be reused after it.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:seat-map-freshness;DB_CLOSE_DELAY=-1")
+class SeatMapFreshnessTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatMaps seatMaps;
+
+    @Test
+    void localWritesAreVisibleInTheNextSeatMap() {
+        EventResponse event = eventService.create(new EventRequest("Fresh Map Night", LocalDateTime.now().plusDays(3), "Hall F", 10));
+        SeatMaps.Snapshot empty = seatMaps.current(event.id());
+
+        HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-fresh", List.of(1, 2)));
+        SeatMaps.Snapshot held = seatMaps.current(event.id());
+        Assertions.assertNotEquals(empty.version(), held.version());
+
+        BookingResponse booking = bookingService.confirmBooking(new ConfirmBookingRequest(hold.holdId()));
+        SeatMaps.Snapshot booked = seatMaps.current(event.id());
+        Assertions.assertNotEquals(held.version(), booked.version());
+
+        bookingService.cancelBooking(booking.bookingId());
+        SeatMaps.Snapshot canceled = seatMaps.current(event.id());
+        Assertions.assertNotEquals(booked.version(), canceled.version());
+        Assertions.assertArrayEquals(empty.packed(), canceled.packed());
+    }
+}
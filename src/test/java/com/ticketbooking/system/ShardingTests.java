@@ -0,0 +1,71 @@
+package com.ticketbooking.system;
+
+import com.ticketbooking.system.config.ShardDataSources;
+import com.ticketbooking.system.dto.*;
+import com.ticketbooking.system.service.BookingService;
+import com.ticketbooking.system.service.EventService;
+import com.ticketbooking.system.service.ShardRouter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest(properties = {
+        "ticketbooking.sharding.enabled=true",
+        "ticketbooking.sharding.shards[0].url=jdbc:h2:mem:sharding-test-0;DB_CLOSE_DELAY=-1",
+        "ticketbooking.sharding.shards[1].url=jdbc:h2:mem:sharding-test-1;DB_CLOSE_DELAY=-1"
+})
+class ShardingTests {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Test
+    void eventsAndBookingsLiveOnTheirOwnShardAndListingsMergeAllShards() {
+        Map<Integer, EventResponse> eventByShard = new HashMap<>();
+        for (int i = 0; i < 50 && eventByShard.size() < 2; i++) {
+            EventResponse event = eventService.create(new EventRequest(
+                    "Sharded Show " + i, LocalDateTime.now().plusDays(7), "Arena", 20));
+            eventByShard.putIfAbsent(shardRouter.shardForEvent(event.id()), event);
+        }
+        Assertions.assertEquals(2, eventByShard.size());
+
+        Map<Integer, Long> bookingByShard = new HashMap<>();
+        eventByShard.forEach((shard, event) -> {
+            HoldResponse hold = bookingService.holdSeats(event.id(), new HoldSeatsRequest("user-" + shard, List.of(1, 2)));
+            BookingResponse booking = bookingService.confirmBooking(new ConfirmBookingRequest(hold.holdId()));
+            Assertions.assertEquals(shard, shardRouter.shardForBooking(booking.bookingId()));
+            bookingByShard.put(shard, booking.bookingId());
+        });
+
+        for (int shard = 0; shard < 2; shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(shardDataSources.get(shard));
+            Assertions.assertEquals(1, jdbc.queryForObject(
+                    "select count(*) from bookings where id = ?", Integer.class, bookingByShard.get(shard)));
+            Assertions.assertEquals(2, jdbc.queryForObject(
+                    "select count(*) from seat_claims where event_id = ?", Integer.class, eventByShard.get(shard).id()));
+        }
+
+        List<Long> listedBookingIds = bookingService.listBookings().bookings().stream()
+                .map(BookingWithHoldsResponse::bookingId)
+                .toList();
+        Assertions.assertTrue(listedBookingIds.containsAll(bookingByShard.values()));
+        Assertions.assertEquals(bookingByShard.get(1), bookingService.viewBooking(bookingByShard.get(1)).bookingId());
+        Assertions.assertEquals(18, bookingService.availability(eventByShard.get(1).id()).availableSeats());
+    }
+}
@@ -2,6 +2,11 @@ package com.ticketbooking.system;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ticketbooking.system.config.SqlStatementBudgetFilter;
+import com.ticketbooking.system.exception.ServiceUnavailableException;
+import com.ticketbooking.system.service.ConcurrencyLimiter;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,19 +14,33 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "ticketbooking.seat-map.max-age-ms=0",
+        "ticketbooking.payment.local.latency=50ms",
+        "ticketbooking.payment.local.decline-users=user-declined"
+})
 @AutoConfigureMockMvc
 class TicketBookingSystemApplicationTests {
 
@@ -31,6 +50,12 @@ class TicketBookingSystemApplicationTests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SqlStatementBudgetFilter sqlStatementBudget;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
     @Test
     void holdConfirmAndAvailabilityFlow() throws Exception {
         String eventBody = objectMapper.writeValueAsString(Map.of(
@@ -193,12 +218,662 @@ class TicketBookingSystemApplicationTests {
                 .andExpect(jsonPath("$.code").value("CONFLICT"));
     }
 
+    @Test
+    void holdCanBeExtendedBoundedTimesAndReleasedEarly() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Release Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 10,
+                "holdTtlSeconds", 60
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdTtlSeconds").value(60))
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        String holdBody = objectMapper.writeValueAsString(Map.of("userId", "user-r", "seatNumbers", List.of(1, 2)));
+        String holdResp = performPost("/api/events/" + eventId + "/holds", holdBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResp).get("holdId").asText();
+
+        performPost("/api/holds/" + holdId + "/extend", "").andExpect(status().isOk());
+        performPost("/api/holds/" + holdId + "/extend", "").andExpect(status().isOk());
+        performPost("/api/holds/" + holdId + "/extend", "")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("CONFLICT"));
+
+        performDelete("/api/holds/" + holdId)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.holdId").value(holdId));
+        performGet("/api/events/" + eventId + "/availability")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.heldSeats").value(0))
+                .andExpect(jsonPath("$.availableSeats").value(10));
+        performDelete("/api/holds/" + holdId).andExpect(status().isConflict());
+    }
+
+    @Test
+    void releasedSeatsAreHandedToWaitlistInOrder() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Waitlist Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 3
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        String holdBody = objectMapper.writeValueAsString(Map.of("userId", "user-a", "seatNumbers", List.of(1, 2, 3)));
+        String holdResp = performPost("/api/events/" + eventId + "/holds", holdBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResp).get("holdId").asText();
+
+        performPost("/api/events/" + eventId + "/waitlist",
+                objectMapper.writeValueAsString(Map.of("userId", "user-b", "seatNumbers", List.of(2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("WAITING"));
+        performPost("/api/events/" + eventId + "/waitlist",
+                objectMapper.writeValueAsString(Map.of("userId", "user-c", "seatCount", 2)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("WAITING"));
+        performPost("/api/events/" + eventId + "/waitlist",
+                objectMapper.writeValueAsString(Map.of("userId", "user-d", "seatCount", 1)))
+                .andExpect(status().isCreated());
+
+        performDelete("/api/holds/" + holdId).andExpect(status().isOk());
+
+        performGet("/api/events/" + eventId + "/waitlist?userId=user-b")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("FULFILLED"))
+                .andExpect(jsonPath("$[0].holdId").isNotEmpty());
+        performGet("/api/holds?eventId=" + eventId + "&userId=user-c")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].seatNumbers[0]").value(1))
+                .andExpect(jsonPath("$[0].seatNumbers[1]").value(3));
+        performGet("/api/events/" + eventId + "/waitlist?userId=user-d")
+                .andExpect(jsonPath("$[0].status").value("WAITING"));
+        performGet("/api/events/" + eventId + "/availability")
+                .andExpect(jsonPath("$.heldSeats").value(3))
+                .andExpect(jsonPath("$.availableSeats").value(0));
+    }
+
+    @Test
+    void eventCancellationCancelsBookingsAndHoldsInBackground() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Canceled Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 10
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        for (int seat = 1; seat <= 2; seat++) {
+            String holdBody = objectMapper.writeValueAsString(Map.of("userId", "user-x" + seat, "seatNumbers", List.of(seat)));
+            String holdResp = performPost("/api/events/" + eventId + "/holds", holdBody)
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            String holdId = objectMapper.readTree(holdResp).get("holdId").asText();
+            performPost("/api/bookings/confirm", objectMapper.writeValueAsString(Map.of("holdId", holdId)))
+                    .andExpect(status().isCreated());
+        }
+        performPost("/api/events/" + eventId + "/holds",
+                objectMapper.writeValueAsString(Map.of("userId", "user-x3", "seatNumbers", List.of(3, 4))))
+                .andExpect(status().isCreated());
+
+        performPost("/api/events/" + eventId + "/cancel", objectMapper.writeValueAsString(Map.of("reason", "Venue closed")))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.totalBookings").value(2))
+                .andExpect(jsonPath("$.totalHolds").value(1));
+
+        String jobStatus = null;
+        for (int attempt = 0; attempt < 50 && !"COMPLETED".equals(jobStatus); attempt++) {
+            Thread.sleep(100);
+            String jobResp = performGet("/api/events/" + eventId + "/cancellation")
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            jobStatus = objectMapper.readTree(jobResp).get("status").asText();
+        }
+        Assertions.assertEquals("COMPLETED", jobStatus);
+
+        performGet("/api/events/" + eventId + "/cancellation")
+                .andExpect(jsonPath("$.canceledBookings").value(2))
+                .andExpect(jsonPath("$.releasedHolds").value(1));
+        performGet("/api/events/" + eventId + "/cancellation/refunds")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].seatCount").value(1));
+        performGet("/api/events/" + eventId + "/availability")
+                .andExpect(jsonPath("$.bookedSeats").value(0))
+                .andExpect(jsonPath("$.heldSeats").value(0));
+        performPost("/api/events/" + eventId + "/holds",
+                objectMapper.writeValueAsString(Map.of("userId", "user-x4", "seatNumbers", List.of(5))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void bookingsExportStreamsCsvAndGzippedNdjson() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Export Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 10
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        for (int user = 1; user <= 2; user++) {
+            String holdBody = objectMapper.writeValueAsString(Map.of("userId", "user-e" + user, "seatNumbers", List.of(user * 2, user * 2 - 1)));
+            String holdResp = performPost("/api/events/" + eventId + "/holds", holdBody)
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            performPost("/api/bookings/confirm", objectMapper.writeValueAsString(Map.of(
+                    "holdId", objectMapper.readTree(holdResp).get("holdId").asText())))
+                    .andExpect(status().isCreated());
+        }
+
+        String csv = performStreamingGet("/api/bookings/export?format=csv&eventId=" + eventId)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = csv.split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("bookingId,eventId,userId"));
+        Assertions.assertTrue(lines[1].endsWith(",1;2"), lines[1]);
+        Assertions.assertTrue(lines[2].endsWith(",3;4"), lines[2]);
+
+        byte[] gzipped = performStreamingGet("/api/bookings/export?eventId=" + eventId + "&gzip=true")
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<JsonNode> rows = ndjson.lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).toList();
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertEquals("user-e1", rows.get(0).get("userId").asText());
+        Assertions.assertEquals(2, rows.get(1).get("seats").size());
+    }
+
+    @Test
+    void csvImportLoadsEventsAndHistoricalBookingsAndReportsBadRows() throws Exception {
+        String name = "Import Event " + System.nanoTime();
+        String eventDate = LocalDateTime.now().plusDays(5).withNano(0).toString();
+        String eventsCsv = "name,eventDate,location,totalSeats,holdTtlSeconds\n"
+                + "\"" + name + "\"," + eventDate + ",Main Hall,10,\n"
+                + name + "," + eventDate + ",main hall,10,\n"
+                + "No Seats," + eventDate + ",Main Hall,0,\n";
+        long eventsJobId = submitImport("/api/admin/imports/events", eventsCsv);
+        JsonNode eventsJob = awaitImport(eventsJobId);
+        Assertions.assertEquals("COMPLETED", eventsJob.get("status").asText());
+        Assertions.assertEquals(1, eventsJob.get("importedRows").asLong());
+        Assertions.assertEquals(1, eventsJob.get("skippedRows").asLong());
+        Assertions.assertEquals(1, eventsJob.get("failedRows").asLong());
+        performGet("/api/admin/imports/" + eventsJobId + "/errors")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lineNumber").value(4));
+
+        String bookingsCsv = "eventName,eventDate,location,userId,seats,status,createdAt\n"
+                + name + "," + eventDate + ",Main Hall,user-i1,1;2,CONFIRMED,2026-01-10T12:00:00\n"
+                + name + "," + eventDate + ",Main Hall,user-i2,2;3,CONFIRMED,2026-01-11T12:00:00\n"
+                + name + "," + eventDate + ",Main Hall,user-i3,4,CANCELED,2026-01-12T12:00:00\n"
+                + name + "," + eventDate + ",Main Hall,user-i4,5;6,,\n";
+        JsonNode bookingsJob = awaitImport(submitImport("/api/admin/imports/bookings", bookingsCsv));
+        Assertions.assertEquals(3, bookingsJob.get("importedRows").asLong());
+        Assertions.assertEquals(1, bookingsJob.get("failedRows").asLong());
+        Assertions.assertEquals(5, bookingsJob.get("checkpointLine").asLong());
+
+        String events = performGet("/api/events").andReturn().getResponse().getContentAsString();
+        long eventId = -1;
+        for (JsonNode event : objectMapper.readTree(events)) {
+            if (name.equals(event.get("name").asText())) {
+                eventId = event.get("id").asLong();
+            }
+        }
+        performGet("/api/events/" + eventId + "/availability")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookedSeats").value(4))
+                .andExpect(jsonPath("$.availableSeats").value(6));
+    }
+
+    @Test
+    void csvImportAcceptsPastEventsWithTheirBookings() throws Exception {
+        String name = "Past Import Event " + System.nanoTime();
+        String eventDate = LocalDateTime.now().minusYears(1).withNano(0).toString();
+        JsonNode eventsJob = awaitImport(submitImport("/api/admin/imports/events",
+                "name,eventDate,location,totalSeats,holdTtlSeconds\n" + name + "," + eventDate + ",Old Hall,5,\n"));
+        Assertions.assertEquals("COMPLETED", eventsJob.get("status").asText());
+        Assertions.assertEquals(1, eventsJob.get("importedRows").asLong());
+        Assertions.assertEquals(0, eventsJob.get("failedRows").asLong());
+
+        JsonNode bookingsJob = awaitImport(submitImport("/api/admin/imports/bookings",
+                "eventName,eventDate,location,userId,seats,status,createdAt\n"
+                        + name + "," + eventDate + ",Old Hall,user-past,1;2,CONFIRMED,2025-01-10T12:00:00\n"));
+        Assertions.assertEquals("COMPLETED", bookingsJob.get("status").asText());
+        Assertions.assertEquals(1, bookingsJob.get("importedRows").asLong());
+    }
+
+    @Test
+    void seatsAreWrittenAsRangesOnRequest() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Ranges Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 20
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        String holdBody = objectMapper.writeValueAsString(Map.of("userId", "user-r1", "seatNumbers", List.of(5, 1, 2, 3, 4, 7)));
+        performPost("/api/events/" + eventId + "/holds?seatFormat=ranges", holdBody)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats").value("1-5,7"));
+
+        String holdResp = performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-r2", "seatNumbers", List.of(10, 11))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats[0]").value(10))
+                .andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResp).get("holdId").asText();
+        mockMvc.perform(get("/api/holds/" + holdId).header("X-Seat-Format", "ranges"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seats").value("10-11"));
+    }
+
+    @Test
+    void binaryFormatsAreNegotiatedFromAccept() throws Exception {
+        String name = "Binary Event " + System.nanoTime();
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", name,
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 20
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        Map<String, ObjectMapper> readers = Map.of(
+                "application/cbor", new ObjectMapper(new CBORFactory()),
+                "application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+        for (Map.Entry<String, ObjectMapper> reader : readers.entrySet()) {
+            byte[] body = mockMvc.perform(get("/api/events/" + eventId)
+                            .accept(reader.getKey())
+                            .header("X-Correlation-Id", UUID.randomUUID().toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(reader.getKey()))
+                    .andReturn().getResponse().getContentAsByteArray();
+            JsonNode event = reader.getValue().readTree(body);
+            Assertions.assertEquals(eventId, event.get("id").asLong());
+            Assertions.assertEquals(name, event.get("name").asText());
+        }
+    }
+
+    @Test
+    void seatMapReturnsPackedStatesAndDeltas() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Seat Map Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 10
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        String holdResp = performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-m1", "seatNumbers", List.of(1, 2))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        performPost("/api/bookings/confirm", objectMapper.writeValueAsString(Map.of(
+                "holdId", objectMapper.readTree(holdResp).get("holdId").asText())))
+                .andExpect(status().isCreated());
+        performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-m2", "seatNumbers", List.of(5))))
+                .andExpect(status().isCreated());
+
+        JsonNode full = objectMapper.readTree(performGet("/api/events/" + eventId + "/seats")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSeats").value(10))
+                .andReturn().getResponse().getContentAsString());
+        byte[] packed = Base64.getDecoder().decode(full.get("seats").asText());
+        Assertions.assertEquals(3, packed.length);
+        Assertions.assertEquals(0b1010, packed[0]);
+        Assertions.assertEquals(0b01, packed[1]);
+        long version = full.get("version").asLong();
+
+        byte[] binary = performGet("/api/events/" + eventId + "/seats?format=binary")
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Seat-Map-Version", String.valueOf(version)))
+                .andReturn().getResponse().getContentAsByteArray();
+        Assertions.assertArrayEquals(packed, binary);
+
+        performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-m3", "seatNumbers", List.of(7, 8))))
+                .andExpect(status().isCreated());
+        performGet("/api/events/" + eventId + "/seats?since=" + version)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sinceVersion").value(version))
+                .andExpect(jsonPath("$.version").value(version + 1))
+                .andExpect(jsonPath("$.held").value("7-8"))
+                .andExpect(jsonPath("$.booked").value(""));
+
+        performGet("/api/events/" + eventId + "/seats?since=0")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seats").exists());
+    }
+
+    @Test
+    void userHistoryIsPagedNewestFirstWithCursor() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "History Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 20
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+        String userId = "user-h" + System.nanoTime();
+
+        for (int seat = 1; seat <= 3; seat++) {
+            String holdResp = performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                    Map.of("userId", userId, "seatNumbers", List.of(seat * 2 - 1, seat * 2))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            performPost("/api/bookings/confirm", objectMapper.writeValueAsString(Map.of(
+                    "holdId", objectMapper.readTree(holdResp).get("holdId").asText())))
+                    .andExpect(status().isCreated());
+        }
+        performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", userId, "seatNumbers", List.of(10))))
+                .andExpect(status().isCreated());
+
+        JsonNode first = objectMapper.readTree(performGet("/api/users/" + userId + "/bookings?limit=2")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].seats[0]").value(5))
+                .andExpect(jsonPath("$.items[1].seats[0]").value(3))
+                .andReturn().getResponse().getContentAsString());
+        String cursor = first.get("nextCursor").asText();
+        performGet("/api/users/" + userId + "/bookings?limit=2&cursor=" + cursor)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].seats[0]").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+        performGet("/api/users/" + userId + "/holds")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].seats[0]").value(10));
+        performGet("/api/users/" + userId + "/holds?status=CONFIRMED")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3));
+        performGet("/api/users/" + userId + "/bookings?cursor=not-a-cursor")
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void partialHoldTakesFreeSeatsAndReportsFailedOnes() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Partial Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 20
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-p1", "seatNumbers", List.of(3, 7))))
+                .andExpect(status().isCreated());
+
+        performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-p2", "seatNumbers", List.of(1, 2, 3, 4, 5, 6, 7, 8), "partial", true)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats.length()").value(6))
+                .andExpect(jsonPath("$.failedSeats[0]").value(3))
+                .andExpect(jsonPath("$.failedSeats[1]").value(7));
+
+        performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-p3", "seatNumbers", List.of(8, 9, 10, 11, 12, 14, 15), "partial", true, "adjacent", true, "minSeats", 3)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats.length()").value(4))
+                .andExpect(jsonPath("$.seats[0]").value(9))
+                .andExpect(jsonPath("$.failedSeats.length()").value(3));
+
+        performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-p4", "seatNumbers", List.of(12, 13, 14), "partial", true, "minSeats", 3)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void listingsRunAFixedNumberOfSqlStatements() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Budget Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 40
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        Long bookingId = holdAndConfirm(eventId, "user-q0", 1);
+        performGet("/api/bookings").andExpect(status().isOk());
+        int listingStatements = assertMaxStatements("GET", "/api/bookings", 6);
+        performGet("/api/holds").andExpect(status().isOk());
+        int holdStatements = assertMaxStatements("GET", "/api/holds", 3);
+
+        for (int i = 1; i <= 4; i++) {
+            holdAndConfirm(eventId, "user-q" + i, 2 * i + 1);
+            performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                    Map.of("userId", "user-q" + i, "seatNumbers", List.of(30 + i))))
+                    .andExpect(status().isCreated());
+        }
+        performGet("/api/bookings").andExpect(status().isOk());
+        Assertions.assertEquals(listingStatements, assertMaxStatements("GET", "/api/bookings", 6));
+        performGet("/api/holds").andExpect(status().isOk());
+        Assertions.assertEquals(holdStatements, assertMaxStatements("GET", "/api/holds", 3));
+
+        performGet("/api/bookings/" + bookingId).andExpect(status().isOk());
+        assertMaxStatements("GET", "/api/bookings/{bookingId}", 4);
+    }
+
+    @Test
+    void shedConfirmIsRejectedAfterOnlyLookingUpItsEvent() throws Exception {
+        String eventResp = performPost("/api/events", objectMapper.writeValueAsString(Map.of(
+                "name", "Shed Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 10)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+        String holdResp = performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", "user-shed", "seatNumbers", List.of(1))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResp).get("holdId").asText();
+
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        try {
+            while (permits.size() < 1000) {
+                permits.add(concurrencyLimiter.acquire("confirm"));
+            }
+            Assertions.fail("limiter never filled up");
+        } catch (ServiceUnavailableException expected) {
+            // Every confirm slot is taken now.
+        }
+        try {
+            performPost("/api/bookings/confirm", objectMapper.writeValueAsString(Map.of("holdId", holdId)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists("Retry-After"));
+            // Only the lookup of the hold's event, which decides whether to forward, runs before the limiter.
+            assertMaxStatements("POST", "/api/bookings/confirm", 1);
+        } finally {
+            permits.forEach(ConcurrencyLimiter.Permit::release);
+        }
+    }
+
+    @Test
+    void checkoutBooksApprovedHoldsAndReleasesDeclinedOnes() throws Exception {
+        String eventBody = objectMapper.writeValueAsString(Map.of(
+                "name", "Checkout Event " + System.nanoTime(),
+                "eventDate", LocalDateTime.now().plusDays(2).toString(),
+                "location", "Main Hall",
+                "totalSeats", 10
+        ));
+        String eventResp = performPost("/api/events", eventBody)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long eventId = objectMapper.readTree(eventResp).get("id").asLong();
+
+        String paidHold = holdSeats(eventId, "user-paying", List.of(1, 2));
+        performPost("/api/bookings/checkout", objectMapper.writeValueAsString(Map.of("holdId", paidHold)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("PAYMENT_PENDING"));
+        performPost("/api/bookings/checkout", objectMapper.writeValueAsString(Map.of("holdId", paidHold)))
+                .andExpect(status().isConflict());
+        JsonNode paid = awaitCheckout(paidHold);
+        Assertions.assertEquals("CONFIRMED", paid.get("status").asText());
+        Assertions.assertTrue(paid.get("bookingId").isNumber());
+        Assertions.assertEquals("local-" + paidHold, paid.get("paymentReference").asText());
+
+        String declinedHold = holdSeats(eventId, "user-declined", List.of(3, 4));
+        performPost("/api/bookings/checkout", objectMapper.writeValueAsString(Map.of("holdId", declinedHold)))
+                .andExpect(status().isAccepted());
+        JsonNode declined = awaitCheckout(declinedHold);
+        Assertions.assertEquals("FAILED", declined.get("status").asText());
+        Assertions.assertEquals("Card declined", declined.get("failureReason").asText());
+
+        performGet("/api/events/" + eventId + "/availability")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.heldSeats").value(0))
+                .andExpect(jsonPath("$.bookedSeats").value(2))
+                .andExpect(jsonPath("$.availableSeats").value(8));
+        holdSeats(eventId, "user-after", List.of(3, 4));
+    }
+
+    private String holdSeats(Long eventId, String userId, List<Integer> seats) throws Exception {
+        String holdResp = performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", userId, "seatNumbers", seats)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(holdResp).get("holdId").asText();
+    }
+
+    private JsonNode awaitCheckout(String holdId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode checkout = objectMapper.readTree(performGet("/api/bookings/checkout/" + holdId)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!"PAYMENT_PENDING".equals(checkout.get("status").asText())) {
+                return checkout;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Checkout still pending for hold " + holdId);
+    }
+
+    private Long holdAndConfirm(Long eventId, String userId, int firstSeat) throws Exception {
+        String holdResp = performPost("/api/events/" + eventId + "/holds", objectMapper.writeValueAsString(
+                Map.of("userId", userId, "seatNumbers", List.of(firstSeat, firstSeat + 1))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String holdId = objectMapper.readTree(holdResp).get("holdId").asText();
+        String bookingResp = performPost("/api/bookings/confirm", objectMapper.writeValueAsString(Map.of("holdId", holdId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(bookingResp).get("bookingId").asLong();
+    }
+
+    /**
+     * Fails if the last request to the endpoint ran more than {@code max} SQL statements; returns the count.
+     */
+    private int assertMaxStatements(String method, String uriPattern, int max) {
+        int statements = sqlStatementBudget.lastStatementCount(method, uriPattern)
+                .orElseThrow(() -> new AssertionError("No request recorded for " + method + " " + uriPattern));
+        Assertions.assertTrue(statements <= max,
+                () -> method + " " + uriPattern + " ran " + statements + " SQL statements, budget is " + max);
+        return statements;
+    }
+
     private ResultActions performPost(String uri, String body) throws Exception {
-        return mockMvc.perform(post(uri)
+        ResultActions actions = mockMvc.perform(post(uri)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(body)
                 .header("X-Correlation-Id", UUID.randomUUID().toString())
                 .header("X-Idempotency-Key", UUID.randomUUID().toString()));
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    private ResultActions performCsvPost(String uri, String csv) throws Exception {
+        return mockMvc.perform(post(uri)
+                .contentType("text/csv")
+                .content(csv)
+                .header("X-Correlation-Id", UUID.randomUUID().toString())
+                .header("X-Idempotency-Key", UUID.randomUUID().toString()));
+    }
+
+    private long submitImport(String uri, String csv) throws Exception {
+        String job = performCsvPost(uri, csv)
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(job).get("jobId").asLong();
+    }
+
+    private JsonNode awaitImport(long jobId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode job = objectMapper.readTree(performGet("/api/admin/imports/" + jobId)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!"RUNNING".equals(job.get("status").asText())) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import job still running: " + jobId);
+    }
+
+    private ResultActions performDelete(String uri) throws Exception {
+        ResultActions actions = mockMvc.perform(delete(uri)
+                .header("X-Correlation-Id", UUID.randomUUID().toString()));
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    private ResultActions performStreamingGet(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri)
+                        .header("X-Correlation-Id", UUID.randomUUID().toString()))
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
     }
 
     private ResultActions performGet(String uri) throws Exception {